@@ -0,0 +1,61 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.data.lifterSort.LifterSorter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full sort in lifting order, as done when a session is loaded.
+ * 
+ * @author jflamy
+ * 
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LiftingOrderBenchmark {
+
+    @Param({ "10", "100", "500", "2000" })
+    public int size;
+
+    private List<Lifter> lifters;
+
+    @Setup
+    public void setUp() {
+        SyntheticSession.initialize();
+        lifters = SyntheticSession.createLifters(size, SyntheticSession.SEED);
+    }
+
+    @Benchmark
+    public List<Lifter> liftingOrder() {
+        // the lifters are in random order; sort a copy so every invocation does the same work.
+        List<Lifter> toBeSorted = new ArrayList<Lifter>(lifters);
+        LifterSorter.liftingOrder(toBeSorted);
+        return toBeSorted;
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.data.lifterSort.LifterSorter;
+import org.concordiainternational.competition.data.lifterSort.LifterSorter.Ranking;
+import org.concordiainternational.competition.data.lifterSort.RankingResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorting and ranking as done for the result boards and the competition book, for every kind of ranking.
+ * 
+ * @author jflamy
+ * 
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RankingBenchmark {
+
+    @Param({ "10", "100", "500", "2000" })
+    public int size;
+
+    @Param({ "SNATCH", "CLEANJERK", "TOTAL", "COMBINED", "SINCLAIR", "CUSTOM" })
+    public Ranking ranking;
+
+    private List<Lifter> lifters;
+    private List<Lifter> resultOrder;
+
+    @Setup
+    public void setUp() {
+        SyntheticSession.initialize();
+        lifters = SyntheticSession.createLifters(size, SyntheticSession.SEED);
+        resultOrder = LifterSorter.resultsOrderCopy(lifters, ranking);
+    }
+
+    @Benchmark
+    public List<Lifter> resultsOrderCopy() {
+        return LifterSorter.resultsOrderCopy(lifters, ranking);
+    }
+
+    @Benchmark
+    public List<Lifter> assignCategoryRanks() {
+        LifterSorter.assignCategoryRanks(resultOrder, ranking);
+        return resultOrder;
+    }
+
+    @Benchmark
+    public RankingResult computeCategoryRanks() {
+        return LifterSorter.computeCategoryRanks(resultOrder, ranking);
+    }
+
+    @Benchmark
+    public List<Lifter> teamRankingOrderCopy() {
+        return LifterSorter.teamRankingOrderCopy(lifters, ranking);
+    }
+
+}
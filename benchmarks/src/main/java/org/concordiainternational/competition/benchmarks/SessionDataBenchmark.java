@@ -0,0 +1,80 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.ui.SessionData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Update of the session lists after a lifter asks for a different weight, as done when the announcer or marshal enters a change.
+ * 
+ * @author jflamy
+ * 
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionDataBenchmark {
+
+    @Param({ "10", "100", "500", "2000" })
+    public int size;
+
+    private SessionData sessionData;
+
+    /** lifters who have attempts left, and the weight they requested initially. */
+    private List<Lifter> changing;
+    private int[] baseWeights;
+    private int next = 0;
+
+    @Setup
+    public void setUp() {
+        SyntheticSession.initialize();
+        final List<Lifter> lifters = SyntheticSession.createLifters(size, SyntheticSession.SEED);
+        sessionData = new SessionData(lifters);
+
+        changing = new ArrayList<Lifter>();
+        for (Lifter lifter : lifters) {
+            if (lifter.getAttemptsDone() < 6) {
+                changing.add(lifter);
+            }
+        }
+        baseWeights = new int[changing.size()];
+        for (int i = 0; i < baseWeights.length; i++) {
+            baseWeights[i] = changing.get(i).getNextAttemptRequestedWeight();
+        }
+    }
+
+    @Benchmark
+    public Lifter updateListsForLiftingOrderChange() {
+        final Lifter lifter = changing.get(next);
+        SyntheticSession.changeRequestedWeight(lifter, baseWeights[next]);
+        next = (next + 1) % baseWeights.length;
+
+        sessionData.updateListsForLiftingOrderChange(lifter, false);
+        return sessionData.getCurrentLifter();
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.concordiainternational.competition.data.Category;
+import org.concordiainternational.competition.data.CategoryLookup;
+import org.concordiainternational.competition.data.CompetitionSettings;
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.ui.CompetitionApplication;
+import org.concordiainternational.competition.ui.CompetitionApplicationComponents;
+
+/**
+ * Synthetic competition data for the benchmarks. Nothing is read from a database: the categories and competition settings are installed
+ * directly, and lifters are generated randomly (but reproducibly) in a state similar to a session in progress.
+ * 
+ * @author jflamy
+ * 
+ */
+public class SyntheticSession {
+
+    /** same seed for every run, so that the results can be compared. */
+    public static final long SEED = 20120101L;
+
+    private static final int NB_TEAMS = 20;
+
+    private static boolean settingsInstalled = false;
+
+    /**
+     * Install the categories and competition settings normally read from the database, and a mock application for the current thread
+     * (the application is kept in a thread local).
+     */
+    public static synchronized void initialize() {
+        if (!settingsInstalled) {
+            CategoryLookup.initSharedInstance(categories());
+            CompetitionSettings.install(false, false, 0);
+            settingsInstalled = true;
+        }
+        if (CompetitionApplication.getCurrent() == null) {
+            // the constructor registers the application as current.
+            final CompetitionApplication application = new CompetitionApplication();
+            application.components = new CompetitionApplicationComponents(null, null);
+        }
+    }
+
+    /**
+     * @return the usual senior categories.
+     */
+    static List<Category> categories() {
+        List<Category> categories = new ArrayList<Category>();
+        addCategories(categories, "F", new double[] { 48, 53, 58, 63, 69, 75 }); //$NON-NLS-1$
+        addCategories(categories, "M", new double[] { 56, 62, 69, 77, 85, 94, 105 }); //$NON-NLS-1$
+        return categories;
+    }
+
+    private static void addCategories(List<Category> categories, String gender, double[] limits) {
+        final String prefix = gender.toLowerCase();
+        double minimum = 0.0;
+        for (double maximum : limits) {
+            categories.add(new Category(prefix + (int) maximum, minimum, maximum, gender, true));
+            minimum = maximum;
+        }
+        categories.add(new Category(prefix + ">" + (int) minimum, minimum, 999.0, gender, true)); //$NON-NLS-1$
+    }
+
+    /**
+     * Create lifters as they would be in the middle of a session: each lifter has done between 0 and 6 attempts, about one lift in three
+     * is failed. Weights are in 1kg steps over a narrow range so that many lifters request the same weight, which exercises the
+     * tie-breaking rules.
+     * 
+     * @param size
+     *            number of lifters
+     * @param seed
+     *            for the random generator
+     * @return the lifters, in random order
+     */
+    public static List<Lifter> createLifters(int size, long seed) {
+        final Random random = new Random(seed);
+
+        List<Integer> lotNumbers = new ArrayList<Integer>(size);
+        for (int i = 1; i <= size; i++) {
+            lotNumbers.add(i);
+        }
+        Collections.shuffle(lotNumbers, random);
+
+        List<Lifter> lifters = new ArrayList<Lifter>(size);
+        for (int i = 0; i < size; i++) {
+            final boolean male = random.nextBoolean();
+            final Lifter lifter = new Lifter();
+            lifter.setLastName("Lifter" + i); //$NON-NLS-1$
+            lifter.setFirstName(male ? "John" : "Jane"); //$NON-NLS-1$ //$NON-NLS-2$
+            lifter.setGender(male ? "M" : "F"); //$NON-NLS-1$ //$NON-NLS-2$
+            lifter.setClub("Team" + random.nextInt(NB_TEAMS)); //$NON-NLS-1$
+            lifter.setYearOfBirth(1970 + random.nextInt(30));
+            lifter.setLotNumber(lotNumbers.get(i));
+            lifter.setStartNumber(i + 1);
+            // weigh-in is to the 0.1kg
+            lifter.setBodyWeight(male ? 50.0 + random.nextInt(800) / 10.0 : 44.0 + random.nextInt(500) / 10.0);
+            lifter.setCustomScore((double) random.nextInt(1000));
+
+            final int snatch = (male ? 80 : 50) + random.nextInt(40);
+            lifter.setSnatch1Declaration(Integer.toString(snatch));
+            lifter.setCleanJerk1Declaration(Integer.toString(snatch + 20 + random.nextInt(15)));
+
+            final int attemptsDone = random.nextInt(7);
+            for (int attempt = 0; attempt < attemptsDone; attempt++) {
+                if (random.nextInt(3) == 0) {
+                    lifter.failedLift();
+                } else {
+                    lifter.successfulLift();
+                }
+            }
+            lifters.add(lifter);
+        }
+        return lifters;
+    }
+
+    /**
+     * Change the weight requested for the next attempt, alternating between two values above the given base weight.
+     * 
+     * @param lifter
+     * @param base
+     *            weight requested for the next attempt when the lifter was created
+     */
+    public static void changeRequestedWeight(Lifter lifter, int base) {
+        final int newWeight = (lifter.getNextAttemptRequestedWeight() == base + 1 ? base + 2 : base + 1);
+        final String change = Integer.toString(newWeight);
+        switch (lifter.getAttemptsDone() + 1) {
+        case 1:
+            lifter.setSnatch1Change1(change);
+            break;
+        case 2:
+            lifter.setSnatch2Change1(change);
+            break;
+        case 3:
+            lifter.setSnatch3Change1(change);
+            break;
+        case 4:
+            lifter.setCleanJerk1Change1(change);
+            break;
+        case 5:
+            lifter.setCleanJerk2Change1(change);
+            break;
+        case 6:
+            lifter.setCleanJerk3Change1(change);
+            break;
+        }
+    }
+
+}
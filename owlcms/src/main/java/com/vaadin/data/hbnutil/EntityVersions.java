@@ -0,0 +1,78 @@
+package com.vaadin.data.hbnutil;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.event.PostDeleteEvent;
+import org.hibernate.event.PostDeleteEventListener;
+import org.hibernate.event.PostInsertEvent;
+import org.hibernate.event.PostInsertEventListener;
+import org.hibernate.event.PostUpdateEvent;
+import org.hibernate.event.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Data version of each entity type, bumped whenever a row of that type is inserted, updated or deleted.
+ *
+ * Register an instance as post-commit insert, update and delete listener on the session factory; {@link HbnContainer} in keyset mode keeps
+ * its ordered ids for as long as the version of its entity does not change, instead of reloading them on every request.
+ *
+ * @author jflamy
+ */
+public class EntityVersions implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final long serialVersionUID = 4384627013516981235L;
+
+    private static final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<String, AtomicLong>();
+
+    /**
+     * @param entityName
+     *            as given by the class metadata
+     * @return the current data version for the entity.
+     */
+    public static long getVersion(String entityName) {
+        return counter(entityName).get();
+    }
+
+    /**
+     * Mark the data for the entity as changed.
+     *
+     * @param entityName
+     */
+    public static void bump(String entityName) {
+        counter(entityName).incrementAndGet();
+    }
+
+    private static AtomicLong counter(String entityName) {
+        AtomicLong counter = versions.get(entityName);
+        if (counter == null) {
+            final AtomicLong newCounter = new AtomicLong();
+            counter = versions.putIfAbsent(entityName, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        return counter;
+    }
+
+    private static void bump(EntityPersister persister) {
+        bump(persister.getEntityName());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        bump(event.getPersister());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        bump(event.getPersister());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        bump(event.getPersister());
+    }
+
+}
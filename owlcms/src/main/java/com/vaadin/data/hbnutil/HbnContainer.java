@@ -56,6 +56,9 @@ import com.vaadin.service.ApplicationContext.TransactionListener;
  * 
  * Note, container caches size, firstId, lastId to be much faster with large datasets.
  * 
+ * In keyset mode (see {@link #setKeysetPaging(boolean)}) the container instead keeps the ordered list of ids for as long as the data
+ * version of the entity ({@link EntityVersions}) stays the same, and loads the entities one page at a time.
+ * 
  * VAADIN_TODO make this caching optional, actually should trust on Hibernates and DB engines query caches.
  * 
  * VAADIN_TODO Better documentation
@@ -510,6 +513,16 @@ public class HbnContainer<T> implements Container.Indexed, Container.Sortable, C
     private LinkedList<ItemSetChangeListener> itemSetChangeListeners;
     private HashSet<ContainerFilter> filters;
 
+    /** keyset mode: ordered ids, their positions, and what they were computed from */
+    private boolean keysetPaging = false;
+    private List<Object> keys;
+    private Map<Object, Integer> keyIndex;
+    private long keysVersion;
+    private Object keysCriteriaKey;
+    /** keyset mode: pages whose entities are already in the hibernate session */
+    private transient Session pageSession;
+    private transient Set<Integer> loadedPages;
+
     /** A map of added javabean property names to their respective types */
     private Map<String, Class<?>> addedProperties = new HashMap<String, Class<?>>();
 
@@ -698,6 +711,9 @@ public class HbnContainer<T> implements Container.Indexed, Container.Sortable, C
     }
 
     public Collection<?> getFilteredItemIds() {
+        if (keysetPaging) {
+            return new ArrayList<Object>(getKeys());
+        }
         List<?> objectList = getAllPojos();
         List<Serializable> list = new ArrayList<Serializable>(objectList.size());
         for (Object curObject : objectList) {
@@ -821,6 +837,9 @@ public class HbnContainer<T> implements Container.Indexed, Container.Sortable, C
 
     @Override
     public int size() {
+        if (keysetPaging) {
+            return getKeys().size();
+        }
         if (size == null) {
             size = (Integer) getBaseCriteria().setProjection(Projections.rowCount()).uniqueResult();
         }
@@ -919,6 +938,10 @@ public class HbnContainer<T> implements Container.Indexed, Container.Sortable, C
 
     @Override
     public Object firstItemId() {
+        if (keysetPaging) {
+            final List<Object> ids = getKeys();
+            return ids.isEmpty() ? null : ids.get(0);
+        }
         if (firstId == null) {
             firstId = firstItemId(true);
         }
@@ -950,6 +973,10 @@ public class HbnContainer<T> implements Container.Indexed, Container.Sortable, C
 
     @Override
     public Object lastItemId() {
+        if (keysetPaging) {
+            final List<Object> ids = getKeys();
+            return ids.isEmpty() ? null : ids.get(ids.size() - 1);
+        }
         if (lastId == null) {
             temporaryFlippedAsc = !temporaryFlippedAsc;
             lastId = firstItemId(true);
@@ -967,6 +994,9 @@ public class HbnContainer<T> implements Container.Indexed, Container.Sortable, C
      */
     @Override
     public Object nextItemId(Object itemId) {
+        if (keysetPaging) {
+            return keyAt(itemId, 1);
+        }
         if (isLastId(itemId)) {
             return null;
         }
@@ -1119,6 +1149,9 @@ public class HbnContainer<T> implements Container.Indexed, Container.Sortable, C
 
     @Override
     public Object prevItemId(Object itemId) {
+        if (keysetPaging) {
+            return keyAt(itemId, -1);
+        }
         // temp flip order and use nextItemId
         temporaryFlippedAsc = !temporaryFlippedAsc;
         Object prev = nextItemId(itemId);
@@ -1140,6 +1173,11 @@ public class HbnContainer<T> implements Container.Indexed, Container.Sortable, C
 
     @Override
     public Object getIdByIndex(int index) {
+        if (keysetPaging) {
+            final List<Object> ids = getKeys();
+            loadPage(index / ROW_BUF_SIZE);
+            return ids.get(index);
+        }
         if (indexRowBuffer == null) {
             resetIndexRowBuffer(index);
         }
@@ -1170,6 +1208,11 @@ public class HbnContainer<T> implements Container.Indexed, Container.Sortable, C
      */
     @Override
     public int indexOfId(Object itemId) {
+        if (keysetPaging) {
+            getKeys();
+            final Integer index = keyIndex.get(itemId);
+            return index != null ? index : -1;
+        }
         Integer index = idToIndex.get(itemId);
         return index;
     }
@@ -1201,9 +1244,112 @@ public class HbnContainer<T> implements Container.Indexed, Container.Sortable, C
         firstId = null;
         lastId = null;
         size = null;
+        keys = null;
+        keyIndex = null;
+        forgetLoadedPages();
         // System.err.println("*** HbnContainer: clearInternalCache() done.");
     }
 
+    /**
+     * Keyset mode: instead of querying for each row, the container reads the ordered ids once (a single projection query) and keeps them
+     * until the data version of the entity changes (any insert, update or delete committed through the session factory, see
+     * {@link EntityVersions}), the order or the filters change, or the value of {@link #getSearchCriteriaKey()} changes. The end of a
+     * Vaadin transaction no longer clears them. Entities are loaded ROW_BUF_SIZE at a time, with one query per page, into the current
+     * hibernate session, where {@link EntityItem} finds them.
+     * 
+     * Requires the {@link EntityVersions} listeners to be registered on the session factory.
+     * 
+     * @param keysetPaging
+     */
+    public void setKeysetPaging(boolean keysetPaging) {
+        this.keysetPaging = keysetPaging;
+        clearInternalCache();
+    }
+
+    public boolean isKeysetPaging() {
+        return keysetPaging;
+    }
+
+    /**
+     * Subclasses whose {@link #addSearchCriteria(Criteria)} depends on state outside of the container return a value that changes
+     * whenever that state does; used in keyset mode to decide whether the ids are still valid.
+     * 
+     * @return a value comparable with equals(), or null if the criteria only depend on the container.
+     */
+    protected Object getSearchCriteriaKey() {
+        return null;
+    }
+
+    /**
+     * @return the ordered ids (keyset mode), reloaded if the data or the criteria have changed.
+     */
+    private List<Object> getKeys() {
+        // read the version before querying: a change committed meanwhile will cause another load.
+        final long version = EntityVersions.getVersion(getClassMetadata().getEntityName());
+        final Object criteriaKey = getSearchCriteriaKey();
+        if (keys == null || version != keysVersion
+                || (criteriaKey == null ? keysCriteriaKey != null : !criteriaKey.equals(keysCriteriaKey))) {
+            final List<?> ids = getCriteria().setProjection(Projections.id()).list();
+            final List<Object> newKeys = new ArrayList<Object>(ids);
+            final Map<Object, Integer> newKeyIndex = new HashMap<Object, Integer>(newKeys.size() * 2);
+            for (int i = 0; i < newKeys.size(); i++) {
+                newKeyIndex.put(newKeys.get(i), i);
+            }
+            keys = newKeys;
+            keyIndex = newKeyIndex;
+            keysVersion = version;
+            keysCriteriaKey = criteriaKey;
+            forgetLoadedPages();
+        }
+        return keys;
+    }
+
+    /**
+     * @param itemId
+     * @param offset
+     * @return the id offset positions away from itemId (keyset mode), null if none.
+     */
+    private Object keyAt(Object itemId, int offset) {
+        final List<Object> ids = getKeys();
+        final Integer index = keyIndex.get(itemId);
+        if (index == null) {
+            return null;
+        }
+        final int target = index + offset;
+        if (target < 0 || target >= ids.size()) {
+            return null;
+        }
+        loadPage(target / ROW_BUF_SIZE);
+        return ids.get(target);
+    }
+
+    /**
+     * Bring the entities of a page into the current hibernate session with a single query (keyset mode), so that creating the
+     * {@link EntityItem}s does not hit the database.
+     * 
+     * @param page
+     */
+    private void loadPage(int page) {
+        final Session session = hbnSessionManager.getHbnSession();
+        if (session != pageSession || loadedPages == null) {
+            pageSession = session;
+            loadedPages = new HashSet<Integer>();
+        }
+        if (!loadedPages.add(page) || getClassMetadata().getIdentifierType().isComponentType()) {
+            return;
+        }
+        final int from = page * ROW_BUF_SIZE;
+        final List<Object> pageIds = keys.subList(from, Math.min(from + ROW_BUF_SIZE, keys.size()));
+        if (!pageIds.isEmpty()) {
+            session.createCriteria(type).add(Restrictions.in(getIdPropertyName(), pageIds)).list();
+        }
+    }
+
+    private void forgetLoadedPages() {
+        pageSession = null;
+        loadedPages = null;
+    }
+
     class ContainerFilter {
 
         private final Object propertyId;
@@ -1291,7 +1437,12 @@ public class HbnContainer<T> implements Container.Indexed, Container.Sortable, C
                 // Transaction listener gets fired for all (Http) sessions
                 // of Vaadin applications, checking to be this one.
                 if (application == ((Application) hbnSessionManager)) {
-                    clearInternalCache();
+                    if (keysetPaging) {
+                        // the ids remain valid until the data changes, the entities go away with the session.
+                        forgetLoadedPages();
+                    } else {
+                        clearInternalCache();
+                    }
                     hbnSessionManager.getHbnSession().close();
                     // System.err.println("cache cleared for application "+hbnSessionManager.hashCode());
                 } else {
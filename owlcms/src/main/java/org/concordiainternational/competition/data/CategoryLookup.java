@@ -7,9 +7,13 @@
  */
 package org.concordiainternational.competition.data;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.concordiainternational.competition.ui.CompetitionApplication;
 import org.slf4j.Logger;
@@ -21,6 +25,11 @@ import com.vaadin.data.hbnutil.HbnContainer.HbnSessionManager;
 /**
  * Utility class to compute a lifter's category. Category definitions are retrieved from the database. Only categories marked as active are
  * considered (this allows the same list to be used in different types of championships).
+ * <p>
+ * Lookups are done very often (sorting, results, Sinclair computations) from many threads. On reload, the category of every body weight
+ * to the 0.01kg is computed for each gender and kept in an immutable {@link Table}, so that a lookup is an array access and needs no
+ * locking. Body weights that are not a whole number of 0.01kg, or heavier than {@link #TABULATED_MAXIMUM}, use a binary search.
+ * </p>
  * 
  * @author jflamy
  * 
@@ -28,10 +37,29 @@ import com.vaadin.data.hbnutil.HbnContainer.HbnSessionManager;
 public class CategoryLookup {
     @SuppressWarnings("unused")
     private static Logger logger = LoggerFactory.getLogger(CategoryLookup.class);
-    private static CategoryLookup sharedCategoryLookup;
-    private List<Category> categories;
+    private static volatile CategoryLookup sharedCategoryLookup;
+    private static final AtomicInteger generation = new AtomicInteger();
+
+    /** heaviest body weight, in kg, for which categories are precomputed. */
+    static final int TABULATED_MAXIMUM = 250;
+    private static final int BUCKETS_PER_KG = 100;
+
+    private volatile Table table = new Table(Collections.<Category> emptyList(), new HashMap<String, Category[]>());
     private HbnSessionManager hbnSessionManager;
 
+    /**
+     * The categories, and the category for each body weight bucket, by gender. Never modified once published.
+     */
+    private static final class Table {
+        private final List<Category> categories;
+        private final Map<String, Category[]> byGender;
+
+        private Table(List<Category> categories, Map<String, Category[]> byGender) {
+            this.categories = categories;
+            this.byGender = byGender;
+        }
+    }
+
     /**
      * @param hbnSessionManager
      *            required because we are using Hibernate to filter categories.
@@ -41,18 +69,41 @@ public class CategoryLookup {
         reload();
     }
 
-    public static synchronized CategoryLookup getSharedInstance() {
-        if (sharedCategoryLookup == null) {
-            sharedCategoryLookup = new CategoryLookup(null);
-        }
+    /**
+     * @param categories
+     *            used instead of the database.
+     */
+    private CategoryLookup(List<Category> categories) {
+        List<Category> sorted = new ArrayList<Category>(categories);
+        Collections.sort(sorted, sortComparator);
+        publish(sorted);
+    }
+
+    public static CategoryLookup getSharedInstance() {
+        return getSharedInstance(null);
+    }
+
+    /**
+     * Create the shared instance from a list of categories instead of the database (for benchmarks and tests that run without a
+     * database).
+     */
+    public static synchronized CategoryLookup initSharedInstance(List<Category> categories) {
+        sharedCategoryLookup = new CategoryLookup(categories);
         return sharedCategoryLookup;
     }
 
-    public static synchronized CategoryLookup getSharedInstance(HbnSessionManager hbnSessionManager) {
-        if (sharedCategoryLookup == null) {
-            sharedCategoryLookup = new CategoryLookup(hbnSessionManager);
+    public static CategoryLookup getSharedInstance(HbnSessionManager hbnSessionManager) {
+        CategoryLookup instance = sharedCategoryLookup;
+        if (instance == null) {
+            synchronized (CategoryLookup.class) {
+                instance = sharedCategoryLookup;
+                if (instance == null) {
+                    instance = new CategoryLookup(hbnSessionManager);
+                    sharedCategoryLookup = instance;
+                }
+            }
         }
-        return sharedCategoryLookup;
+        return instance;
     }
 
     /**
@@ -137,17 +188,33 @@ public class CategoryLookup {
             // }
         }
         activeCategoriesFromDb = new CategoryContainer(sessMgr, true); // only active categories
-        categories = activeCategoriesFromDb.getAllPojos();
+        List<Category> categories = activeCategoriesFromDb.getAllPojos();
         Collections.sort(categories, sortComparator);
+        publish(categories);
         // logger.debug("categories={}",categories);
     }
 
     public Category lookup(String gender, Double bodyWeight) {
+        if (bodyWeight == null || gender == null || bodyWeight < 0.1 || gender.trim().isEmpty())
+            return null;
+        final Table current = table;
+        final Category[] buckets = current.byGender.get(gender);
+        if (buckets != null) {
+            final long bucket = Math.round(bodyWeight * BUCKETS_PER_KG);
+            if (bucket < buckets.length && ((double) bucket / BUCKETS_PER_KG) == bodyWeight) {
+                return buckets[(int) bucket];
+            }
+        }
+        return search(current.categories, gender, bodyWeight);
+    }
+
+    /**
+     * Find the category using a binary search in the sorted list.
+     */
+    private Category search(List<Category> categories, String gender, Double bodyWeight) {
         // in order to use the predefined Java sorting routine, we place the
         // data from our lifter
         // inside a fake Category, and search for it.
-        if (bodyWeight == null || gender == null || bodyWeight < 0.1 || gender.trim().isEmpty())
-            return null;
         int index = Collections.binarySearch(categories,
                 new Category("lifter", bodyWeight, bodyWeight, gender, false), searchComparator); //$NON-NLS-1$
         if (index >= 0)
@@ -155,12 +222,42 @@ public class CategoryLookup {
         return null;
     }
 
+    /**
+     * Precompute the category for every tabulated body weight and make the new table visible to all threads at once.
+     * 
+     * @param categories
+     *            sorted according to {@link #sortComparator}
+     */
+    private void publish(List<Category> categories) {
+        Map<String, Category[]> byGender = new HashMap<String, Category[]>();
+        for (Category category : categories) {
+            final String gender = category.getGender();
+            if (gender == null || byGender.containsKey(gender))
+                continue;
+            Category[] buckets = new Category[TABULATED_MAXIMUM * BUCKETS_PER_KG + 1];
+            // bucket 0 stays empty, as lookup does not consider weights under 0.1kg
+            for (int bucket = 1; bucket < buckets.length; bucket++) {
+                buckets[bucket] = search(categories, gender, (double) bucket / BUCKETS_PER_KG);
+            }
+            byGender.put(gender, buckets);
+        }
+        table = new Table(categories, byGender);
+        generation.incrementAndGet();
+    }
+
     public List<Category> getCategories() {
-        return categories;
+        return table.categories;
     }
 
     public void setCategories(List<Category> categories) {
-        this.categories = categories;
+        publish(categories);
+    }
+
+    /**
+     * @return a number that changes whenever the categories are reloaded, so that values computed from categories can be invalidated.
+     */
+    public static int getGeneration() {
+        return generation.get();
     }
 
 }
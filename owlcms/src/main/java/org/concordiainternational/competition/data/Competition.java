@@ -159,22 +159,11 @@ public class Competition implements Serializable {
         this.resultTemplateFileName = resultTemplateFileName;
     }
 
-    static Integer invitedThreshold = null;
-
-    @SuppressWarnings("unchecked")
+    /**
+     * @return the year before which lifters must be born to be invited, see {@link CompetitionSettings}.
+     */
     public static int invitedIfBornBefore() {
-        if (invitedThreshold != null)
-            return invitedThreshold;
-        final CompetitionApplication currentApp = CompetitionApplication.getCurrent();
-        final Session hbnSession = currentApp.getHbnSession();
-        List<Competition> competitions = hbnSession.createCriteria(Competition.class).list();
-        if (competitions.size() > 0) {
-            final Competition competition = competitions.get(0);
-            invitedThreshold = competition.getInvitedIfBornBefore();
-        }
-        if (invitedThreshold == null)
-            return 0;
-        return invitedThreshold;
+        return CompetitionSettings.get().getInvitedIfBornBefore();
     }
 
     @SuppressWarnings("unchecked")
@@ -183,33 +172,17 @@ public class Competition implements Serializable {
         return list;
     }
 
-    static Boolean isMasters = null;
-    private static Boolean isEnforce15_20rule = null;
-
     public static boolean isMasters() {
-        if (isMasters != null)
-            return isMasters;
-        Competition competition = getCompetition();
-        isMasters = competition.getMasters();
-        if (isMasters == null) {
-            return false;
-        } else {
-            return isMasters;
-        }
+        return CompetitionSettings.get().isMasters();
     }
 
     public static boolean isEnforce15_20rule() {
-        if (isEnforce15_20rule != null)
-            return isEnforce15_20rule;
-        Competition competition = getCompetition();
-        isEnforce15_20rule = competition.getEnforce15_20KgRule();
-        if (isEnforce15_20rule == null) {
-            return false;
-        } else {
-            return isEnforce15_20rule;
-        }
+        return CompetitionSettings.get().isEnforce15_20rule();
     }
 
+    /**
+     * @return the competition as currently stored; queries the database on each call, use {@link CompetitionSettings} for the settings.
+     */
     public static Competition getCompetition() {
         final CompetitionApplication currentApp = CompetitionApplication.getCurrent();
         final Session hbnSession = (currentApp != null ? currentApp.getHbnSession() : AllTests.getSessionManager().getHbnSession());
@@ -266,14 +239,6 @@ public class Competition implements Serializable {
         this.protocolFileName = protocolFileName;
     }
 
-    public static Boolean getEnforce15_20rule() {
-        return isEnforce15_20rule;
-    }
-
-    public static void setEnforce15_20rule(Boolean isEnforce15_20rule) {
-        Competition.isEnforce15_20rule = isEnforce15_20rule;
-    }
-
     public Boolean getEnforce15_20KgRule() {
         return enforce15_20KgRule;
     }
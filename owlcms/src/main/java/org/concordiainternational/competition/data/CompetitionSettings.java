@@ -0,0 +1,125 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.data;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The competition-wide settings consulted while sorting and ranking lifters (masters, 15/20kg rule, invited threshold).
+ * <p>
+ * Read from the database the first time they are needed, then kept as an immutable snapshot so that {@link Competition#isMasters()} and
+ * the like, which are called for every lifter, do not need a Hibernate session. Saving the competition in the editor replaces the snapshot
+ * as a whole (see {@link #refresh(Competition)}); each snapshot has a new version number.
+ * </p>
+ *
+ * @author jflamy
+ *
+ */
+public final class CompetitionSettings implements Serializable {
+    private static final long serialVersionUID = -6017437226453894315L;
+
+    private static final Logger logger = LoggerFactory.getLogger(CompetitionSettings.class);
+
+    private static final AtomicLong versions = new AtomicLong();
+    private static volatile CompetitionSettings current;
+
+    private final long version;
+    private final boolean masters;
+    private final boolean enforce15_20rule;
+    private final int invitedIfBornBefore;
+
+    private CompetitionSettings(boolean masters, boolean enforce15_20rule, int invitedIfBornBefore) {
+        this.version = versions.incrementAndGet();
+        this.masters = masters;
+        this.enforce15_20rule = enforce15_20rule;
+        this.invitedIfBornBefore = invitedIfBornBefore;
+    }
+
+    /**
+     * @return the current settings, read from the database on first use.
+     */
+    public static CompetitionSettings get() {
+        CompetitionSettings settings = current;
+        if (settings == null) {
+            synchronized (CompetitionSettings.class) {
+                settings = current;
+                if (settings == null) {
+                    final Competition competition = Competition.getCompetition();
+                    settings = from(competition);
+                    if (competition != null) {
+                        // keep reading until the competition has been created.
+                        current = settings;
+                    }
+                }
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * Replace the settings after the competition has been saved.
+     *
+     * @param competition
+     * @return the new settings
+     */
+    public static synchronized CompetitionSettings refresh(Competition competition) {
+        final CompetitionSettings settings = from(competition);
+        current = settings;
+        logger.debug("competition settings version {}", settings.getVersion()); //$NON-NLS-1$
+        return settings;
+    }
+
+    /**
+     * Set the settings normally read from the database (for benchmarks and tests that run without a database).
+     *
+     * @param masters
+     * @param enforce15_20rule
+     * @param invitedIfBornBefore
+     * @return the new settings
+     */
+    public static synchronized CompetitionSettings install(boolean masters, boolean enforce15_20rule, int invitedIfBornBefore) {
+        current = new CompetitionSettings(masters, enforce15_20rule, invitedIfBornBefore);
+        return current;
+    }
+
+    private static CompetitionSettings from(Competition competition) {
+        if (competition == null) {
+            return new CompetitionSettings(false, false, 0);
+        }
+        final Boolean masters = competition.getMasters();
+        final Boolean enforce15_20rule = competition.getEnforce15_20KgRule();
+        return new CompetitionSettings(
+                masters != null && masters,
+                enforce15_20rule != null && enforce15_20rule,
+                competition.getInvitedIfBornBefore());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isMasters() {
+        return masters;
+    }
+
+    public boolean isEnforce15_20rule() {
+        return enforce15_20rule;
+    }
+
+    /**
+     * @return lifters born before this year are invited; 0 if there is no such rule.
+     */
+    public int getInvitedIfBornBefore() {
+        return invitedIfBornBefore;
+    }
+
+}
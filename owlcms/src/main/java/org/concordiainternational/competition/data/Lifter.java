@@ -289,6 +289,36 @@ public class Lifter implements MethodEventSource, Notifier {
     @Transient
     private EventRouter eventRouter;
 
+    /**
+     * Parsed values of the attempt fields. Hibernate uses field access and does not go through the setters, so the cache is checked
+     * against the current String values before use.
+     */
+    @Transient
+    private transient ParsedAttempts parsedAttempts = null;
+
+    /**
+     * Incremented by the setters (and by Hibernate merges) when a value that can affect the derived scores changes. Not final, so that it
+     * is simply 0 after the lifter is deserialized (with the application); the derived scores are transient as well and recomputed.
+     * Increments may race, but any increment is enough to invalidate.
+     */
+    @Transient
+    private transient volatile int modificationCount = 0;
+
+    /**
+     * Total and Sinclair scores, valid as long as {@link #modificationCount} has not changed.
+     */
+    @Transient
+    private transient DerivedScores derivedScores = null;
+
+    /**
+     * Score values requested that were found memoized, or had to be computed. Kept per lifter (no shared counter in the sorting and
+     * rendering loops); increments may race, they are only statistics.
+     */
+    @Transient
+    private transient int derivedScoreHits = 0;
+    @Transient
+    private transient int derivedScoreMisses = 0;
+
     private Double customScore;
 
     /**
@@ -323,6 +353,8 @@ public class Lifter implements MethodEventSource, Notifier {
     }
 
     public static int zeroIfInvalid(String value) {
+        if (value == null || value.isEmpty())
+            return 0;
         try {
             return Integer.valueOf(value);
         } catch (NumberFormatException nfe) {
@@ -432,20 +464,17 @@ public class Lifter implements MethodEventSource, Notifier {
      * @return the bestCleanJerk
      */
     public Integer getBestCleanJerk() {
-        final int cj1 = zeroIfInvalid(cleanJerk1ActualLift);
-        final int cj2 = zeroIfInvalid(cleanJerk2ActualLift);
-        final int cj3 = zeroIfInvalid(cleanJerk3ActualLift);
-        return max(0, cj1, cj2, cj3);
+        return getCleanJerkTotal();
     }
 
     public int getBestCleanJerkAttemptNumber() {
         int referenceValue = getBestCleanJerk();
         if (referenceValue > 0) {
-            if (zeroIfInvalid(cleanJerk3ActualLift) == referenceValue)
+            if (getActualLiftWeight(6) == referenceValue)
                 return 6;
-            if (zeroIfInvalid(cleanJerk2ActualLift) == referenceValue)
+            if (getActualLiftWeight(5) == referenceValue)
                 return 5;
-            if (zeroIfInvalid(cleanJerk1ActualLift) == referenceValue)
+            if (getActualLiftWeight(4) == referenceValue)
                 return 4;
         }
         return 0; // no match - bomb-out.
@@ -454,20 +483,20 @@ public class Lifter implements MethodEventSource, Notifier {
     public int getBestResultAttemptNumber() {
         int referenceValue = getBestCleanJerk();
         if (referenceValue > 0) {
-            if (zeroIfInvalid(cleanJerk3ActualLift) == referenceValue)
+            if (getActualLiftWeight(6) == referenceValue)
                 return 6;
-            if (zeroIfInvalid(cleanJerk2ActualLift) == referenceValue)
+            if (getActualLiftWeight(5) == referenceValue)
                 return 5;
-            if (zeroIfInvalid(cleanJerk1ActualLift) == referenceValue)
+            if (getActualLiftWeight(4) == referenceValue)
                 return 4;
         } else {
             if (referenceValue > 0) {
                 referenceValue = getBestSnatch();
-                if (zeroIfInvalid(snatch3ActualLift) == referenceValue)
+                if (getActualLiftWeight(3) == referenceValue)
                     return 3;
-                if (zeroIfInvalid(snatch2ActualLift) == referenceValue)
+                if (getActualLiftWeight(2) == referenceValue)
                     return 2;
-                if (zeroIfInvalid(snatch1ActualLift) == referenceValue)
+                if (getActualLiftWeight(1) == referenceValue)
                     return 1;
             }
         }
@@ -478,20 +507,17 @@ public class Lifter implements MethodEventSource, Notifier {
      * @return the bestSnatch
      */
     public Integer getBestSnatch() {
-        final int sn1 = zeroIfInvalid(snatch1ActualLift);
-        final int sn2 = zeroIfInvalid(snatch2ActualLift);
-        final int sn3 = zeroIfInvalid(snatch3ActualLift);
-        return max(0, sn1, sn2, sn3);
+        return getSnatchTotal();
     }
 
     public int getBestSnatchAttemptNumber() {
         int referenceValue = getBestSnatch();
         if (referenceValue > 0) {
-            if (zeroIfInvalid(snatch3ActualLift) == referenceValue)
+            if (getActualLiftWeight(3) == referenceValue)
                 return 3;
-            if (zeroIfInvalid(snatch2ActualLift) == referenceValue)
+            if (getActualLiftWeight(2) == referenceValue)
                 return 2;
-            if (zeroIfInvalid(snatch1ActualLift) == referenceValue)
+            if (getActualLiftWeight(1) == referenceValue)
                 return 1;
         }
         return 0; // no match - bomb-out.
@@ -507,6 +533,7 @@ public class Lifter implements MethodEventSource, Notifier {
         this.birthDateAsLocalDate = new LocalDate(newBirthDateAsDate);
         this.fullBirthDate = birthDateAsLocalDate.toDate();
         this.birthDate = birthDateAsLocalDate.getYear();
+        markModified();
     }
 
     @SuppressWarnings("unused")
@@ -514,6 +541,7 @@ public class Lifter implements MethodEventSource, Notifier {
         this.birthDateAsLocalDate = newBirthDateAsLocalDate;
         this.fullBirthDate = birthDateAsLocalDate.toDate();
         this.birthDate = birthDateAsLocalDate.getYear();
+        markModified();
     }
 
     private void setAllBirthDates(Integer yearOfBirth) {
@@ -526,6 +554,7 @@ public class Lifter implements MethodEventSource, Notifier {
             this.fullBirthDate = null;
             this.birthDate = null;
         }
+        markModified();
     }
 
     /* *****************************************************************************************
@@ -552,6 +581,7 @@ public class Lifter implements MethodEventSource, Notifier {
     public void setBirthDate(Integer birthYear) {
         if (fullBirthDate == null) {
             this.birthDate = birthYear;
+            markModified();
         } else {
             setAllBirthDates(birthYear);
         }
@@ -632,11 +662,22 @@ public class Lifter implements MethodEventSource, Notifier {
      * @return
      */
     public Double getCategorySinclair() {
+        final DerivedScores scores = getDerivedScores();
+        Double categorySinclair = scores.categorySinclair;
+        countDerivedScore(categorySinclair != null);
+        if (categorySinclair == null) {
+            categorySinclair = computeCategorySinclair();
+            scores.categorySinclair = categorySinclair;
+        }
+        return categorySinclair;
+    }
+
+    private Double computeCategorySinclair() {
         Category category = getCategory();
         if (category == null)
             return 0.0;
         Double categoryWeight = category.getMaximumWeight();
-        final Integer total1 = getTotal();
+        final Integer total1 = total(getDerivedScores());
         if (total1 == null || total1 < 0.1)
             return 0.0;
         if (getGender().equalsIgnoreCase("M")) { //$NON-NLS-1$
@@ -705,7 +746,7 @@ public class Lifter implements MethodEventSource, Notifier {
     }
 
     public String getCleanJerk2AutomaticProgression() {
-        final int prevVal = zeroIfInvalid(cleanJerk1ActualLift);
+        final int prevVal = getActualLiftWeight(4);
         return doAutomaticProgression(prevVal);
     }
 
@@ -734,7 +775,7 @@ public class Lifter implements MethodEventSource, Notifier {
     }
 
     public String getCleanJerk3AutomaticProgression() {
-        final int prevVal = zeroIfInvalid(cleanJerk2ActualLift);
+        final int prevVal = getActualLiftWeight(5);
         return doAutomaticProgression(prevVal);
     }
 
@@ -758,25 +799,7 @@ public class Lifter implements MethodEventSource, Notifier {
      * @return the cleanJerkAttemptsDone
      */
     public Integer getCleanJerkAttemptsDone() {
-        // if lifter signals he wont take his remaining tries, a zero is entered
-        // further lifts are not counted.
-        int attempts = 0;
-        if (!isEmpty(cleanJerk1ActualLift)) {
-            attempts++;
-        } else {
-            return attempts;
-        }
-        if (!isEmpty(cleanJerk2ActualLift)) {
-            attempts++;
-        } else {
-            return attempts;
-        }
-        if (!isEmpty(cleanJerk3ActualLift)) {
-            attempts++;
-        } else {
-            return attempts;
-        }
-        return attempts;
+        return getParsedAttempts().cleanJerkAttemptsDone;
     }
 
     public Float getCleanJerkPoints() {
@@ -793,9 +816,8 @@ public class Lifter implements MethodEventSource, Notifier {
      * @return total for clean and jerk
      */
     public int getCleanJerkTotal() {
-        final int cleanJerkTotal = max(0, zeroIfInvalid(cleanJerk1ActualLift), zeroIfInvalid(cleanJerk2ActualLift),
-                zeroIfInvalid(cleanJerk3ActualLift));
-        return cleanJerkTotal;
+        final ParsedAttempts parsed = getParsedAttempts();
+        return Math.max(0, Math.max(parsed.actualLift(4), Math.max(parsed.actualLift(5), parsed.actualLift(6))));
     }
 
     /**
@@ -945,32 +967,38 @@ public class Lifter implements MethodEventSource, Notifier {
     }
 
     public Integer getRequestedWeightForAttempt(int attempt) {
-        switch (attempt) {
-        case 1:
-            return (Integer) last(zeroIfInvalid(getSnatch1AutomaticProgression()), zeroIfInvalid(snatch1Declaration),
-                    zeroIfInvalid(snatch1Change1), zeroIfInvalid(snatch1Change2));
-        case 2:
-            return (Integer) last(zeroIfInvalid(getSnatch2AutomaticProgression()), zeroIfInvalid(snatch2Declaration),
-                    zeroIfInvalid(snatch2Change1), zeroIfInvalid(snatch2Change2));
-        case 3:
-            return (Integer) last(zeroIfInvalid(getSnatch3AutomaticProgression()), zeroIfInvalid(snatch3Declaration),
-                    zeroIfInvalid(snatch3Change1), zeroIfInvalid(snatch3Change2));
-        case 4:
-            return (Integer) last(zeroIfInvalid(getCleanJerk1AutomaticProgression()),
-                    zeroIfInvalid(cleanJerk1Declaration), zeroIfInvalid(cleanJerk1Change1),
-                    zeroIfInvalid(cleanJerk1Change2));
-        case 5:
-            return (Integer) last(zeroIfInvalid(getCleanJerk2AutomaticProgression()),
-                    zeroIfInvalid(cleanJerk2Declaration), zeroIfInvalid(cleanJerk2Change1),
-                    zeroIfInvalid(cleanJerk2Change2));
-        case 6:
-            return (Integer) last(zeroIfInvalid(getCleanJerk3AutomaticProgression()),
-                    zeroIfInvalid(cleanJerk3Declaration), zeroIfInvalid(cleanJerk3Change1),
-                    zeroIfInvalid(cleanJerk3Change2));
+        if (attempt < 1 || attempt > 6)
+            return 0;
+        final ParsedAttempts parsed = getParsedAttempts();
+        // there is no automatic progression for the first snatch and first clean and jerk.
+        final int automaticProgression = (attempt == 1 || attempt == 4) ? 0 : automaticProgression(parsed
+                .actualLift(attempt - 1));
+        return last(automaticProgression, parsed.declaration(attempt), parsed.change1(attempt), parsed.change2(attempt));
+    }
+
+    /**
+     * @param attempt
+     *            1 to 6 (snatches, then clean and jerks)
+     * @return the actual lift for the attempt, negative if failed, 0 if not lifted or invalid.
+     */
+    public int getActualLiftWeight(int attempt) {
+        return getParsedAttempts().actualLift(attempt);
+    }
+
+    /**
+     * @return the parsed attempt fields, reparsed if any of the Strings has changed since the last call.
+     */
+    private ParsedAttempts getParsedAttempts() {
+        // the snapshot is immutable, so a concurrent reader sees either the old or the new one.
+        ParsedAttempts parsed = parsedAttempts;
+        if (parsed == null || !parsed.isCurrent(this)) {
+            parsed = new ParsedAttempts(this);
+            parsedAttempts = parsed;
         }
-        return 0;
+        return parsed;
     }
 
+
     public Integer getQualifyingTotal() {
         if (qualifyingTotal == null)
             return 0;
@@ -996,6 +1024,21 @@ public class Lifter implements MethodEventSource, Notifier {
      * @return the sinclair-adjusted value for the lifter
      */
     public Double getSinclair() {
+        final DerivedScores scores = getDerivedScores();
+        countDerivedScore(scores.sinclair != null);
+        return sinclair(scores);
+    }
+
+    private Double sinclair(DerivedScores scores) {
+        Double sinclair = scores.sinclair;
+        if (sinclair == null) {
+            sinclair = computeSinclair();
+            scores.sinclair = sinclair;
+        }
+        return sinclair;
+    }
+
+    private Double computeSinclair() {
         final Double bodyWeight1 = getBodyWeight();
         if (bodyWeight1 == null)
             return 0.0;
@@ -1003,7 +1046,7 @@ public class Lifter implements MethodEventSource, Notifier {
     }
 
     public Double getSinclair(Double bodyWeight1) {
-        Integer total1 = getTotal();
+        Integer total1 = total(getDerivedScores());
         if (total1 == null || total1 < 0.1)
             return 0.0;
         if (gender == null)
@@ -1022,14 +1065,25 @@ public class Lifter implements MethodEventSource, Notifier {
     static int year = Calendar.getInstance().get(Calendar.YEAR);
 
     public Double getSMM() {
+        final DerivedScores scores = getDerivedScores();
+        Double smm = scores.smm;
+        countDerivedScore(smm != null);
+        if (smm == null) {
+            smm = computeSMM();
+            scores.smm = smm;
+        }
+        return smm;
+    }
+
+    private Double computeSMM() {
         try {
             final Integer birthDate1 = getBirthDate();
             if (birthDate1 == null)
                 return 0.0;
-            return getSinclair() * Coefficients.getSMMCoefficient(year - birthDate1);
+            return sinclair(getDerivedScores()) * Coefficients.getSMMCoefficient(year - birthDate1);
         } catch (IOException e) {
             LoggerUtils.infoException(logger, e);
-            return getSinclair();
+            return sinclair(getDerivedScores());
         }
     }
 
@@ -1070,7 +1124,7 @@ public class Lifter implements MethodEventSource, Notifier {
     }
 
     public String getSnatch2AutomaticProgression() {
-        final int prevVal = zeroIfInvalid(snatch1ActualLift);
+        final int prevVal = getActualLiftWeight(1);
         return doAutomaticProgression(prevVal);
     }
 
@@ -1099,7 +1153,7 @@ public class Lifter implements MethodEventSource, Notifier {
     }
 
     public String getSnatch3AutomaticProgression() {
-        final int prevVal = zeroIfInvalid(snatch2ActualLift);
+        final int prevVal = getActualLiftWeight(2);
         return doAutomaticProgression(prevVal);
     }
 
@@ -1123,25 +1177,7 @@ public class Lifter implements MethodEventSource, Notifier {
      * @return how many snatch attempts have been performed
      */
     public Integer getSnatchAttemptsDone() {
-        // lifter signals he wont take his remaining tries, a zero is entered
-        // further lifts are not counted.
-        int attempts = 0;
-        if (!isEmpty(snatch1ActualLift)) {
-            attempts++;
-        } else {
-            return attempts;
-        }
-        if (!isEmpty(snatch2ActualLift)) {
-            attempts++;
-        } else {
-            return attempts;
-        }
-        if (!isEmpty(snatch3ActualLift)) {
-            attempts++;
-        } else {
-            return attempts;
-        }
-        return attempts;
+        return getParsedAttempts().snatchAttemptsDone;
     }
 
     public Float getSnatchPoints() {
@@ -1158,9 +1194,8 @@ public class Lifter implements MethodEventSource, Notifier {
      * @return total for snatch.
      */
     public int getSnatchTotal() {
-        final int snatchTotal = max(0, zeroIfInvalid(snatch1ActualLift), zeroIfInvalid(snatch2ActualLift),
-                zeroIfInvalid(snatch3ActualLift));
-        return snatchTotal;
+        final ParsedAttempts parsed = getParsedAttempts();
+        return Math.max(0, Math.max(parsed.actualLift(1), Math.max(parsed.actualLift(2), parsed.actualLift(3))));
     }
 
     public Integer getTeamCleanJerkRank() {
@@ -1188,6 +1223,21 @@ public class Lifter implements MethodEventSource, Notifier {
      * @return the total
      */
     public Integer getTotal() {
+        final DerivedScores scores = getDerivedScores();
+        countDerivedScore(scores.total != null);
+        return total(scores);
+    }
+
+    private Integer total(DerivedScores scores) {
+        Integer total1 = scores.total;
+        if (total1 == null) {
+            total1 = computeTotal();
+            scores.total = total1;
+        }
+        return total1;
+    }
+
+    private Integer computeTotal() {
         final int snatchTotal = getSnatchTotal();
         if (snatchTotal == 0)
             return 0;
@@ -1533,7 +1583,10 @@ public class Lifter implements MethodEventSource, Notifier {
      *            the club to set
      */
     public void setClub(String club) {
+        if (sameValue(this.club, club))
+            return;
         this.club = club;
+        fireEvent(new UpdateEvent(this, "club")); //$NON-NLS-1$
     }
 
     public void setCurrentLifter(boolean currentLifter) {
@@ -1610,14 +1663,20 @@ public class Lifter implements MethodEventSource, Notifier {
     }
 
     public void setMembership(String membership) {
+        if (sameValue(this.membership, membership))
+            return;
         this.membership = membership;
+        fireEvent(new UpdateEvent(this, "membership")); //$NON-NLS-1$
     }
 
     public void setNextAttemptRequestedWeight(Integer i) {
     }
 
     public void setQualifyingTotal(Integer qualifyingTotal) {
+        if (sameValue(this.qualifyingTotal, qualifyingTotal))
+            return;
         this.qualifyingTotal = qualifyingTotal;
+        fireEvent(new UpdateEvent(this, "qualifyingTotal")); //$NON-NLS-1$
     }
 
     public void setRank(Integer i) {
@@ -1856,7 +1915,10 @@ public class Lifter implements MethodEventSource, Notifier {
     }
 
     public void setTeamMember(Boolean teamMember) {
+        if (sameValue(this.teamMember, teamMember))
+            return;
         this.teamMember = teamMember;
+        fireEvent(new UpdateEvent(this, "teamMember")); //$NON-NLS-1$
     }
 
     public void setTeamSnatchRank(Integer teamSnatchRank) {
@@ -1889,7 +1951,10 @@ public class Lifter implements MethodEventSource, Notifier {
     }
 
     public void setCustomScore(Double customScore) {
+        if (sameValue(this.customScore, customScore))
+            return;
         this.customScore = customScore;
+        fireEvent(new UpdateEvent(this, "customScore")); //$NON-NLS-1$
     }
 
     public void setCustomRank(Integer customRank) {
@@ -1946,10 +2011,14 @@ public class Lifter implements MethodEventSource, Notifier {
      * @return
      */
     private String doAutomaticProgression(final int prevVal) {
+        return Integer.toString(automaticProgression(prevVal));
+    }
+
+    private int automaticProgression(final int prevVal) {
         if (prevVal > 0) {
-            return Integer.toString(prevVal + 1);
+            return prevVal + 1;
         } else {
-            return Integer.toString(Math.abs(prevVal));
+            return Math.abs(prevVal);
         }
     }
 
@@ -2024,12 +2093,6 @@ public class Lifter implements MethodEventSource, Notifier {
         return 0;
     }
 
-    private Integer max(Integer... items) {
-        List<Integer> itemList = Arrays.asList(items);
-        final Integer max = Collections.max(itemList);
-        return max;
-    }
-
     @SuppressWarnings("unused")
     private Integer max(String... items) {
         List<String> itemList = Arrays.asList(items);
@@ -2205,6 +2268,13 @@ public class Lifter implements MethodEventSource, Notifier {
         parentView.showNotificationForLifter(this, notification, unlessCurrent);
     }
 
+    /**
+     * @return true if both values are null or equal; used to avoid firing events when nothing has changed.
+     */
+    private static boolean sameValue(Object o1, Object o2) {
+        return (o1 == null ? o2 == null : o1.equals(o2));
+    }
+
     /**
      * Broadcast a Lifter.event to all registered listeners
      * 
@@ -2212,6 +2282,8 @@ public class Lifter implements MethodEventSource, Notifier {
      *            contains the source (ourself) and the list of properties to be refreshed.
      */
     protected void fireEvent(UpdateEvent updateEvent) {
+        // all the setters that change a score fire an event.
+        markModified();
         logger
                 .debug("Lifter: firing event from " + System.identityHashCode(this) + " " + lastName + " " + firstName + " " + updateEvent.getPropertyIds()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
         if (eventRouter != null) {
@@ -2410,4 +2482,153 @@ public class Lifter implements MethodEventSource, Notifier {
 //        return 0;
 //    }
 
+    /**
+     * Invalidate the derived scores. Called by the setters; must also be called when the fields are changed behind the lifter's back
+     * (e.g. by a Hibernate merge, which uses field access).
+     */
+    public void markModified() {
+        modificationCount++;
+    }
+
+    /**
+     * @return the memoized scores, new empty ones if the lifter, its attempts or the categories have changed since they were computed.
+     */
+    private DerivedScores getDerivedScores() {
+        final int count = modificationCount;
+        final ParsedAttempts attempts = getParsedAttempts();
+        final int categoryGeneration = CategoryLookup.getGeneration();
+        DerivedScores scores = derivedScores;
+        if (scores != null && scores.modificationCount == count && scores.attempts == attempts
+                && scores.categoryGeneration == categoryGeneration) {
+            return scores;
+        }
+        scores = new DerivedScores(count, attempts, categoryGeneration);
+        derivedScores = scores;
+        return scores;
+    }
+
+    private void countDerivedScore(boolean hit) {
+        if (hit) {
+            derivedScoreHits++;
+        } else {
+            derivedScoreMisses++;
+        }
+    }
+
+    /**
+     * @param lifters
+     * @return fraction of the score values requested from these lifters that were found memoized (each value requested counts once).
+     */
+    public static double getDerivedScoreHitRatio(List<Lifter> lifters) {
+        long hits = 0;
+        long calls = 0;
+        for (Lifter lifter : lifters) {
+            hits += lifter.derivedScoreHits;
+            calls += lifter.derivedScoreHits + lifter.derivedScoreMisses;
+        }
+        return (calls == 0 ? 0.0 : (double) hits / calls);
+    }
+
+    /**
+     * @return the attempt fields, in lifter card order (declaration, change 1, change 2 and actual lift for each attempt).
+     */
+    private String[] getAttemptFields() {
+        return new String[] { snatch1Declaration, snatch1Change1, snatch1Change2, snatch1ActualLift,
+                snatch2Declaration, snatch2Change1, snatch2Change2, snatch2ActualLift,
+                snatch3Declaration, snatch3Change1, snatch3Change2, snatch3ActualLift,
+                cleanJerk1Declaration, cleanJerk1Change1, cleanJerk1Change2, cleanJerk1ActualLift,
+                cleanJerk2Declaration, cleanJerk2Change1, cleanJerk2Change2, cleanJerk2ActualLift,
+                cleanJerk3Declaration, cleanJerk3Change1, cleanJerk3Change2, cleanJerk3ActualLift };
+    }
+
+    /**
+     * @return true if the attempt fields are the same String objects as those given (as returned by {@link #getAttemptFields()})
+     */
+    private boolean sameAttemptFields(String[] s) {
+        return s[0] == snatch1Declaration && s[1] == snatch1Change1 && s[2] == snatch1Change2 && s[3] == snatch1ActualLift
+                && s[4] == snatch2Declaration && s[5] == snatch2Change1 && s[6] == snatch2Change2 && s[7] == snatch2ActualLift
+                && s[8] == snatch3Declaration && s[9] == snatch3Change1 && s[10] == snatch3Change2 && s[11] == snatch3ActualLift
+                && s[12] == cleanJerk1Declaration && s[13] == cleanJerk1Change1 && s[14] == cleanJerk1Change2 && s[15] == cleanJerk1ActualLift
+                && s[16] == cleanJerk2Declaration && s[17] == cleanJerk2Change1 && s[18] == cleanJerk2Change2 && s[19] == cleanJerk2ActualLift
+                && s[20] == cleanJerk3Declaration && s[21] == cleanJerk3Change1 && s[22] == cleanJerk3Change2 && s[23] == cleanJerk3ActualLift;
+    }
+
+    /**
+     * Scores computed from the attempts, the body weight, the gender and the birth date. Values are filled in lazily; two threads may
+     * compute the same value, which is harmless since the result is the same.
+     */
+    private static final class DerivedScores {
+        private final int modificationCount;
+        private final ParsedAttempts attempts;
+        private final int categoryGeneration;
+        private volatile Integer total;
+        private volatile Double sinclair;
+        private volatile Double smm;
+        private volatile Double categorySinclair;
+
+        private DerivedScores(int modificationCount, ParsedAttempts attempts, int categoryGeneration) {
+            this.modificationCount = modificationCount;
+            this.attempts = attempts;
+            this.categoryGeneration = categoryGeneration;
+        }
+    }
+
+    /**
+     * Attempt fields parsed as integers, so that sorting and results do not parse the same Strings over and over. Immutable, so it can be
+     * shared by the threads that read the lifter.
+     */
+    private static final class ParsedAttempts {
+        private static final int FIELDS_PER_ATTEMPT = 4;
+        private final String[] fields;
+        private final int[] weights;
+        private final int snatchAttemptsDone;
+        private final int cleanJerkAttemptsDone;
+
+        private ParsedAttempts(Lifter lifter) {
+            fields = lifter.getAttemptFields();
+            weights = new int[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                weights[i] = zeroIfInvalid(fields[i]);
+            }
+            snatchAttemptsDone = attemptsDone(1);
+            cleanJerkAttemptsDone = attemptsDone(4);
+        }
+
+        private boolean isCurrent(Lifter lifter) {
+            return lifter.sameAttemptFields(fields);
+        }
+
+        private int attemptsDone(int firstAttempt) {
+            // if lifter signals he wont take his remaining tries, a zero is entered
+            // further lifts are not counted.
+            int attempts = 0;
+            while (attempts < 3 && !isEmpty(fields[index(firstAttempt + attempts) + 3])) {
+                attempts++;
+            }
+            return attempts;
+        }
+
+        private static int index(int attempt) {
+            return (attempt - 1) * FIELDS_PER_ATTEMPT;
+        }
+
+        private int declaration(int attempt) {
+            return weights[index(attempt)];
+        }
+
+        private int change1(int attempt) {
+            return weights[index(attempt) + 1];
+        }
+
+        private int change2(int attempt) {
+            return weights[index(attempt) + 2];
+        }
+
+        private int actualLift(int attempt) {
+            if (attempt < 1 || attempt > 6)
+                return 0;
+            return weights[index(attempt) + 3];
+        }
+    }
+
 }
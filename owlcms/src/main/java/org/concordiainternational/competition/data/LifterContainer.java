@@ -74,4 +74,15 @@ public class LifterContainer extends HbnContainer<Lifter> {
         return criteria;
     }
 
+    /*
+     * The criteria depend on the group selected in the application. (non-Javadoc)
+     * 
+     * @see com.vaadin.data.hbnutil.HbnContainer#getSearchCriteriaKey()
+     */
+    @Override
+    protected Object getSearchCriteriaKey() {
+        final CompetitionSession currentGroup = ((CompetitionApplication) app).getCurrentCompetitionSession();
+        return (currentGroup != null ? currentGroup.getName() : null);
+    }
+
 }
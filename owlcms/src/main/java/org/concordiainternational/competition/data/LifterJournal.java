@@ -0,0 +1,399 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.hibernate.EntityMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only file of the lifter states queued by {@link LifterWriteBehind} and not yet known to be in the database.
+ * <p>
+ * Each record is the complete persistent state of one lifter (its mapped properties, associations by id), preceded by its length so that
+ * a record cut short by a crash is recognized and ignored. Records are written to the operating system as they are queued, which is enough
+ * to survive the server process going down.
+ * </p>
+ * <p>
+ * Before each batch is written to the database the file is set aside and forced to the disk ({@link #rotate()}); the records queued
+ * from then on go to a new file. Once the batch is in the database the file set aside is deleted ({@link #discardPrevious()}), so the
+ * journal only holds states not yet written, and changes made to the database by other means (weigh-in, lifter editor) are not
+ * overwritten on the next start. On startup, whatever is left in both files is applied to the database
+ * ({@link #replay(File, SessionFactory)}).
+ * </p>
+ *
+ * @author jflamy
+ *
+ */
+class LifterJournal {
+    private static final Logger logger = LoggerFactory.getLogger(LifterJournal.class);
+
+    // value tags
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte DATE = 7;
+    private static final byte ENTITY = 8;
+
+    /** size of the record length, and of the smallest record (lifter id, number of properties). */
+    private static final int LENGTH_SIZE = 4;
+    private static final int MIN_RECORD_SIZE = 8 + 2;
+
+    private final SessionFactory sessionFactory;
+    private final ClassMetadata metadata;
+    private final File journalFile;
+    private final File previousFile;
+    private RandomAccessFile file;
+    private FileChannel channel;
+
+    /**
+     * Open the journal for appending.
+     *
+     * @param journalFile
+     * @param sessionFactory
+     *            gives the mapped properties of lifters.
+     * @throws IOException
+     */
+    LifterJournal(File journalFile, SessionFactory sessionFactory) throws IOException {
+        this.sessionFactory = sessionFactory;
+        this.metadata = sessionFactory.getClassMetadata(Lifter.class);
+        this.journalFile = journalFile;
+        this.previousFile = previousFile(journalFile);
+        open();
+    }
+
+    /**
+     * @return the file holding the records set aside by {@link #rotate()}.
+     */
+    static File previousFile(File journalFile) {
+        return new File(journalFile.getPath() + ".previous"); //$NON-NLS-1$
+    }
+
+    private void open() throws IOException {
+        file = new RandomAccessFile(journalFile, "rw"); //$NON-NLS-1$
+        channel = file.getChannel();
+        channel.position(channel.size());
+    }
+
+    /**
+     * Record a state of a lifter.
+     *
+     * @param lifterId
+     * @param values
+     *            the values of the mapped properties, as given by {@link ClassMetadata#getPropertyValues(Object, EntityMode)}.
+     * @throws IOException
+     */
+    synchronized void append(long lifterId, Object[] values) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        final DataOutputStream out = new DataOutputStream(bytes);
+        final String[] names = metadata.getPropertyNames();
+        final Type[] types = metadata.getPropertyTypes();
+        out.writeLong(lifterId);
+        out.writeShort(names.length);
+        for (int i = 0; i < names.length; i++) {
+            out.writeUTF(names[i]);
+            writeValue(out, types[i], values[i]);
+        }
+        out.flush();
+
+        final ByteBuffer record = ByteBuffer.allocate(LENGTH_SIZE + bytes.size());
+        record.putInt(bytes.size());
+        record.put(bytes.toByteArray());
+        record.flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    /**
+     * Set the records written so far aside and force them to the disk; the following records go to a new file. Appends only wait for the
+     * file to be renamed and a new one opened, not for the disk.
+     *
+     * @throws IOException
+     *             if the file could not be set aside; records keep being appended to the same file.
+     */
+    void rotate() throws IOException {
+        if (previousFile.exists() && !previousFile.delete()) {
+            throw new IOException("could not delete " + previousFile.getAbsolutePath()); //$NON-NLS-1$
+        }
+        final RandomAccessFile setAside;
+        synchronized (this) {
+            setAside = file;
+            if (journalFile.renameTo(previousFile)) {
+                try {
+                    open();
+                } catch (IOException e) {
+                    // keep appending to the file set aside, under its own name again.
+                    file = setAside;
+                    channel = setAside.getChannel();
+                    previousFile.renameTo(journalFile);
+                    throw e;
+                }
+            } else {
+                // the file could not be renamed while open (Windows): close it first, appends wait meanwhile.
+                channel.force(false);
+                file.close();
+                final boolean renamed = journalFile.renameTo(previousFile);
+                open();
+                if (!renamed) {
+                    throw new IOException("could not rename " + journalFile.getAbsolutePath()); //$NON-NLS-1$
+                }
+                return;
+            }
+        }
+        setAside.getChannel().force(false);
+        setAside.close();
+    }
+
+    /**
+     * Forget the records set aside by {@link #rotate()}, the database has them.
+     */
+    void discardPrevious() {
+        if (previousFile.exists() && !previousFile.delete()) {
+            logger.error("could not delete {}", previousFile.getAbsolutePath()); //$NON-NLS-1$
+        }
+    }
+
+    synchronized void close() throws IOException {
+        channel.force(false);
+        file.close();
+    }
+
+    private void writeValue(DataOutputStream out, Type type, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (type.isEntityType()) {
+            final String entityName = ((EntityType) type).getAssociatedEntityName();
+            final Serializable id;
+            if (value instanceof HibernateProxy) {
+                id = ((HibernateProxy) value).getHibernateLazyInitializer().getIdentifier();
+            } else {
+                id = sessionFactory.getClassMetadata(entityName).getIdentifier(value, EntityMode.POJO);
+            }
+            if (id == null) {
+                out.writeByte(NULL);
+            } else {
+                out.writeByte(ENTITY);
+                out.writeUTF(entityName);
+                out.writeLong(((Number) id).longValue());
+            }
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Date) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else {
+            throw new IOException("cannot journal " + value.getClass().getName()); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * An association read from the journal, looked up when the record is applied.
+     */
+    private static final class EntityRef {
+        final String entityName;
+        final long id;
+
+        EntityRef(String entityName, long id) {
+            this.entityName = entityName;
+            this.id = id;
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        final byte tag = in.readByte();
+        switch (tag) {
+        case NULL:
+            return null;
+        case STRING:
+            return in.readUTF();
+        case INTEGER:
+            return in.readInt();
+        case LONG:
+            return in.readLong();
+        case DOUBLE:
+            return in.readDouble();
+        case FLOAT:
+            return in.readFloat();
+        case BOOLEAN:
+            return in.readBoolean();
+        case DATE:
+            return new Date(in.readLong());
+        case ENTITY:
+            return new EntityRef(in.readUTF(), in.readLong());
+        default:
+            throw new IOException("unknown value tag " + tag); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Read the records of a journal file, stopping at the first one that is cut short or unreadable.
+     *
+     * @param journalFile
+     * @param records
+     *            receives the properties of each lifter, by lifter id; a later record replaces an earlier one.
+     * @return the number of records read
+     * @throws IOException
+     */
+    static int read(File journalFile, Map<Long, Map<String, Object>> records) throws IOException {
+        if (!journalFile.exists()) {
+            return 0;
+        }
+        final RandomAccessFile in = new RandomAccessFile(journalFile, "r"); //$NON-NLS-1$
+        int nbRecords = 0;
+        try {
+            final long size = in.length();
+            while (size - in.getFilePointer() >= LENGTH_SIZE) {
+                final long position = in.getFilePointer();
+                final int length = in.readInt();
+                if (length < MIN_RECORD_SIZE || length > size - in.getFilePointer()) {
+                    logger.warn("{}: record cut short at {}, ignoring the rest", journalFile.getAbsolutePath(), position); //$NON-NLS-1$
+                    break;
+                }
+                final byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                final DataInputStream record = new DataInputStream(new ByteArrayInputStream(bytes));
+                final Map<String, Object> properties = new LinkedHashMap<String, Object>();
+                final long lifterId;
+                try {
+                    lifterId = record.readLong();
+                    final int nbProperties = record.readShort();
+                    for (int i = 0; i < nbProperties; i++) {
+                        final String name = record.readUTF();
+                        properties.put(name, readValue(record));
+                    }
+                } catch (IOException e) {
+                    logger.warn("{}: unreadable record at {}, ignoring the rest: {}", //$NON-NLS-1$
+                            new Object[] { journalFile.getAbsolutePath(), position, e });
+                    break;
+                }
+                records.remove(lifterId);
+                records.put(lifterId, properties);
+                nbRecords++;
+            }
+        } finally {
+            in.close();
+        }
+        return nbRecords;
+    }
+
+    /**
+     * Apply the records left by a previous run to the database, then delete them.
+     *
+     * @param journalFile
+     * @param sessionFactory
+     * @return the number of lifters updated
+     * @throws IOException
+     */
+    static int replay(File journalFile, SessionFactory sessionFactory) throws IOException {
+        // records set aside for a batch that may not have reached the database come first.
+        final File previous = previousFile(journalFile);
+        final Map<Long, Map<String, Object>> records = new LinkedHashMap<Long, Map<String, Object>>();
+        read(previous, records);
+        read(journalFile, records);
+
+        int updated = 0;
+        if (!records.isEmpty()) {
+            final ClassMetadata metadata = sessionFactory.getClassMetadata(Lifter.class);
+            final Session session = sessionFactory.openSession();
+            try {
+                final Transaction transaction = session.beginTransaction();
+                for (Entry<Long, Map<String, Object>> entry : records.entrySet()) {
+                    final Object lifter = session.get(Lifter.class, entry.getKey());
+                    if (lifter == null) {
+                        // deleted since.
+                        continue;
+                    }
+                    apply(metadata, lifter, entry.getValue(), session);
+                    updated++;
+                }
+                transaction.commit();
+            } finally {
+                session.close();
+            }
+            logger.info("replayed {} lifter(s) from {}", updated, journalFile.getAbsolutePath()); //$NON-NLS-1$
+        }
+
+        if (previous.exists() && !previous.delete()) {
+            throw new IOException("could not delete " + previous.getAbsolutePath()); //$NON-NLS-1$
+        }
+        if (journalFile.exists()) {
+            final RandomAccessFile emptied = new RandomAccessFile(journalFile, "rw"); //$NON-NLS-1$
+            try {
+                emptied.setLength(0);
+            } finally {
+                emptied.close();
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Set the journaled properties on a lifter. The version is left alone, and properties no longer mapped are ignored.
+     */
+    private static void apply(ClassMetadata metadata, Object lifter, Map<String, Object> properties, Session session) {
+        final List<String> mapped = Arrays.asList(metadata.getPropertyNames());
+        final String versionName = metadata.isVersioned() ? mapped.get(metadata.getVersionProperty()) : null;
+        for (Entry<String, Object> property : properties.entrySet()) {
+            final String name = property.getKey();
+            if (name.equals(versionName) || !mapped.contains(name)) {
+                continue;
+            }
+            Object value = property.getValue();
+            if (value instanceof EntityRef) {
+                final EntityRef ref = (EntityRef) value;
+                value = session.get(ref.entityName, ref.id);
+            }
+            metadata.setPropertyValue(lifter, name, value, EntityMode.POJO);
+        }
+    }
+
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.EntityMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.metadata.ClassMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes lifter changes to the database in the background.
+ * <p>
+ * During a competition the lifters held by the session data are the reference; the database only needs to catch up. Instead of merging
+ * and flushing each lifter on the request thread of the announcer (or of the referee decision), {@link #save(Lifter)} copies the state
+ * of the lifter, records it in the {@link LifterJournal} and marks the lifter dirty. A background thread writes all the dirty lifters in a
+ * single transaction (so in JDBC batches, see hibernate.jdbc.batch_size) at most {@link #DELAY_MILLIS} later. A lifter changed again
+ * before being written is written once, with its latest values.
+ * </p>
+ * <p>
+ * The background thread only reads the copies, never the lifters that the announcer keeps changing. A lifter that could not be written
+ * stays dirty (unless it was changed meanwhile) and is tried again with the next batch.
+ * </p>
+ *
+ * @author jflamy
+ *
+ */
+public class LifterWriteBehind {
+    private static final Logger logger = LoggerFactory.getLogger(LifterWriteBehind.class);
+
+    /** longest time a change waits before being written, -Dowlcms.writeBehindMillis to change. */
+    static final long DELAY_MILLIS = Long.getLong("owlcms.writeBehindMillis", 500); //$NON-NLS-1$
+
+    private static volatile LifterWriteBehind instance;
+
+    private final SessionFactory sessionFactory;
+    private final ClassMetadata metadata;
+    private final LifterJournal journal;
+    private final ScheduledExecutorService executor;
+
+    /** state of the lifters to be written (values of the mapped properties), by id; guarded by this. */
+    private final Map<Long, Object[]> dirty = new LinkedHashMap<Long, Object[]>();
+    private boolean scheduled = false;
+
+    private final AtomicLong saves = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                flush();
+            } catch (Throwable t) {
+                logger.error("write-behind flush failed", t); //$NON-NLS-1$
+            }
+        }
+    };
+
+    private LifterWriteBehind(SessionFactory sessionFactory, LifterJournal journal) {
+        this.sessionFactory = sessionFactory;
+        this.metadata = sessionFactory.getClassMetadata(Lifter.class);
+        this.journal = journal;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                final Thread thread = new Thread(r, "lifter-write-behind"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * @return the running instance, null if lifters are written directly (tests).
+     */
+    public static LifterWriteBehind getInstance() {
+        return instance;
+    }
+
+    /**
+     * Apply what a previous run left in the journal, then start writing in the background.
+     *
+     * @param sessionFactory
+     * @param journalFile
+     *            null to run without a journal.
+     */
+    public static synchronized void start(SessionFactory sessionFactory, File journalFile) {
+        if (instance != null) {
+            return;
+        }
+        LifterJournal journal = null;
+        if (journalFile != null) {
+            try {
+                LifterJournal.replay(journalFile, sessionFactory);
+                journal = new LifterJournal(journalFile, sessionFactory);
+            } catch (IOException e) {
+                logger.error("lifter journal {} unusable, continuing without it: {}", journalFile, e); //$NON-NLS-1$
+            }
+        }
+        instance = new LifterWriteBehind(sessionFactory, journal);
+    }
+
+    /**
+     * Write what is pending and stop the background thread.
+     */
+    public static synchronized void stop() {
+        final LifterWriteBehind current = instance;
+        if (current == null) {
+            return;
+        }
+        instance = null;
+        current.executor.shutdown();
+        try {
+            current.executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        current.flush();
+        if (current.journal != null) {
+            try {
+                current.journal.close();
+            } catch (IOException e) {
+                logger.error("closing lifter journal: {}", e); //$NON-NLS-1$
+            }
+        }
+        logger.info("{}", current.getReport()); //$NON-NLS-1$
+    }
+
+    /**
+     * Queue the lifter to be written.
+     *
+     * @param lifter
+     *            a lifter already in the database (non-null id).
+     */
+    public void save(Lifter lifter) {
+        // copy now, on the thread that changes the lifter.
+        final Object[] values = metadata.getPropertyValues(lifter, EntityMode.POJO);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Date) {
+                values[i] = ((Date) values[i]).clone();
+            }
+        }
+        synchronized (this) {
+            queue(lifter.getId(), values);
+        }
+        saves.incrementAndGet();
+    }
+
+    /**
+     * Record a state to be written, and make sure a flush is coming. Called while holding the lock.
+     */
+    private void queue(Long lifterId, Object[] values) {
+        dirty.put(lifterId, values);
+        if (journal != null) {
+            try {
+                journal.append(lifterId, values);
+            } catch (IOException e) {
+                logger.error("could not journal lifter {}: {}", lifterId, e); //$NON-NLS-1$
+            }
+        }
+        if (!scheduled) {
+            scheduled = true;
+            try {
+                executor.schedule(flushTask, DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // stopping: stop() writes what is left.
+            }
+        }
+    }
+
+    /**
+     * Write all the dirty lifters in one transaction.
+     */
+    void flush() {
+        synchronized (this) {
+            scheduled = false;
+            if (dirty.isEmpty()) {
+                return;
+            }
+        }
+        // set the journal aside before taking the batch, without holding the lock: every state in the file set aside is still dirty,
+        // so it is in the batch, or replaced by a newer state recorded in the new file.
+        boolean rotated = false;
+        if (journal != null) {
+            try {
+                journal.rotate();
+                rotated = true;
+            } catch (IOException e) {
+                logger.error("could not rotate lifter journal: {}", e); //$NON-NLS-1$
+            }
+        }
+        final Map<Long, Object[]> batch;
+        synchronized (this) {
+            batch = new LinkedHashMap<Long, Object[]>(dirty);
+            dirty.clear();
+        }
+
+        final Map<Long, Object[]> failed = new LinkedHashMap<Long, Object[]>();
+        if (!write(batch)) {
+            // write them one at a time so that one bad lifter does not hold the others back.
+            for (Entry<Long, Object[]> entry : batch.entrySet()) {
+                final Map<Long, Object[]> single = new LinkedHashMap<Long, Object[]>(2);
+                single.put(entry.getKey(), entry.getValue());
+                if (!write(single)) {
+                    failed.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        synchronized (this) {
+            for (Entry<Long, Object[]> entry : failed.entrySet()) {
+                // a newer state queued meanwhile replaces the one that failed.
+                if (!dirty.containsKey(entry.getKey())) {
+                    queue(entry.getKey(), entry.getValue());
+                    retries.incrementAndGet();
+                }
+            }
+        }
+        // every state of the batch is now in the database or back in the current file.
+        if (rotated) {
+            journal.discardPrevious();
+        }
+    }
+
+    /**
+     * @param states
+     *            values of the mapped properties, by lifter id.
+     * @return true if written.
+     */
+    private boolean write(Map<Long, Object[]> states) {
+        final Session session = sessionFactory.openSession();
+        Transaction transaction = null;
+        try {
+            transaction = session.beginTransaction();
+            int nbWritten = 0;
+            for (Entry<Long, Object[]> entry : states.entrySet()) {
+                final Object lifter = session.get(Lifter.class, entry.getKey());
+                if (lifter == null) {
+                    // deleted since.
+                    continue;
+                }
+                final Object[] values = entry.getValue().clone();
+                if (metadata.isVersioned()) {
+                    // the copy is the reference, whatever was written in between.
+                    values[metadata.getVersionProperty()] = metadata.getVersion(lifter, EntityMode.POJO);
+                }
+                metadata.setPropertyValues(lifter, values, EntityMode.POJO);
+                nbWritten++;
+            }
+            transaction.commit();
+            written.addAndGet(nbWritten);
+            batches.incrementAndGet();
+            return true;
+        } catch (RuntimeException e) {
+            if (transaction != null && transaction.isActive()) {
+                transaction.rollback();
+            }
+            logger.error("could not write {} lifter(s): {}", states.size(), e); //$NON-NLS-1$
+            return false;
+        } finally {
+            session.close();
+        }
+    }
+
+    public synchronized int getPendingCount() {
+        return dirty.size();
+    }
+
+    public String getReport() {
+        return "saves=" + saves.get() + " written=" + written.get() + " batches=" + batches.get() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + " retries=" + retries.get() + " pending=" + getPendingCount(); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+}
@@ -8,6 +8,7 @@
 package org.concordiainternational.competition.data;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.persistence.Entity;
@@ -17,12 +18,9 @@ import javax.persistence.Id;
 import javax.sound.sampled.Mixer;
 
 import org.concordiainternational.competition.decision.Speakers;
-import org.concordiainternational.competition.ui.CompetitionApplication;
 import org.concordiainternational.competition.ui.LiftList;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
-import org.hibernate.criterion.Order;
-import org.hibernate.criterion.Restrictions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -117,30 +115,23 @@ public class Platform implements Serializable {
         return id;
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * @return the platforms sorted by name, from memory (see {@link PlatformLookup}).
+     */
     static public List<Platform> getAll() {
-        final List<Platform> list = CompetitionApplication.getCurrent().getHbnSession().createCriteria(Platform.class).addOrder(
-                Order.asc("name")) //$NON-NLS-1$
-                .list();
-        return list;
+        return new ArrayList<Platform>(PlatformLookup.getSharedInstance().getPlatforms());
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * @param name
+     * @return the platform with its mixer set, from memory (see {@link PlatformLookup}); null if not found.
+     */
     static public Platform getByName(String name) {
-        final List<Platform> list = CompetitionApplication.getCurrent().getHbnSession().createCriteria(Platform.class).add(
-                Restrictions.eq("name", name)) //$NON-NLS-1$
-                .list();
-        if (list.size() == 1) {
-            final Platform platform = (Platform) list.get(0);
-            platform.setMixerName(platform.mixerName);
-            return platform;
-        } else {
-            return null;
-        }
+        return PlatformLookup.getSharedInstance().lookup(name);
     }
 
     public static int getSize() {
-        return getAll().size();
+        return PlatformLookup.getSharedInstance().size();
     }
 
     @Override
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.concordiainternational.competition.ui.CompetitionApplication;
+import org.concordiainternational.competition.ui.PlatformList;
+import org.hibernate.criterion.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.data.hbnutil.HbnContainer.HbnSessionManager;
+
+/**
+ * The platforms, by name and by id, kept in memory.
+ * <p>
+ * Platforms are looked up on every display refresh and when each platform's session data is created, and change only when edited in the
+ * {@link PlatformList}, which reloads them. The mixer of each platform is resolved once at reload, not on every lookup. A reload builds a
+ * new immutable {@link Table} and makes it visible to all threads at once.
+ * </p>
+ *
+ * @author jflamy
+ *
+ */
+public class PlatformLookup {
+    private static Logger logger = LoggerFactory.getLogger(PlatformLookup.class);
+    private static volatile PlatformLookup sharedPlatformLookup;
+
+    private volatile Table table;
+    private HbnSessionManager hbnSessionManager;
+
+    /**
+     * The platforms sorted by name, and the same platforms by name and by id. Never modified once published.
+     */
+    private static final class Table {
+        private final List<Platform> platforms;
+        private final Map<String, Platform> byName;
+        private final Map<Long, Platform> byId;
+
+        private Table(List<Platform> platforms) {
+            this.platforms = Collections.unmodifiableList(platforms);
+            this.byName = new HashMap<String, Platform>();
+            this.byId = new HashMap<Long, Platform>();
+            for (Platform platform : platforms) {
+                byName.put(platform.getName(), platform);
+                byId.put(platform.getId(), platform);
+            }
+        }
+    }
+
+    /**
+     * @param hbnSessionManager
+     *            used to read the platforms; the current application if null.
+     */
+    private PlatformLookup(HbnSessionManager hbnSessionManager) {
+        this.hbnSessionManager = hbnSessionManager;
+    }
+
+    public static PlatformLookup getSharedInstance() {
+        return getSharedInstance(null);
+    }
+
+    public static PlatformLookup getSharedInstance(HbnSessionManager hbnSessionManager) {
+        PlatformLookup instance = sharedPlatformLookup;
+        if (instance == null) {
+            synchronized (PlatformLookup.class) {
+                instance = sharedPlatformLookup;
+                if (instance == null) {
+                    instance = new PlatformLookup(hbnSessionManager);
+                    sharedPlatformLookup = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Reload the platforms from the database.
+     */
+    @SuppressWarnings("unchecked")
+    public void reload() {
+        HbnSessionManager sessMgr = hbnSessionManager;
+        if (sessMgr == null) {
+            sessMgr = CompetitionApplication.getCurrent();
+        }
+        final List<Platform> platforms = new ArrayList<Platform>(sessMgr.getHbnSession().createCriteria(Platform.class)
+                .addOrder(Order.asc("name")) //$NON-NLS-1$
+                .list());
+        for (Platform platform : platforms) {
+            // resolve the mixer once, this enumerates the audio devices.
+            platform.setMixerName(platform.getMixerName());
+        }
+        table = new Table(platforms);
+        logger.debug("platforms={}", platforms); //$NON-NLS-1$
+    }
+
+    private Table getTable() {
+        Table current = table;
+        if (current == null) {
+            synchronized (this) {
+                current = table;
+                if (current == null) {
+                    reload();
+                    current = table;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return the platforms, sorted by name.
+     */
+    public List<Platform> getPlatforms() {
+        return getTable().platforms;
+    }
+
+    /**
+     * @param name
+     * @return the platform, null if there is none with that name.
+     */
+    public Platform lookup(String name) {
+        return getTable().byName.get(name);
+    }
+
+    /**
+     * @param id
+     * @return the platform, null if there is none with that id.
+     */
+    public Platform lookup(Long id) {
+        return getTable().byId.get(id);
+    }
+
+    public int size() {
+        return getTable().platforms.size();
+    }
+
+}
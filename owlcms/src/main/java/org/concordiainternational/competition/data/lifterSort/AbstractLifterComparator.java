@@ -432,24 +432,21 @@ public class AbstractLifterComparator {
         if (trace)
             logger.trace("starting from {}, lifter1 {}, lifter2 {}", new Object[] { startingFrom, lifter1, lifter2 });
         if (startingFrom >= 6) {
-            compare = ((Integer) Math.abs(Lifter.zeroIfInvalid(lifter1.getCleanJerk3ActualLift()))).compareTo(Math
-                    .abs(Lifter.zeroIfInvalid(lifter2.getCleanJerk3ActualLift())));
+            compare = ((Integer) Math.abs(lifter1.getActualLiftWeight(6))).compareTo(Math.abs(lifter2.getActualLiftWeight(6)));
             if (trace)
                 logger.trace("essai 6: {}", compare);
             if (compare != 0)
                 return compare;
         }
         if (startingFrom >= 5) {
-            compare = ((Integer) Math.abs(Lifter.zeroIfInvalid(lifter1.getCleanJerk2ActualLift()))).compareTo(Math
-                    .abs(Lifter.zeroIfInvalid(lifter2.getCleanJerk2ActualLift())));
+            compare = ((Integer) Math.abs(lifter1.getActualLiftWeight(5))).compareTo(Math.abs(lifter2.getActualLiftWeight(5)));
             if (trace)
                 logger.trace("essai 5: {}", compare);
             if (compare != 0)
                 return compare;
         }
         if (startingFrom >= 4) {
-            compare = ((Integer) Math.abs(Lifter.zeroIfInvalid(lifter1.getCleanJerk1ActualLift()))).compareTo(Math
-                    .abs(Lifter.zeroIfInvalid(lifter2.getCleanJerk1ActualLift())));
+            compare = ((Integer) Math.abs(lifter1.getActualLiftWeight(4))).compareTo(Math.abs(lifter2.getActualLiftWeight(4)));
             if (trace)
                 logger.trace("essai 4: {}", compare);
             if (compare != 0)
@@ -459,24 +456,21 @@ public class AbstractLifterComparator {
             return 0;
         }
         if (startingFrom >= 3) {
-            compare = ((Integer) Math.abs(Lifter.zeroIfInvalid(lifter1.getSnatch3ActualLift()))).compareTo(Math
-                    .abs(Lifter.zeroIfInvalid(lifter2.getSnatch3ActualLift())));
+            compare = ((Integer) Math.abs(lifter1.getActualLiftWeight(3))).compareTo(Math.abs(lifter2.getActualLiftWeight(3)));
             if (trace)
                 logger.trace("essai 3: {}", compare);
             if (compare != 0)
                 return compare;
         }
         if (startingFrom >= 2) {
-            compare = ((Integer) Math.abs(Lifter.zeroIfInvalid(lifter1.getSnatch2ActualLift()))).compareTo(Math
-                    .abs(Lifter.zeroIfInvalid(lifter2.getSnatch2ActualLift())));
+            compare = ((Integer) Math.abs(lifter1.getActualLiftWeight(2))).compareTo(Math.abs(lifter2.getActualLiftWeight(2)));
             if (trace)
                 logger.trace("essai 2: {}", compare);
             if (compare != 0)
                 return compare;
         }
         if (startingFrom >= 1) {
-            compare = ((Integer) Math.abs(Lifter.zeroIfInvalid(lifter1.getSnatch1ActualLift()))).compareTo(Math
-                    .abs(Lifter.zeroIfInvalid(lifter2.getSnatch1ActualLift())));
+            compare = ((Integer) Math.abs(lifter1.getActualLiftWeight(1))).compareTo(Math.abs(lifter2.getActualLiftWeight(1)));
             if (trace)
                 logger.trace("essai 1: {}", compare);
             if (compare != 0)
@@ -509,8 +503,8 @@ public class AbstractLifterComparator {
             // clean and jerk
             if (currentTry == 6) {
                 // smaller 2nd attempt lifted first
-                Integer attemptedCJ2_1 = Math.abs(Lifter.zeroIfInvalid(lifter1.getCleanJerk2ActualLift()));
-                Integer attemptedCJ2_2 = Math.abs(Lifter.zeroIfInvalid(lifter2.getCleanJerk2ActualLift()));
+                Integer attemptedCJ2_1 = Math.abs(lifter1.getActualLiftWeight(5));
+                Integer attemptedCJ2_2 = Math.abs(lifter2.getActualLiftWeight(5));
                 compare = (attemptedCJ2_1.compareTo(attemptedCJ2_2));
                 if (compare != 0)
                     return compare;
@@ -518,8 +512,8 @@ public class AbstractLifterComparator {
             }
             if (currentTry >= 5) {
                 // smaller 1st attempt lifted first
-                Integer attemptedCJ1_1 = Math.abs(Lifter.zeroIfInvalid(lifter1.getCleanJerk1ActualLift()));
-                Integer attemptedCJ1_2 = Math.abs(Lifter.zeroIfInvalid(lifter2.getCleanJerk1ActualLift()));
+                Integer attemptedCJ1_1 = Math.abs(lifter1.getActualLiftWeight(4));
+                Integer attemptedCJ1_2 = Math.abs(lifter2.getActualLiftWeight(4));
                 compare = attemptedCJ1_1.compareTo(attemptedCJ1_2);
                 if (compare != 0)
                     return compare;
@@ -530,8 +524,8 @@ public class AbstractLifterComparator {
             // snatch
             if (currentTry == 3) {
                 // smaller 2nd attempt lifted first
-                Integer attemptedSn2_1 = Math.abs(Lifter.zeroIfInvalid(lifter1.getSnatch2ActualLift()));
-                Integer attemptedSn2_2 = Math.abs(Lifter.zeroIfInvalid(lifter2.getSnatch2ActualLift()));
+                Integer attemptedSn2_1 = Math.abs(lifter1.getActualLiftWeight(2));
+                Integer attemptedSn2_2 = Math.abs(lifter2.getActualLiftWeight(2));
                 compare = (attemptedSn2_1.compareTo(attemptedSn2_2));
                 if (compare != 0)
                     return compare;
@@ -539,8 +533,8 @@ public class AbstractLifterComparator {
             }
             if (currentTry >= 2) {
                 // smaller 1st attempt lifted first
-                Integer attemptedSn1_1 = Math.abs(Lifter.zeroIfInvalid(lifter1.getSnatch1ActualLift()));
-                Integer attemptedSn1_2 = Math.abs(Lifter.zeroIfInvalid(lifter2.getSnatch1ActualLift()));
+                Integer attemptedSn1_1 = Math.abs(lifter1.getActualLiftWeight(1));
+                Integer attemptedSn1_2 = Math.abs(lifter2.getActualLiftWeight(1));
                 compare = attemptedSn1_1.compareTo(attemptedSn1_2);
                 if (compare != 0)
                     return compare;
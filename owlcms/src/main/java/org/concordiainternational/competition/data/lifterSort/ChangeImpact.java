@@ -0,0 +1,77 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.data.lifterSort;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.concordiainternational.competition.data.Lifter;
+
+/**
+ * What must be recomputed when properties of a lifter change, from cheapest to most expensive.
+ * <p>
+ * The properties are those named in {@link Lifter.UpdateEvent#getPropertyIds()}. Only the properties known not to take part in any of
+ * the orders kept for a session (lifting, display, lift time and result order) are listed here; anything else, including properties
+ * added later, is assumed to change the order.
+ * </p>
+ *
+ * @author jflamy
+ */
+public enum ChangeImpact {
+    /** the lists are unchanged, the screens only need to be repainted. */
+    DISPLAY,
+    /** the lists are unchanged, but the ranks and points must be assigned again. */
+    RANKING,
+    /** the lists must be sorted again. */
+    ORDERING;
+
+    /** not properties, but flags added to the event. */
+    private static final Set<String> FLAGS = new HashSet<String>(Arrays.asList("automatic")); //$NON-NLS-1$
+
+    private static final Set<String> DISPLAY_PROPERTIES = new HashSet<String>(Arrays.asList(
+            "club", "qualifyingTotal", "customScore")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+    /** used to decide whether a lifter is invited (not ranked) or not. */
+    private static final Set<String> RANKING_PROPERTIES = new HashSet<String>(Arrays.asList(
+            "membership", "teamMember")); //$NON-NLS-1$ //$NON-NLS-2$
+
+    /**
+     * @param propertyId
+     * @return the impact of a change to the property.
+     */
+    public static ChangeImpact of(String propertyId) {
+        if (DISPLAY_PROPERTIES.contains(propertyId) || FLAGS.contains(propertyId)) {
+            return DISPLAY;
+        } else if (RANKING_PROPERTIES.contains(propertyId)) {
+            return RANKING;
+        } else {
+            return ORDERING;
+        }
+    }
+
+    /**
+     * @param propertyIds
+     * @return the most expensive impact among the properties; ORDERING if the properties are not known.
+     */
+    public static ChangeImpact of(Collection<String> propertyIds) {
+        if (propertyIds == null || propertyIds.isEmpty()) {
+            return ORDERING;
+        }
+        ChangeImpact impact = DISPLAY;
+        for (String propertyId : propertyIds) {
+            final ChangeImpact curImpact = of(propertyId);
+            if (curImpact.compareTo(impact) > 0) {
+                impact = curImpact;
+            }
+        }
+        return impact;
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.data.lifterSort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.data.lifterSort.LifterSorter.Ranking;
+
+/**
+ * Keep already sorted lists of lifters up to date when a single lifter changes.
+ * <p>
+ * The list is assumed to be the result of a previous sort with the same comparator, and only the changed lifter is moved to its new
+ * position using a binary search. The result is the same as the stable sort done by {@link LifterSorter}: among lifters that compare as
+ * equal, the changed lifter keeps its previous relative position.
+ * </p>
+ * <p>
+ * If any other lifter has changed in a way that affects the ordering, a full sort with {@link LifterSorter} is required instead.
+ * </p>
+ *
+ * @author jflamy
+ */
+public class IncrementalLifterSorter {
+
+    /**
+     * Update a list sorted in lifting order (in place) after a change to one lifter.
+     *
+     * @see LifterSorter#liftingOrder(List)
+     * @return false if the lifter is not in the list (the list is left unchanged).
+     */
+    static public boolean liftingOrder(List<Lifter> sorted, Lifter changed) {
+        if (reposition(sorted, changed, new LiftOrderComparator()) < 0)
+            return false;
+        int liftOrder = 1;
+        for (Lifter curLifter : sorted) {
+            curLifter.setLiftOrderRank(liftOrder++);
+        }
+        return true;
+    }
+
+    /**
+     * Update a list sorted in display order after a change to one lifter, creating a new list.
+     *
+     * @see LifterSorter#displayOrderCopy(List)
+     * @return lifters, ordered according to their standard order, or null if the lifter is not in the list.
+     */
+    static public List<Lifter> displayOrderCopy(List<Lifter> sorted, Lifter changed) {
+        return repositionCopy(sorted, changed, new DisplayOrderComparator());
+    }
+
+    /**
+     * Update a list sorted according to who lifted last after a change to one lifter, creating a new list.
+     *
+     * @see LifterSorter#LiftTimeOrderCopy(List)
+     * @return lifters, ordered according to who lifted last, or null if the lifter is not in the list.
+     */
+    static public List<Lifter> liftTimeOrderCopy(List<Lifter> sorted, Lifter changed) {
+        return repositionCopy(sorted, changed, new LiftTimeStampComparator());
+    }
+
+    /**
+     * Update a list sorted in winning order after a change to one lifter, creating a new list.
+     *
+     * @see LifterSorter#resultsOrderCopy(List, Ranking)
+     * @return lifters, ordered according to their category and rank, or null if the lifter is not in the list.
+     */
+    static public List<Lifter> resultsOrderCopy(List<Lifter> sorted, Lifter changed, Ranking rankingType) {
+        List<Lifter> resorted = repositionCopy(sorted, changed, new WinningOrderComparator(rankingType));
+        if (resorted == null)
+            return null;
+        LifterSorter.assignResultOrderRanks(resorted, rankingType);
+        return resorted;
+    }
+
+    /**
+     * Move the changed lifter to its new position, creating a new list. The list given as parameter is not modified, so that readers
+     * still iterating over it are not disturbed.
+     *
+     * @return the new list, or null if the lifter is not in the list.
+     */
+    static public List<Lifter> repositionCopy(List<Lifter> sorted, Lifter changed, Comparator<Lifter> comparator) {
+        List<Lifter> resorted = new ArrayList<Lifter>(sorted);
+        if (reposition(resorted, changed, comparator) < 0)
+            return null;
+        return resorted;
+    }
+
+    /**
+     * Move the changed lifter to its new position (in place).
+     *
+     * @param sorted
+     *            list sorted according to comparator, except for the changed lifter.
+     * @param changed
+     *            the lifter whose values have changed.
+     * @param comparator
+     *            the comparator used to sort the list in the first place.
+     * @return the new index of the lifter, -1 if the lifter is not in the list.
+     */
+    static public int reposition(List<Lifter> sorted, Lifter changed, Comparator<Lifter> comparator) {
+        // the same lifter can appear as two occurrences that are equal but not ==, so we look for identity.
+        int from = -1;
+        int index = 0;
+        for (Lifter curLifter : sorted) {
+            if (curLifter == changed) {
+                from = index;
+                break;
+            }
+            index++;
+        }
+        if (from < 0)
+            return -1;
+        sorted.remove(from);
+
+        // range [low, high[ of the lifters that compare as equal to the changed lifter.
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(sorted.get(mid), changed) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int lowerBound = low;
+        high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(sorted.get(mid), changed) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int upperBound = low;
+
+        // stable sort: ties keep their previous relative order.
+        int to = Math.max(lowerBound, Math.min(from, upperBound));
+        sorted.add(to, changed);
+        return to;
+    }
+
+}
@@ -11,45 +11,23 @@ import java.util.Comparator;
 
 import org.concordiainternational.competition.data.Lifter;
 
+/**
+ * Official lifting order. The values used are extracted once per lifter in a {@link LiftOrderKey}, so a new comparator must be used for
+ * each sort.
+ * <p>
+ * Order is: forced as current, lifters done lifting last (by decreasing total), snatch before clean and jerk, requested weight, attempt
+ * number, smaller previous attempts, start number.
+ * </p>
+ *
+ * @author jflamy
+ */
 public class LiftOrderComparator extends AbstractLifterComparator implements Comparator<Lifter> {
 
+    private final LiftOrderKey.Cache keys = new LiftOrderKey.Cache();
+
     @Override
     public int compare(Lifter lifter1, Lifter lifter2) {
-        int compare;
-
-        // a lifter that has the boolean flag "forceAsFirst" collates smallest
-        // by definition
-        compare = compareForcedAsFirst(lifter1, lifter2);
-        if (compare != 0)
-            return compare;
-
-        // lifters who are done lifting are shown at bottom, in reverse total
-        // number
-        compare = compareFinalResults(lifter1, lifter2);
-        if (compare != 0)
-            return compare;
-
-        compare = compareLiftType(lifter1, lifter2);
-        if (compare != 0)
-            return compare;
-
-        compare = compareRequestedWeight(lifter1, lifter2);
-        if (compare != 0)
-            return compare;
-
-        compare = compareAttemptsDone(lifter1, lifter2);
-        if (compare != 0)
-            return compare;
-
-        compare = compareProgression(lifter1, lifter2);
-        if (compare != 0)
-            return compare;
-
-        compare = compareStartNumber(lifter1, lifter2);
-        if (compare != 0)
-            return compare;
-
-        return compare;
+        return LiftOrderKey.compareLiftOrder(keys.get(lifter1), keys.get(lifter2));
     }
 
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.data.lifterSort;
+
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.concordiainternational.competition.data.Lifter;
+
+/**
+ * Snapshot of the values used to determine the lifting order.
+ * <p>
+ * Computing the requested weight, the number of attempts done or the time of the last lift requires parsing the attempt strings of the
+ * lifter. A sort compares each lifter O(log n) times, so the values are extracted once per lifter, and the comparisons are done on
+ * primitive values only. The key is not updated when the lifter changes; a new key must be computed for each sort.
+ * </p>
+ *
+ * @author jflamy
+ */
+public final class LiftOrderKey {
+
+    /** lifters with no declared weight go at the end. */
+    static final int NO_REQUESTED_WEIGHT = 999;
+
+    /** start numbers are optional, missing ones come first. */
+    static final int NO_START_NUMBER = Integer.MIN_VALUE;
+
+    final boolean forcedAsCurrent;
+    final int attemptsDone;
+    final int total;
+    final int requestedWeight;
+    final int previousAttempt;
+    final int secondPreviousAttempt;
+    final long lastLiftTime;
+    final int lotNumber;
+    final int startNumber;
+
+    public LiftOrderKey(Lifter lifter) {
+        forcedAsCurrent = lifter.getForcedAsCurrent();
+        attemptsDone = lifter.getAttemptsDone();
+        total = lifter.getTotal();
+
+        Integer requested = lifter.getNextAttemptRequestedWeight();
+        requestedWeight = (requested == null || requested == 0) ? NO_REQUESTED_WEIGHT : requested;
+
+        // attempts compared by AbstractLifterComparator#compareProgression, most recent first.
+        switch (attemptsDone + 1) {
+        case 2:
+            previousAttempt = Math.abs(lifter.getActualLiftWeight(1));
+            secondPreviousAttempt = 0;
+            break;
+        case 3:
+            previousAttempt = Math.abs(lifter.getActualLiftWeight(2));
+            secondPreviousAttempt = Math.abs(lifter.getActualLiftWeight(1));
+            break;
+        case 5:
+        case 7:
+            previousAttempt = Math.abs(lifter.getActualLiftWeight(4));
+            secondPreviousAttempt = 0;
+            break;
+        case 6:
+            previousAttempt = Math.abs(lifter.getActualLiftWeight(5));
+            secondPreviousAttempt = Math.abs(lifter.getActualLiftWeight(4));
+            break;
+        default:
+            previousAttempt = 0;
+            secondPreviousAttempt = 0;
+        }
+
+        Date lastLift = lifter.getLastLiftTime();
+        lastLiftTime = (lastLift == null ? 0L : lastLift.getTime());
+        lotNumber = lifter.getLotNumber();
+        Integer start = lifter.getStartNumber();
+        startNumber = (start == null ? NO_START_NUMBER : start);
+    }
+
+    /**
+     * Same ordering as {@link LiftOrderComparator}.
+     */
+    static int compareLiftOrder(LiftOrderKey key1, LiftOrderKey key2) {
+        int compare;
+
+        // a lifter that has the boolean flag "forceAsFirst" collates smallest
+        if (key1.forcedAsCurrent != key2.forcedAsCurrent)
+            return key1.forcedAsCurrent ? -1 : 1;
+
+        // lifters who are done lifting are shown at bottom, in reverse total
+        boolean done1 = key1.attemptsDone >= 6;
+        boolean done2 = key2.attemptsDone >= 6;
+        if (done1 != done2)
+            return done1 ? 1 : -1;
+        if (done1) {
+            compare = -compare(key1.total, key2.total);
+            if (compare != 0)
+                return compare;
+        }
+
+        // snatch comes before clean and jerk
+        boolean cleanJerk1 = key1.attemptsDone >= 3;
+        boolean cleanJerk2 = key2.attemptsDone >= 3;
+        if (cleanJerk1 != cleanJerk2)
+            return cleanJerk1 ? 1 : -1;
+
+        compare = compare(key1.requestedWeight, key2.requestedWeight);
+        if (compare != 0)
+            return compare;
+
+        compare = compare(key1.attemptsDone, key2.attemptsDone);
+        if (compare != 0)
+            return compare;
+
+        // smaller previous attempts lifted first
+        compare = compare(key1.previousAttempt, key2.previousAttempt);
+        if (compare != 0)
+            return compare;
+        compare = compare(key1.secondPreviousAttempt, key2.secondPreviousAttempt);
+        if (compare != 0)
+            return compare;
+
+        return compare(key1.startNumber, key2.startNumber);
+    }
+
+    /**
+     * Same ordering as {@link LiftTimeStampComparator}.
+     */
+    static int compareLiftTime(LiftOrderKey key1, LiftOrderKey key2) {
+        // most recent lift first
+        int compare = -compare(key1.lastLiftTime, key2.lastLiftTime);
+        if (compare != 0)
+            return compare;
+        return compare(key1.lotNumber, key2.lotNumber);
+    }
+
+    private static int compare(int x, int y) {
+        return (x < y) ? -1 : ((x == y) ? 0 : 1);
+    }
+
+    private static int compare(long x, long y) {
+        return (x < y) ? -1 : ((x == y) ? 0 : 1);
+    }
+
+    /**
+     * Keys computed during a single sort. Lifters are looked up by identity, since two distinct lifter objects can be equal.
+     */
+    static class Cache {
+        private final Map<Lifter, LiftOrderKey> keys = new IdentityHashMap<Lifter, LiftOrderKey>();
+
+        LiftOrderKey get(Lifter lifter) {
+            LiftOrderKey key = keys.get(lifter);
+            if (key == null) {
+                key = new LiftOrderKey(lifter);
+                keys.put(lifter, key);
+            }
+            return key;
+        }
+    }
+
+}
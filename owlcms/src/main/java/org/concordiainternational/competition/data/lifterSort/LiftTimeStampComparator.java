@@ -13,29 +13,22 @@ import org.concordiainternational.competition.data.Lifter;
 
 /**
  * This comparator is used to highlight the lifters that have lifted recently, and are likely to request changes to the automatic
- * progression. It simply sorts according to time stamp, if available. Else lot number is used.
+ * progression. It simply sorts according to time stamp, if available. Else lot number is used. The values are extracted once per lifter
+ * in a {@link LiftOrderKey}, so a new comparator must be used for each sort.
  * 
  * @author jflamy
  * 
  */
 public class LiftTimeStampComparator extends AbstractLifterComparator implements Comparator<Lifter> {
 
+    private final LiftOrderKey.Cache keys = new LiftOrderKey.Cache();
+
     public LiftTimeStampComparator() {
     }
 
     @Override
     public int compare(Lifter lifter1, Lifter lifter2) {
-        int compare = 0;
-
-        compare = comparePreviousLiftOrder(lifter1, lifter2);
-        if (compare != 0)
-            return -compare;
-
-        compare = compareLotNumber(lifter1, lifter2);
-        if (compare != 0)
-            return compare;
-
-        return compare;
+        return LiftOrderKey.compareLiftTime(keys.get(lifter1), keys.get(lifter2));
     }
 
 }
@@ -163,8 +163,30 @@ public class LifterSorter implements Serializable {
      */
     static public void resultsOrder(List<Lifter> toBeSorted, Ranking rankingType) {
         Collections.sort(toBeSorted, new WinningOrderComparator(rankingType));
+        assignResultOrderRanks(toBeSorted, rankingType);
+    }
+
+    /**
+     * Sort lifters according to winning order, creating a new list, without recording the result order rank in the lifters. Since the
+     * lifters are not modified, several rankings can be sorted concurrently.
+     * 
+     * @see #resultsOrderCopy(List, Ranking)
+     * @return lifters, ordered according to their category and totalRank order
+     */
+    static public List<Lifter> winningOrderCopy(List<Lifter> toBeSorted, Ranking rankingType) {
+        List<Lifter> sorted = new ArrayList<Lifter>(toBeSorted);
+        Collections.sort(sorted, new WinningOrderComparator(rankingType));
+        return sorted;
+    }
+
+    /**
+     * Record in each lifter its position in a list sorted according to winning order.
+     * 
+     * @param sortedList
+     */
+    static public void assignResultOrderRanks(List<Lifter> sortedList, Ranking rankingType) {
         int liftOrder = 1;
-        for (Lifter curLifter : toBeSorted) {
+        for (Lifter curLifter : sortedList) {
             curLifter.setResultOrderRank(liftOrder++, rankingType);
         }
     }
@@ -392,8 +414,23 @@ public class LifterSorter implements Serializable {
      * Assign ranks, sequentially.
      * 
      * @param sortedList
+     * @return the ranks and points that were copied into the lifters.
      */
-    public static void assignCategoryRanks(List<Lifter> sortedList, Ranking rankingType) {
+    public static RankingResult assignCategoryRanks(List<Lifter> sortedList, Ranking rankingType) {
+        final RankingResult result = computeCategoryRanks(sortedList, rankingType);
+        result.applyTo(sortedList);
+        return result;
+    }
+
+    /**
+     * Compute ranks, sequentially, without modifying the lifters.
+     * 
+     * @param sortedList
+     *            lifters sorted in winning order for the ranking type
+     * @return the ranks and points of each lifter
+     */
+    public static RankingResult computeCategoryRanks(List<Lifter> sortedList, Ranking rankingType) {
+        final RankingResult.Builder result = new RankingResult.Builder(rankingType, sortedList.size());
         Category prevCategory = null;
         Integer prevAgeGroup = null;
         Integer curAgeGroup = null;
@@ -429,39 +466,54 @@ public class LifterSorter implements Serializable {
             if (curLifter.isInvited() || !curLifter.getTeamMember()) {
                 logger.trace("not counted {}  {}Rank={} total={} {}",
                         new Object[] { curLifter, rankingType, -1, curLifter.getTotal(), curLifter.isInvited() }); //$NON-NLS-1$
-                setRank(curLifter, -1, rankingType);
-                setPoints(curLifter, 0, rankingType);
+                result.put(curLifter, -1, 0, null);
             } else {
                 // if (curLifter.getTeamMember()) {
                 // setTeamRank(curLifter, 0, rankingType);
                 // }
                 final double rankingTotal = getRankingTotal(curLifter, rankingType);
+                final int curRank;
                 if (rankingTotal > 0) {
-                    setRank(curLifter, rank, rankingType);
+                    curRank = rank;
                     logger.trace("lifter {}  {}rank={} total={}",
-                            new Object[] { curLifter, rankingType, getRank(curLifter, rankingType), rankingTotal }); //$NON-NLS-1$
+                            new Object[] { curLifter, rankingType, curRank, rankingTotal }); //$NON-NLS-1$
                     rank++;
                 } else {
+                    curRank = 0;
                     logger.trace("lifter {}  {}rank={} total={}",
                             new Object[] { curLifter, rankingType, 0, rankingTotal }); //$NON-NLS-1$
-                    setRank(curLifter, 0, rankingType);
                     rank++;
                 }
-                final float points = computePoints(curLifter, rankingType);
-                setPoints(curLifter, points, rankingType);
+                result.put(curLifter, curRank, computePoints(curLifter, curRank, rankingType), null);
 
             }
             prevCategory = curCategory;
             prevAgeGroup = curAgeGroup;
         }
+        return result.build();
     }
 
     /**
      * Assign ranks, sequentially.
      * 
      * @param sortedList
+     * @return the ranks and points that were copied into the lifters.
+     */
+    public RankingResult assignSinclairRanksAndPoints(List<Lifter> sortedList, Ranking rankingType) {
+        final RankingResult result = computeSinclairRanksAndPoints(sortedList, rankingType);
+        result.applyTo(sortedList);
+        return result;
+    }
+
+    /**
+     * Compute ranks, sequentially, without modifying the lifters.
+     * 
+     * @param sortedList
+     *            lifters sorted in winning order for the ranking type
+     * @return the ranks and points of each lifter
      */
-    public void assignSinclairRanksAndPoints(List<Lifter> sortedList, Ranking rankingType) {
+    public RankingResult computeSinclairRanksAndPoints(List<Lifter> sortedList, Ranking rankingType) {
+        final RankingResult.Builder result = new RankingResult.Builder(rankingType, sortedList.size());
         String prevGender = null;
         // String prevAgeGroup = null;
         int rank = 1;
@@ -478,27 +530,29 @@ public class LifterSorter implements Serializable {
             if (curLifter.isInvited() || !curLifter.getTeamMember()) {
                 logger.trace("invited {}  {}rank={} total={} {}",
                         new Object[] { curLifter, rankingType, -1, curLifter.getTotal(), curLifter.isInvited() }); //$NON-NLS-1$
-                setRank(curLifter, -1, rankingType);
-                setPoints(curLifter, 0, rankingType);
+                result.put(curLifter, -1, 0, null);
             } else {
-                setTeamRank(curLifter, 0, rankingType);
                 final double rankingTotal = getRankingTotal(curLifter, rankingType);
+                final int curRank;
                 if (rankingTotal > 0) {
-                    setRank(curLifter, rank, rankingType);
+                    curRank = rank;
                     logger.trace("lifter {}  {}rank={} {}={} total={}",
                             new Object[] { curLifter, rankingType, rank, rankingTotal }); //$NON-NLS-1$
                     rank++;
                 } else {
+                    curRank = 0;
                     logger.trace("lifter {}  {}rank={} total={}",
                             new Object[] { curLifter, rankingType, 0, rankingTotal }); //$NON-NLS-1$
-                    setRank(curLifter, 0, rankingType);
                     rank++;
                 }
-                final float points = computePoints(curLifter, rankingType);
-                setPoints(curLifter, points, rankingType);
+                result.put(curLifter, curRank, computePoints(curLifter, curRank, rankingType), 0);
             }
             prevGender = curGender;
         }
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} ranking done, derived score hit ratio {}", rankingType, Lifter.getDerivedScoreHitRatio(sortedList)); //$NON-NLS-1$
+        }
+        return result.build();
     }
 
     /**
@@ -565,7 +619,7 @@ public class LifterSorter implements Serializable {
      * @param points
      * @param rankingType
      */
-    private static void setPoints(Lifter curLifter, float points, Ranking rankingType) {
+    static void setPoints(Lifter curLifter, float points, Ranking rankingType) {
         logger.trace(curLifter + " " + rankingType + " points=" + points);
         switch (rankingType) {
         case SNATCH:
@@ -608,6 +662,27 @@ public class LifterSorter implements Serializable {
         return 0;
     }
 
+    /**
+     * Points for a rank that has not yet been copied into the lifter.
+     * 
+     * @param curLifter
+     * @param rank
+     * @param rankingType
+     * @return
+     */
+    private static float computePoints(Lifter curLifter, int rank, Ranking rankingType) {
+        switch (rankingType) {
+        case SNATCH:
+        case CLEANJERK:
+        case TOTAL:
+        case CUSTOM:
+            return pointsFormula(rank, curLifter);
+        case COMBINED:
+            return computePoints(curLifter, rankingType);
+        }
+        return 0;
+    }
+
     /**
      * @param rank
      * @param curLifter
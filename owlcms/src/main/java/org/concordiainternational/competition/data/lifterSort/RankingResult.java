@@ -0,0 +1,171 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.data.lifterSort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.data.lifterSort.LifterSorter.Ranking;
+
+/**
+ * Ranks and points obtained by each lifter for one type of ranking.
+ * <p>
+ * The result is computed without modifying the lifters, so it can be computed on any thread while the same lifters are being sorted or
+ * displayed elsewhere, and published by swapping a reference. The values are only copied into the lifters (for the displays and
+ * spreadsheets that read them there) when {@link #applyTo(List)} is called.
+ * </p>
+ * <p>
+ * Lifters are looked up by database id; lifters that have not been saved yet are looked up by identity.
+ * </p>
+ *
+ * @author jflamy
+ */
+public final class RankingResult {
+
+    /**
+     * Values for one lifter.
+     */
+    public static final class Entry {
+        private final int rank;
+        private final float points;
+        private final Integer teamRank;
+
+        Entry(int rank, float points, Integer teamRank) {
+            this.rank = rank;
+            this.points = points;
+            this.teamRank = teamRank;
+        }
+
+        /**
+         * @return rank within the category (or gender for Sinclair), 0 if no result, -1 if the lifter is not ranked.
+         */
+        public int getRank() {
+            return rank;
+        }
+
+        /**
+         * @return the team points earned with the rank.
+         */
+        public float getPoints() {
+            return points;
+        }
+
+        /**
+         * @return the rank within the team, null if the ranking does not assign one.
+         */
+        public Integer getTeamRank() {
+            return teamRank;
+        }
+    }
+
+    private final Ranking rankingType;
+    private final List<Lifter> sortedLifters;
+    private final Map<Long, Entry> byId;
+    private final Map<Lifter, Entry> unsaved;
+
+    private RankingResult(Ranking rankingType, List<Lifter> sortedLifters, Map<Long, Entry> byId, Map<Lifter, Entry> unsaved) {
+        this.rankingType = rankingType;
+        this.sortedLifters = sortedLifters;
+        this.byId = byId;
+        this.unsaved = unsaved;
+    }
+
+    public Ranking getRankingType() {
+        return rankingType;
+    }
+
+    /**
+     * @return the lifters in the order used to compute the ranks (read-only).
+     */
+    public List<Lifter> getSortedLifters() {
+        return sortedLifters;
+    }
+
+    /**
+     * @return the values for the lifter, null if the lifter was not part of the ranking.
+     */
+    public Entry get(Lifter lifter) {
+        final Long id = lifter.getId();
+        if (id != null) {
+            return byId.get(id);
+        }
+        return unsaved.get(lifter);
+    }
+
+    /**
+     * @return the rank of the lifter, null if the lifter was not part of the ranking.
+     */
+    public Integer getRank(Lifter lifter) {
+        final Entry entry = get(lifter);
+        return (entry != null ? entry.getRank() : null);
+    }
+
+    /**
+     * @return the points of the lifter, null if the lifter was not part of the ranking.
+     */
+    public Float getPoints(Lifter lifter) {
+        final Entry entry = get(lifter);
+        return (entry != null ? entry.getPoints() : null);
+    }
+
+    /**
+     * Copy the ranks and points into the lifters, for the screens and spreadsheets that read them from the lifters. Must be done on the
+     * thread that owns the lifters.
+     *
+     * @param lifters
+     */
+    public void applyTo(List<Lifter> lifters) {
+        for (Lifter curLifter : lifters) {
+            final Entry entry = get(curLifter);
+            if (entry == null)
+                continue;
+            LifterSorter.setRank(curLifter, entry.rank, rankingType);
+            LifterSorter.setPoints(curLifter, entry.points, rankingType);
+            if (entry.teamRank != null) {
+                LifterSorter.setTeamRank(curLifter, entry.teamRank, rankingType);
+            }
+        }
+    }
+
+    /**
+     * Accumulates the entries, in ranking order.
+     */
+    static final class Builder {
+        private final Ranking rankingType;
+        private final List<Lifter> sortedLifters;
+        private final Map<Long, Entry> byId;
+        private final Map<Lifter, Entry> unsaved = new IdentityHashMap<Lifter, Entry>();
+
+        Builder(Ranking rankingType, int size) {
+            this.rankingType = rankingType;
+            this.sortedLifters = new ArrayList<Lifter>(size);
+            this.byId = new HashMap<Long, Entry>((int) (size * 1.4) + 1);
+        }
+
+        void put(Lifter lifter, int rank, float points, Integer teamRank) {
+            final Entry entry = new Entry(rank, points, teamRank);
+            sortedLifters.add(lifter);
+            final Long id = lifter.getId();
+            if (id != null) {
+                byId.put(id, entry);
+            } else {
+                unsaved.put(lifter, entry);
+            }
+        }
+
+        RankingResult build() {
+            return new RankingResult(rankingType, Collections.unmodifiableList(sortedLifters), byId, unsaved);
+        }
+    }
+
+}
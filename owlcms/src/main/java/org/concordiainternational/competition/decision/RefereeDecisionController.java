@@ -19,6 +19,7 @@ import org.concordiainternational.competition.ui.CompetitionApplication;
 import org.concordiainternational.competition.ui.InteractionNotificationReason;
 import org.concordiainternational.competition.ui.SessionData;
 import org.concordiainternational.competition.utils.EventHelper;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +48,7 @@ public class RefereeDecisionController implements CountdownTimerListener, IDecis
     //    private static final Logger timingLogger = LoggerFactory.getLogger("timing."+SessionData.class.getSimpleName()); //$NON-NLS-1$
     //    private static final Logger buttonLogger = LoggerFactory.getLogger("buttons."+SessionData.class.getSimpleName()); //$NON-NLS-1$
     private static Logger listenerLogger = LoggerFactory.getLogger("listeners." + SessionData.class.getSimpleName()); //$NON-NLS-1$
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(RefereeDecisionController.class);
 
     Decision[] refereeDecisions = new Decision[3];
     DecisionEventListener[] listeners = new DecisionEventListener[3];
@@ -172,7 +174,7 @@ public class RefereeDecisionController implements CountdownTimerListener, IDecis
             if (pros >= 2 || cons >= 2) {
                 synchronized (groupData.getTimer()) {
                     if (!downSignaled) {
-                        new Thread(new Runnable() {
+                        updates.execute(new Runnable() {
                             @Override
                             public void run() {
                                 if (downSignal != null) {
@@ -180,7 +182,7 @@ public class RefereeDecisionController implements CountdownTimerListener, IDecis
                                 }
                                 groupData.downSignal();
                             }
-                        }).start();
+                        });
                         downSignaled = true;
                         fireEvent(new DecisionEvent(this,
                                 DecisionEvent.Type.DOWN, currentTimeMillis,
@@ -18,6 +18,7 @@ import org.concordiainternational.competition.ui.CompetitionApplicationComponent
 import org.concordiainternational.competition.ui.SessionData;
 import org.concordiainternational.competition.ui.components.ApplicationView;
 import org.concordiainternational.competition.utils.LoggerUtils;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vaadin.touchdiv.TouchDiv;
@@ -54,6 +55,7 @@ public class MJuryConsole extends VerticalLayout implements DecisionEventListene
     private CompetitionApplication app = CompetitionApplication.getCurrent();
 
     private Logger logger = LoggerFactory.getLogger(MJuryConsole.class);
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(MJuryConsole.class);
 
     private Integer juryIndex = null;
 
@@ -131,13 +133,13 @@ public class MJuryConsole extends VerticalLayout implements DecisionEventListene
 
             @Override
             public void onTouch(TouchEvent event) {
-                new Thread(new Runnable() {
+                updates.execute(new Runnable() {
                     @Override
                     public void run() {
                         LoggerUtils.mdcPut(LoggerUtils.LoggingKeys.view, getLoggingId());
                         decisionController.decisionMade(juryIndex, false);
                     }
-                }).start();
+                });
                 redSelected();
             }
         });
@@ -150,13 +152,13 @@ public class MJuryConsole extends VerticalLayout implements DecisionEventListene
 
             @Override
             public void onTouch(TouchEvent event) {
-                new Thread(new Runnable() {
+                updates.execute(new Runnable() {
                     @Override
                     public void run() {
                         LoggerUtils.mdcPut(LoggerUtils.LoggingKeys.view, getLoggingId());
                         decisionController.decisionMade(juryIndex, true);
                     }
-                }).start();
+                });
                 whiteSelected();
             }
         });
@@ -234,7 +236,7 @@ public class MJuryConsole extends VerticalLayout implements DecisionEventListene
      */
     @Override
     public void updateEvent(final DecisionEvent updateEvent) {
-        new Thread(new Runnable() {
+        updates.execute(new Runnable() {
             @Override
             public void run() {
                 synchronized (app) {
@@ -279,7 +281,7 @@ public class MJuryConsole extends VerticalLayout implements DecisionEventListene
                 }
                 app.push();
             }
-        }).start();
+        });
     }
 
     /**
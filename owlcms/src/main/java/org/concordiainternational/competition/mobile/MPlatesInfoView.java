@@ -7,9 +7,8 @@
  */
 package org.concordiainternational.competition.mobile;
 
-import org.concordiainternational.competition.data.Lifter;
-import org.concordiainternational.competition.data.Platform;
 import org.concordiainternational.competition.i18n.Messages;
+import org.concordiainternational.competition.ui.AttemptBoardModel;
 import org.concordiainternational.competition.ui.CompetitionApplication;
 import org.concordiainternational.competition.ui.CompetitionApplicationComponents;
 import org.concordiainternational.competition.ui.LoadImage;
@@ -89,8 +88,6 @@ public class MPlatesInfoView extends VerticalLayout implements
                 if (menuComponent != null)
                     menuComponent.setVisible(false);
             }
-            Platform.getByName(platformName);
-
             this.setSizeFull();
             this.setSpacing(true);
             // horLayout = new HorizontalLayout();
@@ -122,22 +119,22 @@ public class MPlatesInfoView extends VerticalLayout implements
      */
     private void doDisplay() {
         synchronized (app) {
-            Platform.getByName(platformName);
-            Lifter currentLifter = masterData.getCurrentLifter();
+            // same model as the attempt boards; plates already solved.
+            final AttemptBoardModel model = masterData.getAttemptBoardModel();
             Integer nextAttemptRequestedWeight = 0;
-            if (currentLifter != null)
-                nextAttemptRequestedWeight = currentLifter.getNextAttemptRequestedWeight();
-            boolean done = (currentLifter != null && currentLifter.getAttemptsDone() >= 6) || nextAttemptRequestedWeight == 0;
+            if (model.hasLifter())
+                nextAttemptRequestedWeight = model.getRequestedWeight();
+            boolean done = (model.hasLifter() && model.isDone()) || nextAttemptRequestedWeight == 0;
 
             plates.setVisible(false);
-            if (!done || ie) {
-                // logger.debug("recomputing image area: pusherDisabled = {}",app.getPusherDisabled());
-                plates.computeImageArea(masterData, masterData.getPlatform(), true);
+            if (model.hasLifter() && (!done || ie)) {
+                // logger.debug("showing image area: pusherDisabled = {}",app.getPusherDisabled());
+                plates.showPlates(model.getPlates(), nextAttemptRequestedWeight + "kg");
                 plates.setVisible(true);
                 // horLayout.setComponentAlignment(plates, Alignment.MIDDLE_CENTER);
                 // horLayout.setExpandRatio(plates, 80);
             }
-            if (currentLifter == null) {
+            if (!model.hasLifter()) {
                 plates.setVisible(true);
                 plates.removeAllComponents();
                 plates.setCaption(Messages.getString("PlatesInfo.waiting", app.getLocale())); //$NON-NLS-1$
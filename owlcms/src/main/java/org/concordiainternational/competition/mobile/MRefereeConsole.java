@@ -18,6 +18,7 @@ import org.concordiainternational.competition.ui.CompetitionApplicationComponent
 import org.concordiainternational.competition.ui.SessionData;
 import org.concordiainternational.competition.ui.components.ApplicationView;
 import org.concordiainternational.competition.utils.LoggerUtils;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vaadin.touchdiv.TouchDiv;
@@ -54,6 +55,7 @@ public class MRefereeConsole extends VerticalLayout implements DecisionEventList
     private CompetitionApplication app = CompetitionApplication.getCurrent();
 
     private Logger logger = LoggerFactory.getLogger(MRefereeConsole.class);
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(MRefereeConsole.class);
 
     private Integer refereeIndex = null;
 
@@ -144,12 +146,12 @@ public class MRefereeConsole extends VerticalLayout implements DecisionEventList
             @Override
             public void onTouch(TouchEvent event) {
                 redSelected();
-                new Thread(new Runnable() {
+                updates.execute(new Runnable() {
                     @Override
                     public void run() {
                         decisionController.decisionMade(refereeIndex, false);
                     }
-                }).start();
+                });
             }
         });
 
@@ -162,13 +164,13 @@ public class MRefereeConsole extends VerticalLayout implements DecisionEventList
             @Override
             public void onTouch(TouchEvent event) {
                 whiteSelected();
-                new Thread(new Runnable() {
+                updates.execute(new Runnable() {
                     @Override
                     public void run() {
                         decisionController
                                 .decisionMade(refereeIndex, true);
                     }
-                }).start();
+                });
             }
         });
 
@@ -252,7 +254,7 @@ public class MRefereeConsole extends VerticalLayout implements DecisionEventList
      */
     @Override
     public void updateEvent(final DecisionEvent updateEvent) {
-        new Thread(new Runnable() {
+        updates.execute(new Runnable() {
             @Override
             public void run() {
                 synchronized (app) {
@@ -293,7 +295,7 @@ public class MRefereeConsole extends VerticalLayout implements DecisionEventList
                 }
                 app.push();
             }
-        }).start();
+        });
     }
 
     /**
@@ -332,7 +334,7 @@ public class MRefereeConsole extends VerticalLayout implements DecisionEventList
     }
 
     private void reset() {
-        new Thread(new Runnable() {
+        updates.execute(new Runnable() {
             @Override
             public void run() {
                 top.removeAllComponents();
@@ -341,7 +343,7 @@ public class MRefereeConsole extends VerticalLayout implements DecisionEventList
                 init();
                 requestRepaintAll();
             }
-        }).start();
+        });
     }
 
     // /**
@@ -21,6 +21,7 @@ import org.concordiainternational.competition.ui.SessionData.UpdateEventListener
 import org.concordiainternational.competition.ui.components.ApplicationView;
 import org.concordiainternational.competition.ui.generators.TimeFormatter;
 import org.concordiainternational.competition.utils.LoggerUtils;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vaadin.touchdiv.TouchDiv;
@@ -56,6 +57,7 @@ public class MTimekeeperConsole extends VerticalLayout implements
     private CompetitionApplication app = CompetitionApplication.getCurrent();
 
     private Logger logger = LoggerFactory.getLogger(MTimekeeperConsole.class);
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(MTimekeeperConsole.class);
 
     private Label timerDisplay;
 
@@ -177,12 +179,12 @@ public class MTimekeeperConsole extends VerticalLayout implements
             @Override
             public void onTouch(TouchEvent event) {
                 // startSelected();
-                new Thread(new Runnable() {
+                updates.execute(new Runnable() {
                     @Override
                     public void run() {
                         startDoIt();
                     }
-                }).start();
+                });
             }
         });
 
@@ -197,12 +199,12 @@ public class MTimekeeperConsole extends VerticalLayout implements
             @Override
             public void onTouch(TouchEvent event) {
                 // stopSelected();
-                new Thread(new Runnable() {
+                updates.execute(new Runnable() {
                     @Override
                     public void run() {
                         stopDoIt();
                     }
-                }).start();
+                });
             }
         });
 
@@ -216,12 +218,12 @@ public class MTimekeeperConsole extends VerticalLayout implements
             @Override
             public void onTouch(TouchEvent event) {
                 // stopSelected();
-                new Thread(new Runnable() {
+                updates.execute(new Runnable() {
                     @Override
                     public void run() {
                         oneMinuteDoIt();
                     }
-                }).start();
+                });
             }
         });
 
@@ -235,12 +237,12 @@ public class MTimekeeperConsole extends VerticalLayout implements
             @Override
             public void onTouch(TouchEvent event) {
                 // stopSelected();
-                new Thread(new Runnable() {
+                updates.execute(new Runnable() {
                     @Override
                     public void run() {
                         twoMinutesDoIt();
                     }
-                }).start();
+                });
             }
         });
 
@@ -406,7 +408,7 @@ public class MTimekeeperConsole extends VerticalLayout implements
 
             @Override
             public void updateEvent(final UpdateEvent updateEvent) {
-                new Thread(new Runnable() {
+                updates.execute(new Runnable() {
                     @Override
                     public void run() {
                         synchronized (app) {
@@ -423,7 +425,7 @@ public class MTimekeeperConsole extends VerticalLayout implements
                         }
                         app.push();
                     }
-                }).start();
+                });
             }
 
         };
@@ -18,6 +18,7 @@ import org.concordiainternational.competition.ui.CompetitionApplicationComponent
 import org.concordiainternational.competition.ui.SessionData;
 import org.concordiainternational.competition.ui.components.ApplicationView;
 import org.concordiainternational.competition.utils.LoggerUtils;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +45,7 @@ public class RefereeDecisions extends VerticalLayout implements DecisionEventLis
     CompetitionApplication app = CompetitionApplication.getCurrent();
 
     private Logger logger = LoggerFactory.getLogger(RefereeDecisions.class);
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(RefereeDecisions.class);
 
     private String platformName;
     private String viewName;
@@ -137,7 +139,7 @@ public class RefereeDecisions extends VerticalLayout implements DecisionEventLis
 
     @Override
     public void updateEvent(final DecisionEvent updateEvent) {
-        new Thread(new Runnable() {
+        updates.execute(new Runnable() {
 
             @Override
             public void run() {
@@ -169,9 +171,9 @@ public class RefereeDecisions extends VerticalLayout implements DecisionEventLis
                         break;
                     }
                 }
-                app.push();
+                app.pushNow();
             }
-        }).start();
+        });
     }
 
     /**
@@ -209,7 +211,7 @@ public class RefereeDecisions extends VerticalLayout implements DecisionEventLis
             }
             shown = false;
         }
-        app.push();
+        app.pushNow();
     }
 
     @Override
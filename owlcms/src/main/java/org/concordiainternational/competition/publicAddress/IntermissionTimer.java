@@ -9,8 +9,8 @@ package org.concordiainternational.competition.publicAddress;
 
 import java.io.Serializable;
 import java.util.Date;
-import java.util.Timer;
 
+import org.concordiainternational.competition.timer.ClockScheduler;
 import org.concordiainternational.competition.ui.SessionData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,7 +30,7 @@ public class IntermissionTimer implements Serializable {
     final private static int DECREMENT = 1000; // milliseconds
     private int requestedSeconds;
     private int remainingSeconds;
-    Timer timer = null;
+    transient ClockScheduler.Clock timer = null;
     private PublicAddressCountdownTask countdownTask;
 
     private SessionData masterData;
@@ -60,10 +60,8 @@ public class IntermissionTimer implements Serializable {
             return;
         }
         remainingSeconds = requestedSeconds;
-        timer = new Timer();
-        countdownTask = new PublicAddressCountdownTask(timer, requestedSeconds * 1000, DECREMENT, masterData);
-        timer.scheduleAtFixedRate(countdownTask, 0, // start right away
-                DECREMENT);
+        countdownTask = new PublicAddressCountdownTask(requestedSeconds * 1000, DECREMENT, masterData);
+        timer = ClockScheduler.scheduleAtFixedRate(countdownTask, DECREMENT); // start right away
     }
 
     /**
@@ -95,10 +93,8 @@ public class IntermissionTimer implements Serializable {
             return;
         }
 
-        timer = new Timer();
-        countdownTask = new PublicAddressCountdownTask(timer, remainingSeconds * 1000, DECREMENT, masterData);
-        timer.scheduleAtFixedRate(countdownTask, 0, // start right away
-                DECREMENT);
+        countdownTask = new PublicAddressCountdownTask(remainingSeconds * 1000, DECREMENT, masterData);
+        timer = ClockScheduler.scheduleAtFixedRate(countdownTask, DECREMENT); // start right away
 
     }
 
@@ -8,9 +8,8 @@
 package org.concordiainternational.competition.publicAddress;
 
 import java.io.Serializable;
-import java.util.Timer;
-import java.util.TimerTask;
 
+import org.concordiainternational.competition.timer.ClockTask;
 import org.concordiainternational.competition.ui.SessionData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,13 +20,12 @@ import org.slf4j.LoggerFactory;
  * 
  */
 @SuppressWarnings("serial")
-class PublicAddressCountdownTask extends TimerTask implements Serializable {
+class PublicAddressCountdownTask extends ClockTask implements Serializable {
 
     final private static Logger logger = LoggerFactory.getLogger(PublicAddressCountdownTask.class);
 
-    private final Timer countdownTimer;
     int ticks;
-    long startMillis = System.currentTimeMillis();
+    private final int initialTicks;
 
     private int decrement; // milliseconds
 
@@ -40,14 +38,14 @@ class PublicAddressCountdownTask extends TimerTask implements Serializable {
 
     private IntermissionTimerEvent timerEvent;
 
-    PublicAddressCountdownTask(Timer countdownTimer, int countdownFrom, int decrement, SessionData masterData) {
+    PublicAddressCountdownTask(int countdownFrom, int decrement, SessionData masterData) {
         this.masterData = masterData;
         this.startTime = countdownFrom;
-        this.countdownTimer = countdownTimer;
         this.timerEvent = new IntermissionTimerEvent();
 
         // round up to decrement interval (1000ms)
-        this.ticks = roundUpCountdown(countdownFrom, decrement);
+        this.initialTicks = roundUpCountdown(countdownFrom, decrement);
+        this.ticks = initialTicks;
         this.decrement = decrement;
 
         this.noTimeLeftTicks = 0;
@@ -81,7 +79,7 @@ class PublicAddressCountdownTask extends TimerTask implements Serializable {
      * @return best available estimation of the time elapsed.
      */
     long getBestTimeRemaining() {
-        return startTime - (System.currentTimeMillis() - startMillis);
+        return startTime - getElapsedMillis();
     }
 
     /**
@@ -98,6 +96,9 @@ class PublicAddressCountdownTask extends TimerTask implements Serializable {
      */
     @Override
     public void run() {
+        // count the ticks from the elapsed time, so that late or skipped ticks do not slow down the countdown.
+        ticks = initialTicks - (int) Math.round((double) getElapsedMillis() / decrement) * decrement;
+
         if (ticks <= noTimeLeftTicks && !getNoTimeLeftSignaled()) {
             normalTick();
             noTimeLeft();
@@ -107,20 +108,18 @@ class PublicAddressCountdownTask extends TimerTask implements Serializable {
         }
 
         if (ticks <= 0) {
-            countdownTimer.cancel();
-        } else {
-            ticks = ticks - decrement;
+            cancel();
         }
     }
 
     private void normalTick() {
-        logger.trace("normalTick: " + ticks / 1000 + " " + (System.currentTimeMillis() - startMillis)); //$NON-NLS-1$ //$NON-NLS-2$
+        logger.trace("normalTick: " + ticks / 1000 + " " + getElapsedMillis()); //$NON-NLS-1$ //$NON-NLS-2$
         timerEvent.setRemainingMilliseconds(ticks);
         masterData.fireBlackBoardEvent(timerEvent);
     }
 
     private void noTimeLeft() {
-        logger.trace("time over: " + ticks / 1000 + " " + (System.currentTimeMillis() - startMillis)); //$NON-NLS-1$ //$NON-NLS-2$
+        logger.trace("time over: " + ticks / 1000 + " " + getElapsedMillis()); //$NON-NLS-1$ //$NON-NLS-2$
         timerEvent.setNoTimeLeft(true);
         masterData.fireBlackBoardEvent(timerEvent);
     }
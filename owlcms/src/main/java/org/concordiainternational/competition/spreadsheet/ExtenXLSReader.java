@@ -18,6 +18,7 @@ import org.concordiainternational.competition.data.Category;
 import org.concordiainternational.competition.data.CategoryLookup;
 import org.concordiainternational.competition.data.CategoryLookupByName;
 import org.concordiainternational.competition.data.Competition;
+import org.concordiainternational.competition.data.CompetitionSettings;
 import org.concordiainternational.competition.data.CompetitionSession;
 import org.concordiainternational.competition.data.CompetitionSessionLookup;
 import org.concordiainternational.competition.data.Gender;
@@ -303,6 +304,10 @@ public class ExtenXLSReader implements InputSheet, LifterReader {
             competition.setCompetitionCity(workSheet.getCell("X2").getStringVal()); //$NON-NLS-1$
             competition.setCompetitionOrganizer(workSheet.getCell("I3").getStringVal()); //$NON-NLS-1$
             competition.setInvitedIfBornBefore(workSheet.getCell("I4").getIntVal()); //$NON-NLS-1$
+
+            // sorting and ranking read the settings snapshot, not the database.
+            hbnSession.flush();
+            CompetitionSettings.refresh(competition);
         }
     }
 
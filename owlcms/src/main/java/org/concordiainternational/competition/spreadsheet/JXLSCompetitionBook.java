@@ -16,6 +16,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.jxls.transformer.XLSTransformer;
 
@@ -26,8 +33,11 @@ import org.concordiainternational.competition.data.Lifter;
 import org.concordiainternational.competition.data.LifterContainer;
 import org.concordiainternational.competition.data.lifterSort.LifterSorter;
 import org.concordiainternational.competition.data.lifterSort.LifterSorter.Ranking;
+import org.concordiainternational.competition.data.lifterSort.RankingResult;
 import org.concordiainternational.competition.i18n.Messages;
 import org.concordiainternational.competition.ui.CompetitionApplication;
+import org.concordiainternational.competition.utils.Coefficients;
+import org.concordiainternational.competition.utils.LoggerUtils;
 import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,9 +53,14 @@ public class JXLSCompetitionBook extends JXLSWorkbookStreamSource {
     private static final long serialVersionUID = 1L;
     // final private static int TEAMSHEET_FIRST_ROW = 5;
 
-    @SuppressWarnings("unused")
     private Logger logger = LoggerFactory.getLogger(JXLSCompetitionBook.class);
 
+    /**
+     * Upper bound on the number of rankings computed at the same time, whatever the number of processors.
+     */
+    private static final int MAX_RANKING_THREADS = 5;
+    private static ExecutorService rankingExecutor;
+
     public JXLSCompetitionBook() {
         // by default, we exclude athletes who did not weigh in.
         super(true);
@@ -94,13 +109,21 @@ public class JXLSCompetitionBook extends JXLSWorkbookStreamSource {
         }
         reportingBeans.put("clubs", clubs);
 
-        final LifterSorter lifterSorter = new LifterSorter();
+        // the rankings only read the lifters, so they are computed concurrently; the ranks are copied into the lifters on this thread.
+        // values normally loaded on first use are fetched now, since the pool threads must not use the Hibernate session.
+        warmUpSharedSettings();
+        final CompetitionApplication app = CompetitionApplication.getCurrent();
+        final Future<RankingResult> snatch = submit(app, lifters, Ranking.SNATCH);
+        final Future<RankingResult> cleanJerk = submit(app, lifters, Ranking.CLEANJERK);
+        final Future<RankingResult> total = submit(app, lifters, Ranking.TOTAL);
+        final Future<RankingResult> sinclair = submit(app, lifters, Ranking.SINCLAIR);
+        final Future<RankingResult> custom = submit(app, lifters, Ranking.CUSTOM);
+
         List<Lifter> sortedLifters;
         List<Lifter> sortedMen = null;
         List<Lifter> sortedWomen = null;
 
-        sortedLifters = LifterSorter.resultsOrderCopy(lifters, Ranking.SNATCH);
-        LifterSorter.assignCategoryRanks(sortedLifters, Ranking.SNATCH);
+        sortedLifters = apply(getResult(snatch));
         sortedMen = new ArrayList<Lifter>(sortedLifters.size());
         sortedWomen = new ArrayList<Lifter>(sortedLifters.size());
         splitByGender(sortedLifters, sortedMen, sortedWomen);
@@ -123,64 +146,185 @@ public class JXLSCompetitionBook extends JXLSWorkbookStreamSource {
             reportingBeans.put("wClubs", new ArrayList<String>());
         }
 
-        sortedLifters = LifterSorter.resultsOrderCopy(lifters, Ranking.CLEANJERK);
-        LifterSorter.assignCategoryRanks(sortedLifters, Ranking.CLEANJERK);
+        sortedLifters = apply(getResult(cleanJerk));
         sortedMen = new ArrayList<Lifter>(sortedLifters.size());
         sortedWomen = new ArrayList<Lifter>(sortedLifters.size());
         splitByGender(sortedLifters, sortedMen, sortedWomen);
         reportingBeans.put("mCJ", sortedMen);
         reportingBeans.put("wCJ", sortedWomen);
 
-        sortedLifters = LifterSorter.resultsOrderCopy(lifters, Ranking.TOTAL);
-        LifterSorter.assignCategoryRanks(sortedLifters, Ranking.TOTAL);
+        sortedLifters = apply(getResult(total));
         sortedMen = new ArrayList<Lifter>(sortedLifters.size());
         sortedWomen = new ArrayList<Lifter>(sortedLifters.size());
         splitByGender(sortedLifters, sortedMen, sortedWomen);
         reportingBeans.put("mTot", sortedMen);
         reportingBeans.put("wTot", sortedWomen);
 
-        sortedLifters = LifterSorter.resultsOrderCopy(lifters, Ranking.SINCLAIR);
-        lifterSorter.assignSinclairRanksAndPoints(sortedLifters, Ranking.SINCLAIR);
+        sortedLifters = apply(getResult(sinclair));
         sortedMen = new ArrayList<Lifter>(sortedLifters.size());
         sortedWomen = new ArrayList<Lifter>(sortedLifters.size());
         splitByGender(sortedLifters, sortedMen, sortedWomen);
         reportingBeans.put("mSinclair", sortedMen);
         reportingBeans.put("wSinclair", sortedWomen);
 
-        sortedLifters = LifterSorter.resultsOrderCopy(lifters, Ranking.CUSTOM);
-        LifterSorter.assignCategoryRanks(sortedLifters, Ranking.CUSTOM);
+        sortedLifters = apply(getResult(custom));
         sortedMen = new ArrayList<Lifter>(sortedLifters.size());
         sortedWomen = new ArrayList<Lifter>(sortedLifters.size());
         splitByGender(sortedLifters, sortedMen, sortedWomen);
         reportingBeans.put("mCus", sortedMen);
         reportingBeans.put("wCus", sortedWomen);
 
+        // the result order rank is shared by all rankings; the custom ranking was the last one computed when done sequentially.
+        LifterSorter.assignResultOrderRanks(sortedLifters, Ranking.CUSTOM);
+
         // team-oriented rankings. These put all the lifters from the same team together,
         // sorted from best to worst, so that the top "n" can be given points
-        sortedLifters = LifterSorter.teamRankingOrderCopy(lifters, Ranking.CUSTOM);
+        // they use the points assigned above, so they can only start now.
+        final Future<List<Lifter>> customTeam = submitTeam(lifters, Ranking.CUSTOM);
+        final Future<List<Lifter>> combinedTeam = submitTeam(lifters, Ranking.COMBINED);
+        final Future<List<Lifter>> totalTeam = submitTeam(lifters, Ranking.COMBINED, Ranking.TOTAL);
+
+        sortedLifters = getResult(customTeam);
         sortedMen = new ArrayList<Lifter>(sortedLifters.size());
         sortedWomen = new ArrayList<Lifter>(sortedLifters.size());
         splitByGender(sortedLifters, sortedMen, sortedWomen);
         reportingBeans.put("mCustom", sortedMen);
         reportingBeans.put("wCustom", sortedWomen);
 
-        sortedLifters = LifterSorter.teamRankingOrderCopy(lifters, Ranking.COMBINED);
+        sortedLifters = getResult(combinedTeam);
         sortedMen = new ArrayList<Lifter>(sortedLifters.size());
         sortedWomen = new ArrayList<Lifter>(sortedLifters.size());
         splitByGender(sortedLifters, sortedMen, sortedWomen);
         reportingBeans.put("mCombined", sortedMen);
         reportingBeans.put("wCombined", sortedWomen);
-        reportingBeans.put("mwCombined", sortedLifters);
 
-        LifterSorter.teamRankingOrder(sortedLifters, Ranking.TOTAL);
+        // the combined list was sorted again by total in place, so both names refer to the same list.
+        sortedLifters = getResult(totalTeam);
         sortedMen = new ArrayList<Lifter>(sortedLifters.size());
         sortedWomen = new ArrayList<Lifter>(sortedLifters.size());
         splitByGender(sortedLifters, sortedMen, sortedWomen);
+        reportingBeans.put("mwCombined", sortedLifters);
         reportingBeans.put("mTeam", sortedMen);
         reportingBeans.put("wTeam", sortedWomen);
         reportingBeans.put("mwTeam", sortedLifters);
     }
 
+    /**
+     * Load the competition settings and coefficients used by the rankings, so that they are cached before the ranking threads start.
+     */
+    private void warmUpSharedSettings() {
+        Competition.isMasters();
+        Competition.invitedIfBornBefore();
+        Coefficients.menCoefficient();
+        try {
+            Coefficients.getSMMCoefficient(31);
+        } catch (IOException e) {
+            LoggerUtils.infoException(logger, e);
+        }
+    }
+
+    /**
+     * Sort a copy of the lifters in winning order and compute the category (or Sinclair) ranks and points, on the ranking pool.
+     * 
+     * @param app
+     *            the application on whose behalf the ranking is done (for locale-dependent checks)
+     */
+    private static Future<RankingResult> submit(final CompetitionApplication app, final List<Lifter> lifters, final Ranking rankingType) {
+        return getRankingExecutor().submit(new Callable<RankingResult>() {
+            @Override
+            public RankingResult call() throws Exception {
+                CompetitionApplication.setCurrent(app);
+                try {
+                    List<Lifter> sorted = LifterSorter.winningOrderCopy(lifters, rankingType);
+                    if (rankingType == Ranking.SINCLAIR) {
+                        return new LifterSorter().computeSinclairRanksAndPoints(sorted, rankingType);
+                    } else {
+                        return LifterSorter.computeCategoryRanks(sorted, rankingType);
+                    }
+                } finally {
+                    CompetitionApplication.setCurrent(null);
+                }
+            }
+        });
+    }
+
+    /**
+     * Sort a copy of the lifters by team, successively for each ranking type given, on the ranking pool.
+     */
+    private static Future<List<Lifter>> submitTeam(final List<Lifter> lifters, final Ranking... rankingTypes) {
+        return getRankingExecutor().submit(new Callable<List<Lifter>>() {
+            @Override
+            public List<Lifter> call() throws Exception {
+                List<Lifter> sorted = new ArrayList<Lifter>(lifters);
+                for (Ranking rankingType : rankingTypes) {
+                    LifterSorter.teamRankingOrder(sorted, rankingType);
+                }
+                return sorted;
+            }
+        });
+    }
+
+    /**
+     * Copy the ranks and points into the lifters.
+     * 
+     * @return the sorted lifters
+     */
+    private static List<Lifter> apply(RankingResult ranking) {
+        final List<Lifter> sortedLifters = ranking.getSortedLifters();
+        ranking.applyTo(sortedLifters);
+        return sortedLifters;
+    }
+
+    /**
+     * Wait for a ranking to be computed.
+     * 
+     * @return the result of the ranking
+     */
+    private static <T> T getResult(Future<T> ranking) {
+        try {
+            return ranking.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * @return the pool shared by all competition books, created on first use.
+     */
+    private static synchronized ExecutorService getRankingExecutor() {
+        if (rankingExecutor == null) {
+            final int nbThreads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_RANKING_THREADS));
+            rankingExecutor = Executors.newFixedThreadPool(nbThreads, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "ranking-" + count.incrementAndGet()); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return rankingExecutor;
+    }
+
+    /**
+     * Stop the ranking threads when the web application is stopped; a new pool is created if a book is produced afterwards.
+     */
+    public static synchronized void shutdownRankingExecutor() {
+        if (rankingExecutor != null) {
+            rankingExecutor.shutdownNow();
+            rankingExecutor = null;
+        }
+    }
+
     @Override
     protected void configureTransformer(XLSTransformer transformer) {
         super.configureTransformer(transformer);
@@ -263,7 +407,7 @@ public class JXLSCompetitionBook extends JXLSWorkbookStreamSource {
         }
     }
 
-    private void splitByGender(List<Lifter> sortedLifters,
+    private static void splitByGender(List<Lifter> sortedLifters,
             List<Lifter> sortedMen, List<Lifter> sortedWomen) {
         for (Lifter l : sortedLifters) {
             if ("m".equalsIgnoreCase(l.getGender())) {
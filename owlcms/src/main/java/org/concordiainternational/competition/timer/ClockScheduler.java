@@ -0,0 +1,215 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.timer;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.concordiainternational.competition.utils.LoggerUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the ticks of all the competition clocks (lifter countdown, intermission timer).
+ * <p>
+ * All the clocks share a few high-priority threads, instead of a thread per start. Ticks are planned on {@link System#nanoTime()},
+ * which does not jump when the computer synchronizes its clock: tick n of a clock is due at start + n &times; period, so a late tick
+ * does not delay the following ones, and when several ticks are overdue only the latest one is run rather than a burst.
+ * </p>
+ * <p>
+ * The lateness of every tick of a clock is recorded in a histogram, see {@link Clock#getJitterReport()}, logged when the clock is
+ * cancelled.
+ * </p>
+ *
+ * @author jflamy
+ */
+public final class ClockScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClockScheduler.class);
+
+    private static final int NB_THREADS = 2;
+
+    /** upper bounds of the jitter histogram buckets, in milliseconds; the last bucket counts everything later. */
+    private static final long[] JITTER_BOUNDS_MILLIS = { 1, 2, 5, 10, 20, 50, 100 };
+
+    private static ScheduledThreadPoolExecutor executor;
+
+    private ClockScheduler() {
+    }
+
+    private static synchronized ScheduledThreadPoolExecutor getExecutor() {
+        if (executor == null || executor.isShutdown()) {
+            executor = new ScheduledThreadPoolExecutor(NB_THREADS, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "clock-" + count.incrementAndGet()); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MAX_PRIORITY);
+                    return thread;
+                }
+            });
+            executor.setRemoveOnCancelPolicy(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Stop the clock threads, when the web application is stopped. Clocks still running are cancelled at their next tick; clocks started
+     * afterwards get new threads.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Run the task right away, then every period.
+     *
+     * @param task
+     * @param periodMillis
+     * @return the clock, to be cancelled when the countdown is over.
+     */
+    public static Clock scheduleAtFixedRate(ClockTask task, long periodMillis) {
+        final Clock clock = new Clock(task, TimeUnit.MILLISECONDS.toNanos(periodMillis));
+        task.setClock(clock);
+        clock.scheduleNext();
+        return clock;
+    }
+
+    /**
+     * A running clock.
+     */
+    public static final class Clock {
+        private final ClockTask task;
+        private final long periodNanos;
+        private final long startNanos = System.nanoTime();
+        /** the threads this clock was started on; a clock does not outlive them, see {@link ClockScheduler#shutdown()}. */
+        private final ScheduledThreadPoolExecutor clockExecutor = getExecutor();
+        private long tickNumber = 0;
+        private ScheduledFuture<?> next;
+        private boolean cancelled = false;
+
+        // ticks of a clock run one at a time, no need for atomics.
+        private final long[] jitterHistogram = new long[JITTER_BOUNDS_MILLIS.length + 1];
+        private long maxJitterNanos = 0;
+        private long skippedTicks = 0;
+
+        private Clock(ClockTask task, long periodNanos) {
+            this.task = task;
+            this.periodNanos = periodNanos;
+        }
+
+        private synchronized void scheduleNext() {
+            if (cancelled)
+                return;
+            final long delay = startNanos + tickNumber * periodNanos - System.nanoTime();
+            try {
+                next = clockExecutor.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        tick();
+                    }
+                }, Math.max(0, delay), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // the scheduler has been shut down.
+                cancelled = true;
+            }
+        }
+
+        private void tick() {
+            synchronized (this) {
+                if (cancelled)
+                    return;
+                recordJitter(System.nanoTime() - (startNanos + tickNumber * periodNanos));
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LoggerUtils.errorException(logger, e);
+            }
+            synchronized (this) {
+                // if we are late by more than one period, go straight to the latest tick due.
+                final long lastTickDue = (System.nanoTime() - startNanos) / periodNanos;
+                long nextTick = tickNumber + 1;
+                if (lastTickDue > nextTick) {
+                    skippedTicks += lastTickDue - nextTick;
+                    nextTick = lastTickDue;
+                }
+                tickNumber = nextTick;
+            }
+            scheduleNext();
+        }
+
+        /**
+         * Stop the clock; the tick currently running, if any, completes.
+         */
+        public void cancel() {
+            synchronized (this) {
+                if (cancelled)
+                    return;
+                cancelled = true;
+                if (next != null) {
+                    next.cancel(false);
+                }
+            }
+            logger.debug("{}", getJitterReport()); //$NON-NLS-1$
+        }
+
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @return the time elapsed since the clock was started, in milliseconds.
+         */
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+
+        private void recordJitter(long lateNanos) {
+            final long lateMillis = TimeUnit.NANOSECONDS.toMillis(lateNanos);
+            int bucket = 0;
+            while (bucket < JITTER_BOUNDS_MILLIS.length && lateMillis >= JITTER_BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+            jitterHistogram[bucket]++;
+            maxJitterNanos = Math.max(maxJitterNanos, lateNanos);
+        }
+
+        /**
+         * @return the number of ticks of this clock in each bucket: late by less than 1 ms, 2 ms, 5, 10, 20, 50, 100 ms, and 100 ms or
+         *         more.
+         */
+        public synchronized long[] getJitterHistogram() {
+            return jitterHistogram.clone();
+        }
+
+        /**
+         * @return the histogram, the worst lateness and the number of ticks skipped, for the logs.
+         */
+        public synchronized String getJitterReport() {
+            StringBuilder sb = new StringBuilder("tick jitter:"); //$NON-NLS-1$
+            for (int i = 0; i < jitterHistogram.length; i++) {
+                sb.append(i < JITTER_BOUNDS_MILLIS.length ? " <" + JITTER_BOUNDS_MILLIS[i] : " >=" + JITTER_BOUNDS_MILLIS[i - 1]); //$NON-NLS-1$ //$NON-NLS-2$
+                sb.append("ms=").append(jitterHistogram[i]); //$NON-NLS-1$
+            }
+            sb.append(" max=").append(TimeUnit.NANOSECONDS.toMillis(maxJitterNanos)).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+            sb.append(" skipped=").append(skippedTicks); //$NON-NLS-1$
+            return sb.toString();
+        }
+    }
+
+}
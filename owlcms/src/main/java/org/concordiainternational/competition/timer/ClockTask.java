@@ -0,0 +1,47 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task run on every tick of a clock, see {@link ClockScheduler}. Used like a java.util.TimerTask; the time is measured with
+ * {@link System#nanoTime()}, which is not affected by changes to the computer's clock.
+ *
+ * @author jflamy
+ */
+public abstract class ClockTask implements Runnable {
+
+    private final long startNanos = System.nanoTime();
+    private ClockScheduler.Clock clock;
+
+    synchronized void setClock(ClockScheduler.Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Stop the clock running this task.
+     *
+     * @return true if the clock was running.
+     */
+    public synchronized boolean cancel() {
+        if (clock == null || clock.isCancelled()) {
+            return false;
+        }
+        clock.cancel();
+        return true;
+    }
+
+    /**
+     * @return milliseconds elapsed since the task was created.
+     */
+    protected long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+}
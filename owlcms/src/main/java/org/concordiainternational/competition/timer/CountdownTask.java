@@ -8,7 +8,6 @@
 package org.concordiainternational.competition.timer;
 
 import java.io.Serializable;
-import java.util.TimerTask;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +16,7 @@ import org.slf4j.LoggerFactory;
  * Runnable task for counting down. run() is invoked every "decrement" milliseconds. For convenience we count down in milliseconds.
  * 
  */
-class CountdownTask extends TimerTask implements Serializable {
+class CountdownTask extends ClockTask implements Serializable {
 
     private static final long serialVersionUID = -2967275874759395049L;
 
@@ -25,7 +24,7 @@ class CountdownTask extends TimerTask implements Serializable {
 
     private final CountdownTimer countdownTimer;
     int ticks;
-    long startMillis = System.currentTimeMillis();
+    private final int initialTicks;
     private int startTime;
     private int decrement; // milliseconds
 
@@ -44,7 +43,8 @@ class CountdownTask extends TimerTask implements Serializable {
         this.countdownTimer = countdownTimer;
         this.startTime = countdownFrom;
         // round up to decrement interval (100ms)
-        this.ticks = roundUpCountdown(countdownFrom, decrement);
+        this.initialTicks = roundUpCountdown(countdownFrom, decrement);
+        this.ticks = initialTicks;
         this.decrement = decrement;
 
         this.firstWarningTick = firstWarning * 1000;
@@ -88,7 +88,7 @@ class CountdownTask extends TimerTask implements Serializable {
      * @return best available estimation of the time elapsed.
      */
     long getBestTimeRemaining() {
-        return startTime - (System.currentTimeMillis() - startMillis);
+        return startTime - getElapsedMillis();
     }
 
     /**
@@ -100,6 +100,9 @@ class CountdownTask extends TimerTask implements Serializable {
 
     @Override
     public void run() {
+        // count the ticks from the elapsed time, so that late or skipped ticks do not slow down the countdown.
+        ticks = initialTicks - (int) Math.round((double) getElapsedMillis() / decrement) * decrement;
+
         if (ticks <= firstWarningTick && !getFirstWarningSignaled()) {
             initialWarning();
             setFirstWarningSignaled(true);
@@ -116,30 +119,30 @@ class CountdownTask extends TimerTask implements Serializable {
         // leave the timer running for one second extra
         // Under linux, cancelling the timer also cancel the sounds
         if (ticks <= -1000) {
-            logger.info("end: " + ticks / 1000 + " " + (System.currentTimeMillis() - startMillis)); //$NON-NLS-1$ //$NON-NLS-2$
+            logger.info("end: " + ticks / 1000 + " " + getElapsedMillis()); //$NON-NLS-1$ //$NON-NLS-2$
             this.countdownTimer.cancel();
-        } else {
-            ticks = ticks - decrement;
         }
     }
 
     private void normalTick() {
-        logger.trace("normalTick: " + ticks / 1000 + " " + (System.currentTimeMillis() - startMillis)); //$NON-NLS-1$ //$NON-NLS-2$
+        logger.trace("normalTick: " + ticks / 1000 + " " + getElapsedMillis()); //$NON-NLS-1$ //$NON-NLS-2$
         final CountdownTimerListener countdownDisplay = countdownTimer.getCountdownDisplay();
         final CountdownTimerListener masterBuzzer = countdownTimer.getMasterBuzzer();
-        if (countdownDisplay != null) {
+        if (countdownDisplay != null && countdownTimer.wantsTicks(countdownDisplay)) {
             countdownDisplay.normalTick((int) getBestTimeRemaining());
         }
-        if (masterBuzzer != null) {
+        if (masterBuzzer != null && countdownTimer.wantsTicks(masterBuzzer)) {
             masterBuzzer.normalTick((int) getBestTimeRemaining());
         }
         for (CountdownTimerListener curListener : countdownTimer.getListeners()) {
-            curListener.normalTick((int) getBestTimeRemaining());
+            if (countdownTimer.wantsTicks(curListener)) {
+                curListener.normalTick((int) getBestTimeRemaining());
+            }
         }
     }
 
     private void initialWarning() {
-        logger.info("initial warning: " + ticks / 1000 + " " + (System.currentTimeMillis() - startMillis)); //$NON-NLS-1$ //$NON-NLS-2$
+        logger.info("initial warning: " + ticks / 1000 + " " + getElapsedMillis()); //$NON-NLS-1$ //$NON-NLS-2$
         final CountdownTimerListener countdownDisplay = countdownTimer.getCountdownDisplay();
         final CountdownTimerListener masterBuzzer = countdownTimer.getMasterBuzzer();
         if (countdownDisplay != null) {
@@ -154,7 +157,7 @@ class CountdownTask extends TimerTask implements Serializable {
     }
 
     private void finalWarning() {
-        logger.info("final warning: " + ticks / 1000 + " " + (System.currentTimeMillis() - startMillis)); //$NON-NLS-1$ //$NON-NLS-2$
+        logger.info("final warning: " + ticks / 1000 + " " + getElapsedMillis()); //$NON-NLS-1$ //$NON-NLS-2$
         final CountdownTimerListener countdownDisplay = countdownTimer.getCountdownDisplay();
         final CountdownTimerListener masterBuzzer = countdownTimer.getMasterBuzzer();
         if (countdownDisplay != null) {
@@ -169,7 +172,7 @@ class CountdownTask extends TimerTask implements Serializable {
     }
 
     private void noTimeLeft() {
-        logger.info("time over: " + ticks / 1000 + " " + (System.currentTimeMillis() - startMillis)); //$NON-NLS-1$ //$NON-NLS-2$
+        logger.info("time over: " + ticks / 1000 + " " + getElapsedMillis()); //$NON-NLS-1$ //$NON-NLS-2$
         final CountdownTimerListener countdownDisplay = countdownTimer.getCountdownDisplay();
         final CountdownTimerListener masterBuzzer = countdownTimer.getMasterBuzzer();
         if (countdownDisplay != null) {
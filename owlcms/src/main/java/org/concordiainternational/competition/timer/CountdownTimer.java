@@ -10,7 +10,6 @@ package org.concordiainternational.competition.timer;
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.Timer;
 
 import org.concordiainternational.competition.data.Lifter;
 import org.concordiainternational.competition.ui.CompetitionApplication;
@@ -42,7 +41,7 @@ public class CountdownTimer implements Serializable {
 
     final private static int DECREMENT = 100; // milliseconds
     private int timeRemaining;
-    private Timer timer = null;
+    private transient ClockScheduler.Clock timer = null;
     private CountdownTask countdownTask;
 
     /*
@@ -59,6 +58,12 @@ public class CountdownTimer implements Serializable {
 
     private boolean started = false;
 
+    /**
+     * if true, {@link StateChangeCountdownListener}s count down in the browser and are only sent the state changes, not the ticks. Set
+     * with the owlcms.timerStateChangesOnly system property.
+     */
+    private boolean stateChangesOnly = Boolean.getBoolean("owlcms.timerStateChangesOnly"); //$NON-NLS-1$
+
     public CountdownTimer() {
         logger.debug("new {}", this); //$NON-NLS-1$
     }
@@ -81,12 +86,9 @@ public class CountdownTimer implements Serializable {
             return;
         }
 
-        timer = new Timer();
-
         countdownTask = new CountdownTask(this, timeRemaining, DECREMENT);
-        timer.scheduleAtFixedRate(countdownTask,
-                0, // start right away
-                DECREMENT); // 100ms precision is good enough
+        // start right away; 100ms precision is good enough
+        timer = ClockScheduler.scheduleAtFixedRate(countdownTask, DECREMENT);
 
         final Set<CountdownTimerListener> listeners2 = getListeners();
         logger.trace("start: {}  - {} listeners", timeRemaining, listeners2.size()); //$NON-NLS-1$
@@ -386,6 +388,25 @@ public class CountdownTimer implements Serializable {
         this.timer.cancel();
     }
 
+    /**
+     * @return true if the displays that can count down in the browser are not sent the ticks.
+     */
+    public boolean isStateChangesOnly() {
+        return stateChangesOnly;
+    }
+
+    public void setStateChangesOnly(boolean stateChangesOnly) {
+        this.stateChangesOnly = stateChangesOnly;
+    }
+
+    /**
+     * @param listener
+     * @return true if the listener must be sent every tick.
+     */
+    boolean wantsTicks(CountdownTimerListener listener) {
+        return !(stateChangesOnly && listener instanceof StateChangeCountdownListener);
+    }
+
     public boolean isStarted() {
         return started;
     }
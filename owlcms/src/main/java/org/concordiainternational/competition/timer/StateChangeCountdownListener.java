@@ -0,0 +1,22 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.timer;
+
+/**
+ * A timer listener that counts down in the browser between state changes.
+ * <p>
+ * When the timer is in {@link CountdownTimer#isStateChangesOnly() state change mode}, such listeners are not sent
+ * {@link #normalTick(int)}: they start a countdown in the browser on {@link #start(int)} and show the server time again on pause, stop,
+ * forced time and warnings.
+ * </p>
+ *
+ * @author jflamy
+ */
+public interface StateChangeCountdownListener extends CountdownTimerListener {
+
+}
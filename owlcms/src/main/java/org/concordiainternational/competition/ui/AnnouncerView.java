@@ -20,6 +20,7 @@ import org.concordiainternational.competition.data.RuleViolationException;
 import org.concordiainternational.competition.i18n.Messages;
 import org.concordiainternational.competition.ui.components.ApplicationView;
 import org.concordiainternational.competition.utils.LoggerUtils;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.concordiainternational.competition.webapp.WebApplicationConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,6 +68,7 @@ public class AnnouncerView extends VerticalSplitPanel implements
     private static final long serialVersionUID = 7881028819569705161L;
     private static final Logger logger = LoggerFactory.getLogger(AnnouncerView.class);
     public static final boolean PUSHING = true;
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(AnnouncerView.class);
 
     /** remove message after this delay (ms) */
     private static final int messageRemovalMs = 5000;
@@ -348,7 +350,7 @@ public class AnnouncerView extends VerticalSplitPanel implements
      */
     @Override
     public void updateEvent(final SessionData.UpdateEvent updateEvent) {
-        new Thread(new Runnable() {
+        updates.execute(new Runnable() {
             @Override
             public void run() {
                 synchronized (app) {
@@ -380,7 +382,7 @@ public class AnnouncerView extends VerticalSplitPanel implements
                 }
                 app.push();
             }
-        }).start();
+        });
     }
 
     /**
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.ui;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.data.Platform;
+
+/**
+ * What the attempt boards of a platform show: the current lifter, the attempt, the requested weight and the plates to load.
+ * <p>
+ * Computed once per {@link SessionSnapshot} (and per plate inventory) by {@link SessionData#getAttemptBoardModel()} and shared by all the
+ * boards of the platform, which only format it for their locale. Never modified once built.
+ * </p>
+ *
+ * @author jflamy
+ */
+public final class AttemptBoardModel {
+
+    private final long version;
+    private final String inventory;
+
+    private final Long lifterId;
+    private final String lastName;
+    private final String firstName;
+    private final String club;
+    private final Integer startNumber;
+    private final boolean cleanJerk;
+    private final int currentTry;
+    private final Integer requestedWeight;
+    private final String sessionName;
+    private final List<String> plates;
+
+    private AttemptBoardModel(long version, String inventory, Lifter lifter, String sessionName, List<String> plates) {
+        this.version = version;
+        this.inventory = inventory;
+        this.sessionName = sessionName;
+        this.plates = plates;
+        if (lifter != null) {
+            this.lifterId = lifter.getId();
+            this.lastName = lifter.getLastName();
+            this.firstName = lifter.getFirstName();
+            this.club = lifter.getClub();
+            this.startNumber = lifter.getStartNumber();
+            this.cleanJerk = lifter.getAttemptsDone() >= 3;
+            this.currentTry = 1 + (cleanJerk ? lifter.getCleanJerkAttemptsDone() : lifter.getSnatchAttemptsDone());
+            this.requestedWeight = lifter.getNextAttemptRequestedWeight();
+        } else {
+            this.lifterId = null;
+            this.lastName = null;
+            this.firstName = null;
+            this.club = null;
+            this.startNumber = null;
+            this.cleanJerk = false;
+            this.currentTry = 0;
+            this.requestedWeight = null;
+        }
+    }
+
+    /**
+     * @param snapshot
+     * @param platform
+     *            null if the session data is not attached to a platform
+     * @return the model for the snapshot
+     */
+    static AttemptBoardModel compute(SessionSnapshot snapshot, Platform platform) {
+        final Lifter lifter = snapshot.getCurrentLifter();
+        final String sessionName = snapshot.getSession() != null ? snapshot.getSession().getName() : ""; //$NON-NLS-1$
+        List<String> plates = Collections.emptyList();
+        if (lifter != null && platform != null) {
+            final Integer weight = lifter.getNextAttemptRequestedWeight();
+            if (weight != null) {
+                plates = PlateSolver.solve(platform, PlateSolver.barWeight(platform, lifter), weight);
+            }
+        }
+        return new AttemptBoardModel(snapshot.getVersion(), PlateSolver.inventoryOf(platform), lifter, sessionName, plates);
+    }
+
+    /**
+     * @param snapshot
+     * @param platform
+     * @return true if the model was computed from the same snapshot and the same plates.
+     */
+    boolean isCurrent(SessionSnapshot snapshot, Platform platform) {
+        return version == snapshot.getVersion() && inventory.equals(PlateSolver.inventoryOf(platform));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return false if there is no current lifter.
+     */
+    public boolean hasLifter() {
+        return lifterId != null;
+    }
+
+    public Long getLifterId() {
+        return lifterId;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getClub() {
+        return club;
+    }
+
+    public Integer getStartNumber() {
+        return startNumber;
+    }
+
+    /**
+     * @return true if the current attempt is a clean and jerk.
+     */
+    public boolean isCleanJerk() {
+        return cleanJerk;
+    }
+
+    /**
+     * @return 1, 2 or 3 within the current lift; 4 once the lifter is done.
+     */
+    public int getCurrentTry() {
+        return currentTry;
+    }
+
+    /**
+     * @return true if the lifter has done all the attempts.
+     */
+    public boolean isDone() {
+        return currentTry > 3;
+    }
+
+    public Integer getRequestedWeight() {
+        return requestedWeight;
+    }
+
+    public String getSessionName() {
+        return sessionName;
+    }
+
+    /**
+     * @return the plates to load, as the style names used by {@link LoadImage#showPlates(List, String)}.
+     */
+    public List<String> getPlates() {
+        return plates;
+    }
+
+}
@@ -11,7 +11,6 @@ import java.net.MalformedURLException;
 import java.text.MessageFormat;
 import java.util.Locale;
 
-import org.concordiainternational.competition.data.Lifter;
 import org.concordiainternational.competition.data.Platform;
 import org.concordiainternational.competition.data.RuleViolationException;
 import org.concordiainternational.competition.decision.DecisionEvent;
@@ -29,6 +28,7 @@ import org.concordiainternational.competition.ui.components.DecisionLightsWindow
 import org.concordiainternational.competition.ui.components.Stylable;
 import org.concordiainternational.competition.ui.generators.TimeFormatter;
 import org.concordiainternational.competition.utils.LoggerUtils;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vaadin.weelayout.WeeLayout;
@@ -59,6 +59,7 @@ public class AttemptBoardView extends WeeLayout implements
     public final static Logger logger = LoggerFactory.getLogger(AttemptBoardView.class);
     private static Logger listenerLogger = LoggerFactory.getLogger("listeners." + AttemptBoardView.class.getSimpleName()); //$NON-NLS-1$
     private static final long serialVersionUID = 1437157542240297372L;
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(AttemptBoardView.class);
 
     public String urlString;
     private String platformName;
@@ -191,7 +192,7 @@ public class AttemptBoardView extends WeeLayout implements
 
                 @Override
                 public void updateEvent(UpdateEvent updateEvent) {
-                    new Thread(new Runnable() {
+                    updates.execute(new Runnable() {
                         @Override
                         public void run() {
                             logger.trace("entry");
@@ -201,7 +202,7 @@ public class AttemptBoardView extends WeeLayout implements
                             }
                             logger.trace("exit");
                         }
-                    }).start();
+                    });
                 }
 
             };
@@ -327,16 +328,17 @@ public class AttemptBoardView extends WeeLayout implements
             return;
         }
         synchronized (app) {
-            final Lifter currentLifter = masterData1.getCurrentLifter();
-            if (currentLifter != null) {
-                logger.debug("lifter {}", currentLifter);
-                boolean done = fillLifterInfo(currentLifter);
-                updateTime(masterData1);
+            final SessionSnapshot snapshot = masterData1.getSnapshot();
+            final AttemptBoardModel model = masterData1.getAttemptBoardModel();
+            if (model.hasLifter()) {
+                logger.debug("lifter {}", model.getLifterId());
+                boolean done = fillLifterInfo(model);
+                updateTime(masterData1, snapshot);
                 showDecisionLights(false);
                 timeLabel.removeStyleName("intermission");
                 timeLabel.addStyleName("largeCountdown");
                 if (showTimer) {
-                    timeLabel.setValue(TimeFormatter.formatAsSeconds(masterData1.getDisplayTime()));
+                    timeLabel.setValue(TimeFormatter.formatAsSeconds(masterData1.getDisplayTime(snapshot)));
                 } else {
                     timeLabel.setValue("");
                 }
@@ -388,17 +390,15 @@ public class AttemptBoardView extends WeeLayout implements
         logger.trace("exit");
     }
 
-    public boolean fillLifterInfo(Lifter lifter) {
+    public boolean fillLifterInfo(AttemptBoardModel model) {
         logger.trace("entry");
         final Locale locale = CompetitionApplication.getCurrentLocale();
-        final int currentTry = 1 + (lifter.getAttemptsDone() >= 3 ? lifter.getCleanJerkAttemptsDone() : lifter
-                .getSnatchAttemptsDone());
-        boolean done = currentTry > 3;
+        boolean done = model.isDone();
 
         synchronized (app) {
-            displayName(lifter, locale, done);
-            displayAttemptNumber(lifter, locale, currentTry, done);
-            displayRequestedWeight(lifter, locale, done);
+            displayName(model, locale, done);
+            displayAttemptNumber(model, locale, model.getCurrentTry(), done);
+            displayRequestedWeight(model, locale, done);
         }
         app.push();
         logger.trace("exit");
@@ -406,19 +406,19 @@ public class AttemptBoardView extends WeeLayout implements
     }
 
     /**
-     * @param lifter
+     * @param model
      * @param alwaysShowName
      * @param sb
      * @param done
      */
-    private void displayName(Lifter lifter, final Locale locale, boolean done) {
+    private void displayName(AttemptBoardModel model, final Locale locale, boolean done) {
         logger.trace("entry");
         // display lifter name and affiliation
         if (!done) {
-            final String lastName = lifter.getLastName();
-            final String firstName = lifter.getFirstName();
-            final String club = lifter.getClub();
-            final Integer startNumber = lifter.getStartNumber();
+            final String lastName = model.getLastName();
+            final String firstName = model.getFirstName();
+            final String club = model.getClub();
+            final Integer startNumber = model.getStartNumber();
 
             nameLabel.setValue(formatName(lastName, firstName));
             clubLabel.setValue(club);
@@ -432,7 +432,7 @@ public class AttemptBoardView extends WeeLayout implements
             }
         } else {
             nameLabel.setValue(MessageFormat.format(
-                    Messages.getString("AttemptBoard.Done", locale), masterData.getCurrentSession().getName())); //$NON-NLS-1$
+                    Messages.getString("AttemptBoard.Done", locale), model.getSessionName())); //$NON-NLS-1$
             clubLabel.setValue("");
             startLabel.setStyleName("text");
             startLabel.setValue("");
@@ -463,7 +463,7 @@ public class AttemptBoardView extends WeeLayout implements
             decisionLights.refresh();
         } else {
             plates.setVisible(true); // hide attempt board hides them, restore if needed.
-            plates.computeImageArea(masterData, masterData.getPlatform(), false);
+            plates.showPlates(masterData.getAttemptBoardModel().getPlates(), "");
             bottomLeftBox.removeComponent(decisionLights);
             bottomLeftBox.addComponent(timeVBox);
             bottomLeftBox.addComponent(platesVBox);
@@ -474,16 +474,16 @@ public class AttemptBoardView extends WeeLayout implements
     }
 
     /**
-     * @param lifter
+     * @param model
      * @param sb
      * @param locale
      * @param currentTry
      * @param done
      */
-    private void displayAttemptNumber(Lifter lifter, final Locale locale, final int currentTry, boolean done) {
+    private void displayAttemptNumber(AttemptBoardModel model, final Locale locale, final int currentTry, boolean done) {
         // display current attemptLabel number
         if (!done) {
-            final String lift = lifter.getAttemptsDone() >= 3 ? Messages.getString("Common.shortCleanJerk", locale) //$NON-NLS-1$
+            final String lift = model.isCleanJerk() ? Messages.getString("Common.shortCleanJerk", locale) //$NON-NLS-1$
                     : Messages.getString("Common.shortSnatch", locale);//$NON-NLS-1$
             String tryInfo = MessageFormat.format(Messages.getString("ResultFrame.tryNumber", locale), //$NON-NLS-1$
                     currentTry, lift);
@@ -495,16 +495,16 @@ public class AttemptBoardView extends WeeLayout implements
     }
 
     /**
-     * @param lifter
+     * @param model
      * @param sb
      * @param locale
      * @param done
      * @return
      */
-    private void displayRequestedWeight(Lifter lifter, final Locale locale, boolean done) {
+    private void displayRequestedWeight(AttemptBoardModel model, final Locale locale, boolean done) {
         // display requested weightLabel
         if (!done) {
-            weightLabel.setValue(lifter.getNextAttemptRequestedWeight() + Messages.getString("Common.kg", locale)); //$NON-NLS-1$
+            weightLabel.setValue(model.getRequestedWeight() + Messages.getString("Common.kg", locale)); //$NON-NLS-1$
         } else {
             weightLabel.setValue(""); //$NON-NLS-1$
         }
@@ -512,12 +512,13 @@ public class AttemptBoardView extends WeeLayout implements
 
     /**
      * @param groupData
+     * @param snapshot
      */
-    private void updateTime(final SessionData groupData) {
+    private void updateTime(final SessionData groupData, final SessionSnapshot snapshot) {
         logger.trace("entry");
         // we set the value to the time remaining for the current lifter as
         // computed by groupData
-        int timeRemaining = groupData.getDisplayTime();
+        int timeRemaining = groupData.getDisplayTime(snapshot);
         final CountdownTimer timer = groupData.getTimer();
         if (!intermissionTimerShown) {
             showTimeRemaining(timeRemaining);
@@ -725,7 +726,7 @@ public class AttemptBoardView extends WeeLayout implements
      */
     @Override
     public void updateEvent(final DecisionEvent updateEvent) {
-        new Thread(new Runnable() {
+        updates.execute(new Runnable() {
             @Override
             public void run() {
                 synchronized (app) {
@@ -776,7 +777,7 @@ public class AttemptBoardView extends WeeLayout implements
                     }
                 }
             }
-        }).start();
+        });
     }
 
     @Override
@@ -35,6 +35,7 @@ import org.concordiainternational.competition.utils.LoggerUtils;
 import org.concordiainternational.competition.webapp.WebApplicationConfiguration;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
+import org.hibernate.context.ThreadLocalSessionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.ext.XLogger;
@@ -249,6 +250,8 @@ public class CompetitionApplication extends Application implements HbnSessionMan
 
     protected boolean pusherDisabled = false;
 
+    private final PushCoalescer pushCoalescer = new PushCoalescer(this);
+
     private String appSuffix = "/app/";
 
     private boolean layoutCreated;
@@ -263,6 +266,11 @@ public class CompetitionApplication extends Application implements HbnSessionMan
 
     private boolean layoutAlreadyExists;
 
+    /**
+     * true when opened under /d/: no menu, public display views only, no Hibernate session unless a view asks for one.
+     */
+    private boolean displayOnly;
+
     private String frag;
 
     public void displayRefereeConsole(int refereeIndex) {
@@ -362,7 +370,31 @@ public class CompetitionApplication extends Application implements HbnSessionMan
         return pusher;
     }
 
-    synchronized public void push() {
+    /**
+     * Request a push to the browser. Requests made within the same frame are sent as a single push.
+     * 
+     * @see PushCoalescer
+     */
+    public void push() {
+        pushCoalescer.request();
+    }
+
+    /**
+     * Push to the browser without waiting for the end of the frame, for changes that must be seen at once (decision lights, down
+     * signal).
+     */
+    public void pushNow() {
+        pushCoalescer.flush();
+    }
+
+    /**
+     * @return the push statistics for this application.
+     */
+    public PushCoalescer getPushCoalescer() {
+        return pushCoalescer;
+    }
+
+    synchronized void pushImmediately() {
         // if (logger.isDebugEnabled()) {
         // String string = LoggerUtils.mdcGet("view");
         // if (string!= null && string.startsWith(DEFAULT_VIEW)) {
@@ -696,7 +728,11 @@ public class CompetitionApplication extends Application implements HbnSessionMan
                 // Transaction listener gets fired for all (Http) sessions
                 // of Vaadin applications, checking to be this one.
                 if (application == CompetitionApplication.this) {
-                    closeHibernateSession();
+                    if (!displayOnly) {
+                        closeHibernateSession();
+                    } else {
+                        closeHibernateSessionIfOpened();
+                    }
                 }
                 current.remove();
             }
@@ -790,6 +826,15 @@ public class CompetitionApplication extends Application implements HbnSessionMan
                     layoutAlreadyExists = false;
                     createAppLayout(mainLayout);
                 }
+            } else if (contextURI.endsWith("/d/")) {
+                if (isLayoutCreated()) {
+                    logger.debug("display layout exists, skipping layout creation");
+                    layoutAlreadyExists = true;
+                } else {
+                    logger.debug("creating display layout");
+                    layoutAlreadyExists = false;
+                    createDisplayLayout(mainLayout);
+                }
             } else if (contextURI.endsWith("/m/")) {
                 // LoggerUtils.logException(logger, new Exception("creating mobile layout !"+externalForm+" "+contextURI));
                 if (isLayoutCreated()) {
@@ -848,6 +893,43 @@ public class CompetitionApplication extends Application implements HbnSessionMan
         getMainWindow().setContent(mainLayout1);
     }
 
+    /**
+     * Display-only layout: the view fills the window, there is no menu and no other view can be reached.
+     * 
+     * @param mainLayout1
+     */
+    protected void createDisplayLayout(VerticalLayout mainLayout1) {
+        setTheme("competition"); //$NON-NLS-1$
+        displayOnly = true;
+        // before anything of the display is built.
+        DisplayFootprint.opening(this);
+        components.setMainPanel(new Panel());
+        Panel mainPanel = components.getMainPanel();
+        mainPanel.setSizeFull();
+        mainLayout1.setSizeFull();
+
+        mainLayout1.setMargin(false, false, false, false);
+        mainLayout1.addComponent(mainPanel);
+        mainLayout1.setExpandRatio(mainPanel, 1.0F);
+
+        getMainWindow().setContent(mainLayout1);
+    }
+
+    /**
+     * @return true if the application was opened under /d/ to run a single public display.
+     */
+    public boolean isDisplayOnly() {
+        return displayOnly;
+    }
+
+    @Override
+    public void close() {
+        if (displayOnly) {
+            DisplayFootprint.closed(this);
+        }
+        super.close();
+    }
+
     public void setMainPanelContent(ApplicationView view) {
         logger.debug(">>>>> setting content for {} -- view {}", this, view);
         // logger.debug("setMainLayoutContent {} {}", c.getClass().getSimpleName(), c.needsBlack());
@@ -893,7 +975,7 @@ public class CompetitionApplication extends Application implements HbnSessionMan
      * 
      */
     private void checkURI(String uri) {
-        if (uri.endsWith("/app") || uri.endsWith("/m")) {
+        if (uri.endsWith("/app") || uri.endsWith("/m") || uri.endsWith("/d")) {
             logger.error("missing trailing / after app : {}", uri);
             getMainWindow().showNotification(
                     Messages.getString("CompetitionApplication.invalidURL", getLocale()) + "<br>", //$NON-NLS-1$
@@ -914,6 +996,17 @@ public class CompetitionApplication extends Application implements HbnSessionMan
         }
     }
 
+    /**
+     * Displays seldom touch the database; do not open a session only to close it.
+     */
+    private void closeHibernateSessionIfOpened() {
+        final Session sess = ThreadLocalSessionContext.unbind(WebApplicationConfiguration.getSessionFactory());
+        if (sess != null) {
+            ThreadLocalSessionContext.bind(sess);
+            closeHibernateSession();
+        }
+    }
+
     /**
      * Get a Hibernate session so objects can be stored. If running as a junit test, we call the session factory with parameters that tell
      * it not to persist the database.
@@ -926,6 +1019,10 @@ public class CompetitionApplication extends Application implements HbnSessionMan
     }
 
     protected void displayView(String fragment) {
+        if (displayOnly && !CompetitionApplicationComponents.isDisplayView(fragment)) {
+            logger.info("{} is not a display, ignored", fragment); //$NON-NLS-1$
+            fragment = CompetitionApplicationComponents.HOME;
+        }
         // remove all listeners on current view.
         ApplicationView mainLayoutContent = components.getCurrentView();
         if (mainLayoutContent != null) {
@@ -1009,6 +1106,8 @@ public class CompetitionApplication extends Application implements HbnSessionMan
                         String defaultView = DEFAULT_APP_VIEW;
                         if (externalForm.endsWith("/m/")) {
                             defaultView = DEFAULT_M_VIEW;
+                        } else if (externalForm.endsWith("/d/")) {
+                            defaultView = CompetitionApplicationComponents.HOME;
                         }
 
                         logger.debug("wait for fragment - stop; displaying default view = {}.", defaultView);
@@ -8,10 +8,13 @@
 package org.concordiainternational.competition.ui;
 
 import java.net.MalformedURLException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import org.concordiainternational.competition.data.CompetitionSession;
 import org.concordiainternational.competition.data.Platform;
@@ -66,6 +69,12 @@ public class CompetitionApplicationComponents {
     public static final String MOBILE_HOME = "mobileHome"; // empty fragment //$NON-NLS-1$
     public static final String MTIMEKEEPER_CONSOLE = "timekeeperConsole";
 
+    /**
+     * Views that only show information; the only ones available to a display-only application (/d/).
+     */
+    private static final Set<String> DISPLAY_VIEWS = new HashSet<String>(Arrays.asList(PUBLIC_ATTEMPT_BOARD_VIEW,
+            LIFTER_ATTEMPT_BOARD_VIEW, LIFT_ORDER_VIEW, RESULT_BOARD, COUNTDOWN_DISPLAY, JURY_LIGHTS, HOME));
+
     private Panel mainPanel;
     public Menu menu;
     public Window mainWindow;
@@ -502,6 +511,18 @@ public class CompetitionApplicationComponents {
         }
     }
 
+    /**
+     * @param fragment
+     * @return true if the view named by the fragment only shows information.
+     */
+    public static boolean isDisplayView(String fragment) {
+        if (fragment == null) {
+            return true;
+        }
+        int where = fragment.indexOf("/");
+        return DISPLAY_VIEWS.contains(where == -1 ? fragment.trim() : fragment.substring(0, where));
+    }
+
     public ApplicationView getViewByName(String fragment, boolean initFromFragment) {
         return getViewByName(fragment, initFromFragment, null);
     }
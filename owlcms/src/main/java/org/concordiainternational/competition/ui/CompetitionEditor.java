@@ -14,6 +14,7 @@ import java.util.Iterator;
 import java.util.Locale;
 
 import org.concordiainternational.competition.data.Competition;
+import org.concordiainternational.competition.data.CompetitionSettings;
 import org.concordiainternational.competition.data.RuleViolationException;
 import org.concordiainternational.competition.i18n.Messages;
 import org.concordiainternational.competition.publicAddress.LogoUploader;
@@ -348,8 +349,10 @@ public class CompetitionEditor extends VerticalLayout implements ApplicationView
             private void saveItem(HbnContainer<Competition>.EntityItem<Competition> cmItem) {
                 Competition competition = (Competition) cmItem.getPojo();
                 final Session session = app.getHbnSession();
-                session.merge(competition);
+                final Competition merged = (Competition) session.merge(competition);
                 session.flush();
+                // sorting and ranking read the settings from memory.
+                CompetitionSettings.refresh(merged);
             };
         });
         return hl;
@@ -18,13 +18,15 @@ import org.concordiainternational.competition.i18n.Messages;
 import org.concordiainternational.competition.publicAddress.IntermissionTimerEvent;
 import org.concordiainternational.competition.publicAddress.IntermissionTimerEvent.IntermissionTimerListener;
 import org.concordiainternational.competition.timer.CountdownTimer;
-import org.concordiainternational.competition.timer.CountdownTimerListener;
+import org.concordiainternational.competition.timer.StateChangeCountdownListener;
 import org.concordiainternational.competition.ui.SessionData.UpdateEvent;
 import org.concordiainternational.competition.ui.SessionData.UpdateEventListener;
 import org.concordiainternational.competition.ui.components.ApplicationView;
+import org.concordiainternational.competition.ui.components.BrowserCountdown;
 import org.concordiainternational.competition.ui.components.DecisionLightsWindow;
 import org.concordiainternational.competition.ui.generators.TimeFormatter;
 import org.concordiainternational.competition.utils.LoggerUtils;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,18 +41,20 @@ import com.vaadin.ui.Window.CloseListener;
 
 public class CountdownDisplay extends VerticalLayout implements
         ApplicationView,
-        CountdownTimerListener,
+        StateChangeCountdownListener,
         DecisionEventListener,
         IntermissionTimerListener,
         CloseListener
 {
     public final static Logger logger = LoggerFactory.getLogger(CountdownDisplay.class);
     private static final long serialVersionUID = 1437157542240297372L;
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(CountdownDisplay.class);
 
     private String platformName;
     private SessionData masterData;
     private CompetitionApplication app;
     private Label timeDisplay = new Label();
+    private final BrowserCountdown browserCountdown = new BrowserCountdown();
     private int lastTimeRemaining;
     private String viewName;
     private Window popUp = null;
@@ -115,12 +119,12 @@ public class CountdownDisplay extends VerticalLayout implements
 
                 @Override
                 public void updateEvent(UpdateEvent updateEvent) {
-                    new Thread(new Runnable() {
+                    updates.execute(new Runnable() {
                         @Override
                         public void run() {
                             display(platformName1, masterData1);
                         }
-                    }).start();
+                    });
                 }
 
             };
@@ -161,6 +165,7 @@ public class CountdownDisplay extends VerticalLayout implements
         timeDisplay1.setSizeUndefined();
         // timeDisplay1.setHeight("600px");
         timeDisplay1.addStyleName("largeCountdown");
+        browserCountdown.attach(timeDisplay1);
         return timeDisplay1;
     }
 
@@ -171,12 +176,13 @@ public class CountdownDisplay extends VerticalLayout implements
      */
     private void display(final String platformName1, final SessionData masterData1) throws RuntimeException {
         synchronized (app) {
-            final Lifter currentLifter = masterData1.getCurrentLifter();
+            final SessionSnapshot snapshot = masterData1.getSnapshot();
+            final Lifter currentLifter = snapshot.getCurrentLifter();
             logger.trace("currentLifter = {}", currentLifter);
             if (currentLifter != null) {
                 boolean done = fillLifterInfo(currentLifter);
                 logger.trace("done = {}", done);
-                updateTime(masterData1);
+                updateTime(masterData1, snapshot);
                 timeDisplay.setVisible(!done);
                 timeDisplay.removeStyleName("intermission");
             } else {
@@ -203,13 +209,28 @@ public class CountdownDisplay extends VerticalLayout implements
 
     /**
      * @param groupData
+     * @param snapshot
      */
-    private void updateTime(final SessionData groupData) {
+    private void updateTime(final SessionData groupData, final SessionSnapshot snapshot) {
         // we set the value to the time remaining for the current lifter as
         // computed by groupData
-        int timeRemaining = groupData.getDisplayTime();
+        int timeRemaining = groupData.getDisplayTime(snapshot);
         logger.trace("updateTime {}", timeRemaining);
-        pushTime(timeRemaining);
+        final CountdownTimer timer = groupData.getTimer();
+        final Long runningTimeRemaining = timer.getRunningTimeRemaining();
+        if (countsDownInBrowser() && runningTimeRemaining != null) {
+            // display created while the clock is running: it will not get the start event.
+            start(runningTimeRemaining.intValue());
+        } else {
+            pushTime(timeRemaining);
+        }
+    }
+
+    /**
+     * @return true if the time is counted down by the browser between timer events.
+     */
+    private boolean countsDownInBrowser() {
+        return masterData != null && masterData.getTimer().isStateChangesOnly();
     }
 
     @Override
@@ -219,7 +240,11 @@ public class CountdownDisplay extends VerticalLayout implements
 
     @Override
     public void forceTimeRemaining(int timeRemaining, CompetitionApplication originatingApp, InteractionNotificationReason reason) {
-        pushTime(timeRemaining);
+        if (countsDownInBrowser()) {
+            stopBrowserCountdown(timeRemaining);
+        } else {
+            pushTime(timeRemaining);
+        }
     }
 
     @Override
@@ -260,14 +285,46 @@ public class CountdownDisplay extends VerticalLayout implements
 
     @Override
     public void pause(int timeRemaining, CompetitionApplication originatingApp, InteractionNotificationReason reason) {
+        if (countsDownInBrowser()) {
+            stopBrowserCountdown(timeRemaining);
+        }
     }
 
     @Override
     public void start(int timeRemaining) {
+        if (!countsDownInBrowser() || timeDisplay == null)
+            return;
+
+        synchronized (app) {
+            lastTimeRemaining = timeRemaining;
+            timeDisplay.setValue(TimeFormatter.formatAsSeconds(timeRemaining));
+            browserCountdown.start(app.getMainWindow(), timeRemaining, ""); //$NON-NLS-1$
+        }
+        app.push();
     }
 
     @Override
     public void stop(int timeRemaining, CompetitionApplication originatingApp, InteractionNotificationReason reason) {
+        if (countsDownInBrowser()) {
+            stopBrowserCountdown(timeRemaining);
+        }
+    }
+
+    /**
+     * Stop the countdown in the browser and show the time as known by the server.
+     * 
+     * @param timeRemaining
+     */
+    private void stopBrowserCountdown(int timeRemaining) {
+        if (timeDisplay == null)
+            return;
+
+        synchronized (app) {
+            browserCountdown.stop(app.getMainWindow());
+            lastTimeRemaining = timeRemaining;
+            timeDisplay.setValue(TimeFormatter.formatAsSeconds(timeRemaining));
+        }
+        app.push();
     }
 
     /*
@@ -311,7 +368,7 @@ public class CountdownDisplay extends VerticalLayout implements
 
     @Override
     public void updateEvent(final DecisionEvent updateEvent) {
-        new Thread(new Runnable() {
+        updates.execute(new Runnable() {
             @Override
             public void run() {
                 synchronized (app) {
@@ -353,9 +410,9 @@ public class CountdownDisplay extends VerticalLayout implements
                         break;
                     }
                 }
-                app.push();
+                app.pushNow();
             }
-        }).start();
+        });
     }
 
     /**
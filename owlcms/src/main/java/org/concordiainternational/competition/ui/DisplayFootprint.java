@@ -0,0 +1,116 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.ui;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps count of the display-only applications (opened under /d/) and, on request, of the heap they use.
+ * <p>
+ * Measuring is for benchmark runs only: with -Dowlcms.measureDisplayHeap=true, a garbage collection is forced and the heap in use is read
+ * before the first display is created (the baseline), then each time a display opens (before it is built, so the displays already open
+ * are complete) or closes. The difference with the baseline divided by the number of displays measured is the cost of one display.
+ * Without the property only the displays are counted. Figures are logged at debug level.
+ * </p>
+ *
+ * @author jflamy
+ */
+public final class DisplayFootprint {
+
+    private static final Logger logger = LoggerFactory.getLogger(DisplayFootprint.class);
+
+    private static final boolean MEASURE = Boolean.getBoolean("owlcms.measureDisplayHeap"); //$NON-NLS-1$
+
+    private static final Map<CompetitionApplication, Boolean> displays = Collections
+            .synchronizedMap(new WeakHashMap<CompetitionApplication, Boolean>());
+
+    private static long baselineHeap = -1;
+    private static long lastHeap;
+    /** the number of complete displays when lastHeap was read. */
+    private static int measuredDisplays;
+
+    private DisplayFootprint() {
+    }
+
+    /**
+     * @param app
+     *            a display-only application about to create its layout.
+     */
+    static void opening(CompetitionApplication app) {
+        synchronized (DisplayFootprint.class) {
+            if (MEASURE) {
+                final long heap = usedHeap();
+                if (displays.isEmpty()) {
+                    baselineHeap = heap;
+                    measuredDisplays = 0;
+                } else {
+                    lastHeap = heap;
+                    measuredDisplays = displays.size();
+                }
+            }
+            displays.put(app, Boolean.TRUE);
+        }
+        logger.debug("{}", getReport()); //$NON-NLS-1$
+    }
+
+    /**
+     * @param app
+     *            a display-only application being closed.
+     */
+    static void closed(CompetitionApplication app) {
+        synchronized (DisplayFootprint.class) {
+            if (displays.remove(app) == null) {
+                return;
+            }
+            if (MEASURE) {
+                if (displays.isEmpty()) {
+                    baselineHeap = -1;
+                    measuredDisplays = 0;
+                } else {
+                    lastHeap = usedHeap();
+                    measuredDisplays = displays.size();
+                }
+            }
+        }
+        logger.debug("{}", getReport()); //$NON-NLS-1$
+    }
+
+    public static int getDisplayCount() {
+        return displays.size();
+    }
+
+    /**
+     * @return bytes of heap per display at the last reading; 0 if not measuring or nothing measured yet.
+     */
+    public static synchronized long getHeapPerDisplay() {
+        if (!MEASURE || measuredDisplays == 0 || baselineHeap < 0) {
+            return 0;
+        }
+        return Math.max(0, lastHeap - baselineHeap) / measuredDisplays;
+    }
+
+    public static String getReport() {
+        return "displays=" + getDisplayCount() //$NON-NLS-1$
+                + (MEASURE ? " heapPerDisplay=" + (getHeapPerDisplay() / 1024) + "KB" : ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private static long usedHeap() {
+        // several passes, a single request does not always collect everything.
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+}
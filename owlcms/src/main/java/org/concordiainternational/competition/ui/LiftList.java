@@ -285,7 +285,9 @@ public class LiftList extends GenericBeanList<Lifter> implements
     protected void loadData() {
         logger.debug("loadData for {}, size={}", mode, masterDataForCurrentPlatform.lifters.size()); //$NON-NLS-1$
         logger.debug("masterDataForCurrentPlatform={}", masterDataForCurrentPlatform); //$NON-NLS-1$
-        List<Lifter> lifters = masterDataForCurrentPlatform.getAttemptOrder();
+        // the announcer's thread sorts the lists; the other consoles show the order as last published.
+        List<Lifter> lifters = (mode == AnnouncerView.Mode.ANNOUNCER ? masterDataForCurrentPlatform.getAttemptOrder()
+                : masterDataForCurrentPlatform.getSnapshot().getLiftingOrder());
         if (lifters != null && !lifters.isEmpty()) {
             final BeanItemContainer<Lifter> cont = new BeanItemContainer<Lifter>(Lifter.class, lifters);
             table.setContainerDataSource(cont);
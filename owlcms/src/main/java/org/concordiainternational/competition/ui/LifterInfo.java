@@ -17,15 +17,17 @@ import org.concordiainternational.competition.decision.DecisionEventListener;
 import org.concordiainternational.competition.decision.Sound;
 import org.concordiainternational.competition.i18n.Messages;
 import org.concordiainternational.competition.timer.CountdownTimer;
-import org.concordiainternational.competition.timer.CountdownTimerListener;
+import org.concordiainternational.competition.timer.StateChangeCountdownListener;
 import org.concordiainternational.competition.ui.AnnouncerView.Mode;
 import org.concordiainternational.competition.ui.SessionData.UpdateEvent;
 import org.concordiainternational.competition.ui.SessionData.UpdateEventListener;
 import org.concordiainternational.competition.ui.components.ApplicationView;
+import org.concordiainternational.competition.ui.components.BrowserCountdown;
 import org.concordiainternational.competition.ui.components.TimerControls;
 import org.concordiainternational.competition.ui.generators.TimeFormatter;
 import org.concordiainternational.competition.ui.generators.TryFormatter;
 import org.concordiainternational.competition.utils.LoggerUtils;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vaadin.notifique.Notifique;
@@ -55,7 +57,7 @@ import com.vaadin.ui.Window.Notification;
  * 
  */
 public class LifterInfo extends VerticalLayout implements
-        CountdownTimerListener,
+        StateChangeCountdownListener,
         DecisionEventListener,
         ApplicationView,
         Notifyable, UpdateEventListener
@@ -64,6 +66,7 @@ public class LifterInfo extends VerticalLayout implements
     //    private static final Logger timingLogger = LoggerFactory.getLogger("timing."+SessionData.class.getSimpleName()); //$NON-NLS-1$
     private static final Logger buttonLogger = LoggerFactory.getLogger("buttons." + SessionData.class.getSimpleName()); //$NON-NLS-1$
     private static Logger listenerLogger = LoggerFactory.getLogger("listeners." + SessionData.class.getSimpleName()); //$NON-NLS-1$
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(LifterInfo.class);
 
     private static final long serialVersionUID = -3687013148334708795L;
     public Locale locale;
@@ -71,6 +74,7 @@ public class LifterInfo extends VerticalLayout implements
     public String identifier;
     private SessionData groupData;
     private Label timerDisplay;
+    private final BrowserCountdown browserCountdown = new BrowserCountdown();
     private CompetitionApplication app;
     private Mode mode;
     private CheckBox actAsTimekeeper = new CheckBox();
@@ -336,6 +340,7 @@ public class LifterInfo extends VerticalLayout implements
 
         buttonLogger.debug("setting data to {}", groupData1.getCurrentSession().getName());
         timerDisplay.setData(groupData1);
+        browserCountdown.attach(timerDisplay);
 
         // we set the value to the time allowed for the current lifter as
         // computed by groupData
@@ -345,6 +350,13 @@ public class LifterInfo extends VerticalLayout implements
         logger.debug("timeAllowed={} timer.isRunning()={}", timeAllowed, running); //$NON-NLS-1$
         if (!running) {
             setTimerDisplay(timeAllowed);
+        } else if (timer.isStateChangesOnly()) {
+            // no ticks will come to update the new label.
+            final Long runningTimeRemaining = timer.getRunningTimeRemaining();
+            if (runningTimeRemaining != null) {
+                setTimerDisplay(runningTimeRemaining.intValue());
+                browserCountdown.start(app.getMainWindow(), runningTimeRemaining.intValue(), getAnnouncedIndicator(groupData1));
+            }
         }
         this.addComponent(timerDisplay);
     }
@@ -391,6 +403,13 @@ public class LifterInfo extends VerticalLayout implements
         }
     }
 
+    /**
+     * @return true if the time is counted down by the browser between timer events.
+     */
+    private boolean countsDownInBrowser() {
+        return groupData != null && groupData.getTimer().isStateChangesOnly();
+    }
+
     public String getAnnouncedIndicator(SessionData groupData1) {
         return groupData1 != null &&
                 groupData1.isAnnounced()
@@ -520,6 +539,9 @@ public class LifterInfo extends VerticalLayout implements
         prevTimeRemaining = remaining;
 
         synchronized (app) {
+            if (countsDownInBrowser()) {
+                browserCountdown.stop(app.getMainWindow());
+            }
             timerDisplay.setEnabled(false); // show that timer has stopped.
             setTimerDisplay(remaining);
             timerControls.enableButtons(groupData, "LifterInfo forceTimeRemaining");
@@ -538,6 +560,10 @@ public class LifterInfo extends VerticalLayout implements
             if (timerControls != null) {
                 timerControls.enableButtons(groupData, "LifterInfo pause");
             }
+            if (timerDisplay != null && countsDownInBrowser()) {
+                browserCountdown.stop(app.getMainWindow());
+                setTimerDisplay(timeRemaining);
+            }
             if (timerDisplay != null) {
                 timerDisplay.setEnabled(false);
             }
@@ -616,6 +642,11 @@ public class LifterInfo extends VerticalLayout implements
             }
             if (timerDisplay != null) {
                 timerDisplay.setEnabled(true);
+                if (countsDownInBrowser()) {
+                    prevTimeRemaining = timeRemaining;
+                    setTimerDisplay(timeRemaining);
+                    browserCountdown.start(app.getMainWindow(), timeRemaining, getAnnouncedIndicator(groupData));
+                }
             }
         }
         app.push();
@@ -629,6 +660,10 @@ public class LifterInfo extends VerticalLayout implements
             if (timerControls != null) {
                 timerControls.enableButtons(groupData, "LifterInfo stop");
             }
+            if (timerDisplay != null && countsDownInBrowser()) {
+                browserCountdown.stop(app.getMainWindow());
+                setTimerDisplay(timeRemaining);
+            }
             if (timerDisplay != null) {
                 timerDisplay.setEnabled(false);
             }
@@ -706,7 +741,7 @@ public class LifterInfo extends VerticalLayout implements
      */
     @Override
     public void updateEvent(final DecisionEvent updateEvent) {
-        new Thread(new Runnable() {
+        updates.execute(new Runnable() {
             @Override
             public void run() {
                 // show a notification
@@ -799,7 +834,7 @@ public class LifterInfo extends VerticalLayout implements
                 }
             }
 
-        }).start();
+        });
     }
 
     public void doDisplayDecision(final Boolean accepted, Integer attemptedWeight, final Lifter lifter2) {
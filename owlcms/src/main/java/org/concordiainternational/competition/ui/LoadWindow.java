@@ -11,11 +11,13 @@ import java.util.Locale;
 
 import org.concordiainternational.competition.data.Lifter;
 import org.concordiainternational.competition.data.Platform;
+import org.concordiainternational.competition.data.PlatformLookup;
 import org.concordiainternational.competition.i18n.Messages;
 import org.concordiainternational.competition.ui.PlatesInfoEvent.PlatesInfoListener;
 import org.concordiainternational.competition.ui.SessionData.UpdateEvent;
 import org.concordiainternational.competition.ui.SessionData.UpdateEventListener;
 import org.concordiainternational.competition.ui.components.Menu;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,11 +45,14 @@ public class LoadWindow extends Window implements Property.ValueChangeListener,
     private static final long serialVersionUID = 4907861433698426676L;
 
     private static final Logger logger = LoggerFactory.getLogger(LoadWindow.class);
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(LoadWindow.class);
 
     private GridLayout grid = null;
     LifterInfo lifterCardIdentification;
     boolean ignoreChanges;
     private Item availablePlates;
+    /** the platform shown in availablePlates. */
+    private Platform editedPlatform;
     private SessionData masterData;
     private LoadImage imageArea;
 
@@ -110,12 +115,12 @@ public class LoadWindow extends Window implements Property.ValueChangeListener,
         groupDataListener = new SessionData.UpdateEventListener() {
             @Override
             public void updateEvent(UpdateEvent updateEvent) {
-                new Thread(new Runnable() {
+                updates.execute(new Runnable() {
                     @Override
                     public void run() {
                         display(locale);
                     }
-                }).start();
+                });
             }
         };
         masterData.addListener(groupDataListener);
@@ -142,6 +147,7 @@ public class LoadWindow extends Window implements Property.ValueChangeListener,
         CompetitionApplication app1 = CompetitionApplication.getCurrent();
         Platform platform = masterData.getPlatform();
         logger.debug("diplaying platform {} {}", platform.getName(), platform);
+        editedPlatform = platform;
         availablePlates = new BeanItem<Platform>(platform);
         synchronized (app1) {
             boolean gridIsVisible = (grid == null ? false : grid.isVisible());
@@ -351,9 +357,14 @@ public class LoadWindow extends Window implements Property.ValueChangeListener,
             } else {
                 availablePlates.getItemProperty("officialBar").setValue(computeOfficialBarWeight());
             }
-            CompetitionApplication.getCurrent().getHbnSession().merge(masterData.getPlatform());
-            // logger.debug("value change, after merge, collars: {}",masterData.getPlatform().getNbC_2_5());
-            imageArea.computeImageArea(masterData, masterData.getPlatform(), true);
+            // the platform being edited, which is no longer the one in memory if the platforms were reloaded since.
+            final Platform edited = editedPlatform;
+            CompetitionApplication.getCurrent().getHbnSession().merge(edited);
+            // logger.debug("value change, after merge, collars: {}",edited.getNbC_2_5());
+            if (masterData.getPlatform() != edited) {
+                PlatformLookup.getSharedInstance().reload();
+            }
+            imageArea.computeImageArea(masterData, edited, true);
             masterData.fireBlackBoardEvent(new PlatesInfoEvent(this));
         } finally {
             ignoreChanges = prevIgnoreChanges;
@@ -16,6 +16,7 @@ import org.concordiainternational.competition.i18n.Messages;
 import org.concordiainternational.competition.mobile.IRefereeConsole;
 import org.concordiainternational.competition.ui.components.ApplicationView;
 import org.concordiainternational.competition.utils.LoggerUtils;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +52,7 @@ public class OJuryConsole extends VerticalLayout implements DecisionEventListene
     private CompetitionApplication app = CompetitionApplication.getCurrent();
 
     private Logger logger = LoggerFactory.getLogger(OJuryConsole.class);
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(OJuryConsole.class);
 
     private Integer refereeIndex = null;
 
@@ -136,21 +138,21 @@ public class OJuryConsole extends VerticalLayout implements DecisionEventListene
             public void layoutClick(LayoutClickEvent event) {
                 Component child = event.getChildComponent();
                 if (child == red) {
-                    new Thread(new Runnable() {
+                    updates.execute(new Runnable() {
                         @Override
                         public void run() {
                             decisionController
                                     .decisionMade(refereeIndex, false);
                         }
-                    }).start();
+                    });
                     redSelected();
                 } else if (child == white) {
-                    new Thread(new Runnable() {
+                    updates.execute(new Runnable() {
                         @Override
                         public void run() {
                             decisionController.decisionMade(refereeIndex, true);
                         }
-                    }).start();
+                    });
                     whiteSelected();
                 }
             }
@@ -205,7 +207,7 @@ public class OJuryConsole extends VerticalLayout implements DecisionEventListene
 
     @Override
     public void updateEvent(final DecisionEvent updateEvent) {
-        new Thread(new Runnable() {
+        updates.execute(new Runnable() {
             @Override
             public void run() {
                 synchronized (app) {
@@ -248,7 +250,7 @@ public class OJuryConsole extends VerticalLayout implements DecisionEventListene
                 }
                 app.push();
             }
-        }).start();
+        });
     }
 
     /**
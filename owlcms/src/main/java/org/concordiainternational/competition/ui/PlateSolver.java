@@ -0,0 +1,265 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.data.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes which plates to load on the bar from the plates available on a {@link Platform} (the NbL_*, NbS_* and NbC_* counts).
+ * <p>
+ * The result only depends on the inventory, the bar and the requested weight, so it is kept per inventory: the attempt boards, the
+ * loaders' view and the load window all get the same list, and editing the inventory simply starts a new set of results. After each
+ * change of lifting order the next lifters' requests are solved ahead of time (see {@link #solveUpcoming(SessionSnapshot, Platform)}), so
+ * the loaders do not wait when the next lifter is called.
+ * </p>
+ * 
+ * @author jflamy
+ */
+public final class PlateSolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlateSolver.class);
+
+    /** number of lifters, in lifting order, whose loading is computed ahead of time. */
+    static final int UPCOMING = Integer.getInteger("owlcms.upcomingLoads", 6); //$NON-NLS-1$
+
+    /** inventories remembered; older ones are forgotten (the inventory changes a few times per competition). */
+    private static final int MAX_INVENTORIES = 8;
+
+    @SuppressWarnings("serial")
+    private static final Map<String, Map<Integer, List<String>>> solutions = Collections
+            .synchronizedMap(new LinkedHashMap<String, Map<Integer, List<String>>>(16, 0.75F, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Map<Integer, List<String>>> eldest) {
+                    return size() > MAX_INVENTORIES;
+                }
+            });
+
+    private static final AtomicLong solved = new AtomicLong();
+    private static final AtomicLong reused = new AtomicLong();
+
+    private PlateSolver() {
+    }
+
+    /**
+     * @param platform
+     *            gives the plates available
+     * @param barWeight
+     * @param requestedWeight
+     * @return the plates to load, from the bar to the outside, as the style names used by {@link LoadImage}; empty if nothing is
+     *         requested. The list must not be modified.
+     */
+    public static List<String> solve(Platform platform, int barWeight, int requestedWeight) {
+        final Map<Integer, List<String>> forInventory = solutionsFor(inventoryOf(platform));
+        final Integer key = barWeight * 10000 + requestedWeight;
+        List<String> plates = forInventory.get(key);
+        if (plates == null) {
+            plates = Collections.unmodifiableList(computePlates(platform, barWeight, requestedWeight));
+            forInventory.put(key, plates);
+            solved.incrementAndGet();
+        } else {
+            reused.incrementAndGet();
+        }
+        return plates;
+    }
+
+    /**
+     * Solve the requests of the next lifters in the lifting order, so that they are ready when each one is called.
+     * 
+     * @param snapshot
+     * @param platform
+     */
+    public static void solveUpcoming(SessionSnapshot snapshot, Platform platform) {
+        if (platform == null) {
+            return;
+        }
+        int count = 0;
+        for (Lifter lifter : snapshot.getLiftingOrder()) {
+            if (count >= UPCOMING) {
+                break;
+            }
+            final Integer weight = lifter.getNextAttemptRequestedWeight();
+            if (weight == null || weight <= 0 || lifter.getAttemptsDone() >= 6) {
+                continue;
+            }
+            solve(platform, barWeight(platform, lifter), weight);
+            count++;
+        }
+        logger.trace("{}", getReport()); //$NON-NLS-1$
+    }
+
+    private static Map<Integer, List<String>> solutionsFor(String inventory) {
+        synchronized (solutions) {
+            Map<Integer, List<String>> forInventory = solutions.get(inventory);
+            if (forInventory == null) {
+                forInventory = new ConcurrentHashMap<Integer, List<String>>();
+                solutions.put(inventory, forInventory);
+            }
+            return forInventory;
+        }
+    }
+
+    /**
+     * @param platform
+     * @return the bar and plates available, as a string; two platforms with the same plates share their solutions.
+     */
+    public static String inventoryOf(Platform platform) {
+        if (platform == null) {
+            return ""; //$NON-NLS-1$
+        }
+        return platform.getLightBar() + ":" + platform.getNbC_2_5() //$NON-NLS-1$
+                + ":" + platform.getNbL_25() + ":" + platform.getNbL_20() + ":" + platform.getNbL_15() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + ":" + platform.getNbL_10() + ":" + platform.getNbL_5() + ":" + platform.getNbL_2_5() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + ":" + platform.getNbS_5() + ":" + platform.getNbS_2_5() + ":" + platform.getNbS_2() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + ":" + platform.getNbS_1_5() + ":" + platform.getNbS_1() + ":" + platform.getNbS_0_5(); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    public static String getReport() {
+        return "PlateSolver solved=" + solved.get() + " reused=" + reused.get() + " inventories=" + solutions.size(); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    /**
+     * The greedy loading: large plates first, the collar before the small change.
+     * 
+     * @param platform
+     *            gives the plates available
+     * @param barWeight
+     * @param requestedWeight
+     * @return the style names; empty if nothing is requested.
+     */
+    private static List<String> computePlates(Platform platform, final int barWeight, final int requestedWeight) {
+        final Loading loading = new Loading(requestedWeight);
+        if (loading.weight == 0)
+            return loading.styles;
+        // compute the bar and collar first.
+
+        loading.addPlates(1, "bar", barWeight);
+        loading.addPlates(1, "barInner", 0);
+        final Integer collarAvailable = platform.getNbC_2_5();
+        boolean useCollar = collarAvailable > 0;
+
+        if (loading.weight >= 25) {
+            if (useCollar) {
+                // we only take off the collar weight because we need to
+                // wait before showing the collar.
+                loading.weight -= 5;
+            }
+
+            // use large plates first
+            loading.addPlates(platform.getNbL_25(), "L_25", 2 * 25);
+            loading.addPlates(platform.getNbL_20(), "L_20", 2 * 20);
+            loading.addPlates(platform.getNbL_15(), "L_15", 2 * 15);
+            loading.addPlates(platform.getNbL_10(), "L_10", 2 * 10);
+        } else {
+            int nonBarWeight = loading.weight;
+            // make sure that large 5 and large 2.5 are only used when warranted
+            // (must not require manual intervention if they are available)
+            if (platform.getNbL_2_5() > 0 && nonBarWeight < 10 ||
+                    platform.getNbL_5() > 0 && nonBarWeight < 15) {
+                useCollar = false;
+            }
+            if (useCollar) {
+                // we take off the collar weight because we need to
+                // wait before showing the collar.
+                loading.weight -= 5;
+                nonBarWeight -= 5;
+            }
+            loading.addPlates(platform.getNbL_10(), "L_10", 2 * 10);
+            loading.addPlates(platform.getNbL_5(), "L_5", 2 * 5);
+            if (nonBarWeight < 10) {
+                loading.addPlates(platform.getNbL_2_5(), "L_2_5", 2 * 2.5);
+            }
+
+        }
+
+        // add the small plates
+        loading.addPlates(platform.getNbS_5(), "S_5", 2 * 5);
+        loading.addPlates(platform.getNbS_2_5(), "S_2_5", 2 * 2.5);
+        // collar is depicted here
+        if (useCollar) {
+            // we add back the collar weight we took off above
+            loading.weight += 5;
+            loading.addPlates(collarAvailable, "C_2_5", 2 * 2.5);
+        }
+        // remainder of small plates
+        loading.addPlates(platform.getNbS_2(), "S_2", 2 * 2);
+        loading.addPlates(platform.getNbS_1_5(), "S_1_5", 2 * 1.5);
+        loading.addPlates(platform.getNbS_1(), "S_1", 2 * 1);
+        loading.addPlates(platform.getNbS_0_5(), "S_0_5", 2 * 0.5);
+        loading.addPlates(1, "barOuter", 0);
+        return loading.styles;
+    }
+
+    /**
+     * Weight still to be loaded, and the plates chosen so far.
+     */
+    private static class Loading {
+        private int weight;
+        private final List<String> styles = new ArrayList<String>();
+
+        Loading(int weight) {
+            this.weight = weight;
+        }
+
+        /**
+         * @param availablePlates
+         * @param style
+         * @param plateWeight
+         * @return
+         */
+        private int addPlates(Integer availablePlates, String style, double plateWeight) {
+            int subtractedWeight = 0;
+            while (availablePlates > 0 && weight >= plateWeight) {
+                styles.add(style);
+                final long delta = Math.round(plateWeight);
+                weight -= delta;
+                subtractedWeight += delta;
+                availablePlates--;
+            }
+            return subtractedWeight;
+        }
+    }
+
+    /**
+     * @param platform
+     * @param currentLifter
+     * @return the light bar if the platform uses one, else the official bar for the lifter's gender.
+     */
+    public static Integer barWeight(Platform platform, Lifter currentLifter) {
+        if (platform == null)
+            return 0;
+        if (platform.getLightBar() > 0) {
+            return platform.getLightBar();
+        } else {
+            return computeOfficialBarWeight(currentLifter);
+        }
+    }
+
+    /**
+     * @return
+     */
+    private static Integer computeOfficialBarWeight(Lifter currentLifter) {
+        String gender = "M";
+        if (currentLifter != null) {
+            gender = currentLifter.getGender();
+        }
+        final int expectedBarWeight = "M".equals(gender) ? 20 : 15;
+        return expectedBarWeight;
+    }
+
+}
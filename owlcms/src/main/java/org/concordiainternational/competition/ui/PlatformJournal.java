@@ -0,0 +1,639 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.ui;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.concordiainternational.competition.data.CompetitionSession;
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.decision.Decision;
+import org.concordiainternational.competition.timer.CountdownTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only record of what happens on a platform: session selected, declarations and changes, lift results, referee decisions, clock
+ * starts and stops.
+ * <p>
+ * Records are binary, length-prefixed and written in sequence through a {@link FileChannel}, one file per platform next to the database.
+ * Every {@link #SNAPSHOT_INTERVAL} events, and whenever a session is loaded, a snapshot of the session and the clock is written, and the
+ * header of the file is updated to point at it. On restart, replay reads from the last snapshot on, and the clock of the current lifter
+ * gets its time back.
+ * </p>
+ * <p>
+ * This journal does not rebuild the lifters: a restart still loads the session from the database, which the lifter journal has brought
+ * up to date (see {@link org.concordiainternational.competition.data.LifterWriteBehind}). The attempts recorded here are for the record.
+ * </p>
+ * <p>
+ * When a different session is loaded the file is set aside under a name carrying the date and time, and a new one is started. Files are
+ * never rewritten, so they are also the record to consult when a jury decision is disputed ({@link #main(String[])} prints them).
+ * </p>
+ *
+ * @author jflamy
+ */
+public class PlatformJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlatformJournal.class);
+
+    /** events between snapshots, -Dowlcms.journalSnapshotEvery to change. */
+    static final int SNAPSHOT_INTERVAL = Integer.getInteger("owlcms.journalSnapshotEvery", 200); //$NON-NLS-1$
+
+    // header: magic number, then position of the last snapshot.
+    private static final int MAGIC = 0x4F574C4A; // OWLJ
+    private static final int HEADER_SIZE = 4 + 8;
+
+    // record types
+    private static final byte SESSION = 1;
+    private static final byte ATTEMPT = 2;
+    private static final byte DECISION = 3;
+    private static final byte CLOCK = 4;
+    private static final byte SNAPSHOT = 5;
+
+    // clock states
+    private static final byte CLOCK_START = 0;
+    private static final byte CLOCK_PAUSE = 1;
+    private static final byte CLOCK_STOP = 2;
+    private static final byte CLOCK_FORCE = 3;
+    private static final byte CLOCK_EXPIRED = 4;
+    private static final String[] CLOCK_STATES = { "start", "pause", "stop", "force", "expired" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+    /** getters of the lifter properties that make up the attempts, by property. */
+    private static final Map<String, Method> getters = new HashMap<String, Method>();
+    static {
+        final List<String> properties = new ArrayList<String>();
+        for (String lift : new String[] { "snatch", "cleanJerk" }) { //$NON-NLS-1$ //$NON-NLS-2$
+            for (int attempt = 1; attempt <= 3; attempt++) {
+                for (String kind : new String[] { "Declaration", "Change1", "Change2", "ActualLift" }) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+                    properties.add(lift + attempt + kind);
+                }
+            }
+        }
+        for (String property : properties) {
+            final String suffix = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+            try {
+                getters.put(property, Lifter.class.getMethod("get" + suffix)); //$NON-NLS-1$
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static String location = null;
+
+    /** journals open, closed on shutdown; guarded by PlatformJournal.class. */
+    private static final Set<PlatformJournal> opened = new HashSet<PlatformJournal>();
+
+    private final SessionData masterData;
+    /** file name without the .events extension. */
+    private final String baseName;
+    private final File file;
+    private RandomAccessFile raf;
+    private FileChannel channel;
+    private int eventsSinceSnapshot = 0;
+    private int replayedRecords = 0;
+    private String sessionName = ""; //$NON-NLS-1$
+
+    /** what the previous run left; consumed by the first load of a session. */
+    private Recovered recovered;
+
+    /**
+     * State rebuilt from the last snapshot and the events after it.
+     */
+    private static class Recovered {
+        String sessionName = ""; //$NON-NLS-1$
+        long clockOwnerId = -1;
+        int timeRemaining = 0;
+    }
+
+    /**
+     * One record being written.
+     */
+    private static class Record {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        final DataOutputStream out = new DataOutputStream(bytes);
+    }
+
+    /**
+     * Journals are only kept when a location is set (not in tests).
+     *
+     * @param dbPath
+     *            journals are written as dbPath.platformName.events
+     */
+    public static void setLocation(String dbPath) {
+        location = dbPath;
+    }
+
+    /**
+     * Open the journal of the platform, replaying what a previous run left.
+     *
+     * @param platformName
+     * @param masterData
+     * @return null if journals are not kept or the file cannot be used.
+     */
+    static PlatformJournal open(String platformName, SessionData masterData) {
+        if (location == null || platformName == null || platformName.isEmpty()) {
+            return null;
+        }
+        final String baseName = location + "." + platformName.replaceAll("[^A-Za-z0-9_-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        try {
+            final PlatformJournal journal = new PlatformJournal(baseName, masterData);
+            synchronized (PlatformJournal.class) {
+                opened.add(journal);
+            }
+            return journal;
+        } catch (IOException e) {
+            logger.error("platform journal {} unusable, continuing without it: {}", baseName, e); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    /**
+     * Close all the journals; on shutdown.
+     */
+    public static void closeAll() {
+        final List<PlatformJournal> journals;
+        synchronized (PlatformJournal.class) {
+            journals = new ArrayList<PlatformJournal>(opened);
+        }
+        for (PlatformJournal journal : journals) {
+            journal.close();
+        }
+    }
+
+    private PlatformJournal(String baseName, SessionData masterData) throws IOException {
+        this.baseName = baseName;
+        this.file = new File(baseName + ".events"); //$NON-NLS-1$
+        this.masterData = masterData;
+        openFile();
+        if (!hasHeader()) {
+            // empty, or written in an earlier format: keep it for the record and start afresh.
+            if (channel.size() > 0) {
+                setAside();
+            }
+            writeHeader(HEADER_SIZE);
+        }
+        final long start = System.nanoTime();
+        final long end = replay();
+        // drop a record cut short by a crash, and append after the last good one.
+        channel.truncate(end);
+        channel.position(end);
+        sessionName = recovered.sessionName;
+        logger.info("replayed {} records of {} in {} ms, session {}", //$NON-NLS-1$
+                new Object[] { replayedRecords, file.getName(), (System.nanoTime() - start) / 1000000, recovered.sessionName });
+    }
+
+    private void openFile() throws IOException {
+        raf = new RandomAccessFile(file, "rw"); //$NON-NLS-1$
+        channel = raf.getChannel();
+        channel.position(channel.size());
+    }
+
+    private boolean hasHeader() throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            return false;
+        }
+        final ByteBuffer magic = ByteBuffer.allocate(4);
+        channel.read(magic, 0);
+        magic.flip();
+        return magic.getInt() == MAGIC;
+    }
+
+    private void writeHeader(long lastSnapshot) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putLong(lastSnapshot);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    /**
+     * Rename the current file, keeping the date and time in its name, and start a new one.
+     *
+     * @throws IOException
+     *             if the file could not be renamed; records keep being appended to it.
+     */
+    private void setAside() throws IOException {
+        channel.force(false);
+        raf.close();
+        final File aside = new File(baseName + "." + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".events"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        final boolean renamed = !aside.exists() && file.renameTo(aside);
+        openFile();
+        if (!renamed) {
+            throw new IOException("could not rename " + file.getAbsolutePath() + " to " + aside.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        logger.info("{} set aside as {}", file.getName(), aside.getName()); //$NON-NLS-1$
+    }
+
+    /**
+     * Read the file from the last snapshot, keeping the state as of that snapshot plus the events after it.
+     *
+     * @return the position after the last complete record.
+     * @throws IOException
+     */
+    private long replay() throws IOException {
+        recovered = new Recovered();
+        replayedRecords = 0;
+        final long size = channel.size();
+        final ByteBuffer header = ByteBuffer.allocate(8);
+        channel.read(header, 4);
+        header.flip();
+        long position = header.getLong();
+        if (position < HEADER_SIZE || position > size) {
+            position = HEADER_SIZE;
+        }
+
+        final ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+        while (position + 4 <= size) {
+            lengthBuffer.clear();
+            channel.read(lengthBuffer, position);
+            lengthBuffer.flip();
+            final int length = lengthBuffer.getInt();
+            if (length <= 0 || position + 4 + length > size) {
+                break;
+            }
+            final ByteBuffer body = ByteBuffer.allocate(length);
+            channel.read(body, position + 4);
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(body.array()));
+            try {
+                final byte type = in.readByte();
+                in.readLong(); // time
+                switch (type) {
+                case SESSION:
+                    recovered = new Recovered();
+                    recovered.sessionName = in.readUTF();
+                    break;
+                case CLOCK:
+                    in.readByte();
+                    recovered.timeRemaining = in.readInt();
+                    recovered.clockOwnerId = in.readLong();
+                    break;
+                case SNAPSHOT:
+                    recovered = readSnapshot(in);
+                    break;
+                default:
+                    // attempts and decisions are for the record only.
+                    break;
+                }
+            } catch (IOException e) {
+                logger.warn("{}: unreadable record at {}, ignoring the rest: {}", new Object[] { file.getName(), position, e }); //$NON-NLS-1$
+                break;
+            }
+            replayedRecords++;
+            position += 4 + length;
+        }
+        return position;
+    }
+
+    private static Recovered readSnapshot(DataInputStream in) throws IOException {
+        final Recovered snapshot = new Recovered();
+        snapshot.sessionName = in.readUTF();
+        snapshot.clockOwnerId = in.readLong();
+        snapshot.timeRemaining = in.readInt();
+        return snapshot;
+    }
+
+    /**
+     * @return the number of records read on opening, from the last snapshot on.
+     */
+    int getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    /**
+     * Give the current lifter back the time left on the clock when the previous run stopped; done once, on the first session loaded.
+     *
+     * @param session
+     * @param timer
+     * @param currentLifter
+     */
+    synchronized void recoverClock(CompetitionSession session, CountdownTimer timer, Lifter currentLifter) {
+        if (recovered == null || session == null || !recovered.sessionName.equals(session.getName())) {
+            // another session was chosen, what was left no longer applies.
+            recovered = null;
+            return;
+        }
+        if (currentLifter != null && currentLifter.getId() != null && currentLifter.getId() == recovered.clockOwnerId
+                && recovered.timeRemaining > 0) {
+            timer.setOwner(currentLifter);
+            timer.forceTimeRemaining(recovered.timeRemaining);
+            logger.info("recovered clock {} for {}", recovered.timeRemaining, currentLifter); //$NON-NLS-1$
+        }
+        recovered = null;
+    }
+
+    /**
+     * A session has been loaded: record it, followed by a snapshot. A different session starts a new file.
+     *
+     * @param session
+     */
+    synchronized void sessionLoaded(CompetitionSession session) {
+        final String name = session != null ? session.getName() : ""; //$NON-NLS-1$
+        try {
+            if (!name.equals(sessionName) && channel.isOpen() && channel.size() > HEADER_SIZE) {
+                setAside();
+                writeHeader(HEADER_SIZE);
+                channel.position(HEADER_SIZE);
+            }
+        } catch (IOException e) {
+            logger.error("could not start a new file for {}: {}", file, e); //$NON-NLS-1$
+        }
+        sessionName = name;
+
+        final Record record = start(SESSION);
+        try {
+            record.out.writeUTF(name);
+        } catch (IOException e) {
+            // in memory
+        }
+        write(record);
+        snapshot();
+    }
+
+    /**
+     * Record the attempt properties among those changed.
+     *
+     * @param lifter
+     * @param propertyIds
+     */
+    synchronized void lifterUpdated(Lifter lifter, List<String> propertyIds) {
+        if (propertyIds == null || lifter.getId() == null) {
+            return;
+        }
+        for (String property : propertyIds) {
+            if (!getters.containsKey(property)) {
+                continue;
+            }
+            final Record record = start(ATTEMPT);
+            try {
+                record.out.writeLong(lifter.getId());
+                record.out.writeUTF(lifter.getLastName() + " " + lifter.getFirstName()); //$NON-NLS-1$
+                record.out.writeUTF(property);
+                record.out.writeUTF(nonNull(get(lifter, property)));
+            } catch (IOException e) {
+                // in memory
+            }
+            append(record);
+        }
+    }
+
+    /**
+     * Record the referee decisions for the lifter.
+     *
+     * @param lifter
+     * @param decisions
+     * @param success
+     */
+    synchronized void decision(Lifter lifter, Decision[] decisions, boolean success) {
+        final Record record = start(DECISION);
+        try {
+            record.out.writeLong(lifter != null && lifter.getId() != null ? lifter.getId() : -1);
+            record.out.writeUTF(lifter != null ? lifter.getLastName() + " " + lifter.getFirstName() : ""); //$NON-NLS-1$ //$NON-NLS-2$
+            record.out.writeByte(decisions.length);
+            for (Decision decision : decisions) {
+                record.out.writeByte(decision.accepted == null ? -1 : (decision.accepted ? 1 : 0));
+            }
+            record.out.writeBoolean(success);
+        } catch (IOException e) {
+            // in memory
+        }
+        append(record);
+    }
+
+    private void clock(byte state, int timeRemaining) {
+        final Lifter owner = masterData.getTimer().getOwner();
+        final Record record = start(CLOCK);
+        try {
+            record.out.writeByte(state);
+            record.out.writeInt(timeRemaining);
+            record.out.writeLong(owner != null && owner.getId() != null ? owner.getId() : -1);
+        } catch (IOException e) {
+            // in memory
+        }
+        append(record);
+    }
+
+    /**
+     * Write the session and the clock, and point the header at them.
+     */
+    private void snapshot() {
+        eventsSinceSnapshot = 0;
+        final Lifter owner = masterData.getTimer().getOwner();
+        final Record record = start(SNAPSHOT);
+        try {
+            record.out.writeUTF(sessionName);
+            record.out.writeLong(owner != null && owner.getId() != null ? owner.getId() : -1);
+            record.out.writeInt(masterData.getTimer().getTimeRemaining());
+        } catch (IOException e) {
+            // in memory
+        }
+        final long position = write(record);
+        if (position >= 0) {
+            try {
+                writeHeader(position);
+            } catch (IOException e) {
+                logger.error("could not update the header of {}: {}", file, e); //$NON-NLS-1$
+            }
+        }
+    }
+
+    private static Record start(byte type) {
+        final Record record = new Record();
+        try {
+            record.out.writeByte(type);
+            record.out.writeLong(System.currentTimeMillis());
+        } catch (IOException e) {
+            // in memory
+        }
+        return record;
+    }
+
+    /**
+     * Write an event, followed by a snapshot when enough events have been written since the last one.
+     */
+    private void append(Record record) {
+        if (write(record) >= 0 && ++eventsSinceSnapshot >= SNAPSHOT_INTERVAL) {
+            snapshot();
+        }
+    }
+
+    /**
+     * @return the position of the record in the file, -1 if it was not written.
+     */
+    private long write(Record record) {
+        if (!channel.isOpen()) {
+            return -1;
+        }
+        try {
+            record.out.flush();
+            final long position = channel.position();
+            final ByteBuffer buffer = ByteBuffer.allocate(4 + record.bytes.size());
+            buffer.putInt(record.bytes.size());
+            buffer.put(record.bytes.toByteArray());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            return position;
+        } catch (IOException e) {
+            logger.error("could not write to {}: {}", file, e); //$NON-NLS-1$
+            return -1;
+        }
+    }
+
+    synchronized void close() {
+        synchronized (PlatformJournal.class) {
+            opened.remove(this);
+        }
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            channel.force(false);
+            raf.close();
+        } catch (IOException e) {
+            logger.error("closing {}: {}", file, e); //$NON-NLS-1$
+        }
+    }
+
+    private static String get(Lifter lifter, String property) {
+        try {
+            return (String) getters.get(property).invoke(lifter);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String nonNull(String value) {
+        return value == null ? "" : value; //$NON-NLS-1$
+    }
+
+    /*
+     * Clock changes, relayed by the session data (see SessionData.JournalClockListener); the journal itself is not a timer listener, since
+     * the listeners of the timer are serialized with it.
+     */
+
+    synchronized void clockStarted(int timeRemaining) {
+        clock(CLOCK_START, timeRemaining);
+    }
+
+    synchronized void clockPaused(int timeRemaining) {
+        clock(CLOCK_PAUSE, timeRemaining);
+    }
+
+    synchronized void clockStopped(int timeRemaining) {
+        clock(CLOCK_STOP, timeRemaining);
+    }
+
+    synchronized void clockForced(int timeRemaining) {
+        clock(CLOCK_FORCE, timeRemaining);
+    }
+
+    synchronized void clockExpired(int timeRemaining) {
+        clock(CLOCK_EXPIRED, timeRemaining);
+    }
+
+    /**
+     * Print a journal, one line per record.
+     *
+     * @param file
+     * @param out
+     * @throws IOException
+     */
+    public static void print(File file, PrintStream out) throws IOException {
+        final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS"); //$NON-NLS-1$
+        final RandomAccessFile in = new RandomAccessFile(file, "r"); //$NON-NLS-1$
+        try {
+            final long size = in.length();
+            if (size < HEADER_SIZE || in.readInt() != MAGIC) {
+                out.println(file.getName() + ": not a platform journal"); //$NON-NLS-1$
+                return;
+            }
+            in.seek(HEADER_SIZE);
+            while (size - in.getFilePointer() >= 4) {
+                final int length = in.readInt();
+                if (length <= 0 || length > size - in.getFilePointer()) {
+                    out.println("record cut short"); //$NON-NLS-1$
+                    break;
+                }
+                final byte[] body = new byte[length];
+                in.readFully(body);
+                final DataInputStream record = new DataInputStream(new ByteArrayInputStream(body));
+                final byte type = record.readByte();
+                final String time = format.format(new Date(record.readLong()));
+                switch (type) {
+                case SESSION:
+                    out.println(time + " session " + record.readUTF()); //$NON-NLS-1$
+                    break;
+                case ATTEMPT:
+                    final long lifterId = record.readLong();
+                    out.println(time + " attempt " + lifterId + " " + record.readUTF() + " " + record.readUTF() + "=" + record.readUTF()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+                    break;
+                case DECISION:
+                    final long decidedId = record.readLong();
+                    final String name = record.readUTF();
+                    final StringBuilder decisions = new StringBuilder();
+                    final int nbDecisions = record.readByte();
+                    for (int i = 0; i < nbDecisions; i++) {
+                        final byte decision = record.readByte();
+                        decisions.append(decision < 0 ? '-' : (decision > 0 ? 'G' : 'N'));
+                    }
+                    out.println(time + " decision " + decidedId + " " + name + " " + decisions //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                            + (record.readBoolean() ? " good" : " no lift")); //$NON-NLS-1$ //$NON-NLS-2$
+                    break;
+                case CLOCK:
+                    final byte state = record.readByte();
+                    final int timeRemaining = record.readInt();
+                    out.println(time + " clock " + CLOCK_STATES[state] + " " + timeRemaining + " owner " + record.readLong()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                    break;
+                case SNAPSHOT:
+                    final Recovered snapshot = readSnapshot(record);
+                    out.println(time + " snapshot session " + snapshot.sessionName + " clock " + snapshot.timeRemaining + " owner " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                            + snapshot.clockOwnerId);
+                    break;
+                default:
+                    out.println(time + " unknown record " + type); //$NON-NLS-1$
+                }
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Print the journals given as arguments.
+     *
+     * @param args
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        for (String fileName : args) {
+            print(new File(fileName), System.out);
+        }
+    }
+
+}
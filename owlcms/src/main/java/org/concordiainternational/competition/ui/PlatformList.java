@@ -10,6 +10,7 @@ package org.concordiainternational.competition.ui;
 import java.util.Locale;
 
 import org.concordiainternational.competition.data.Platform;
+import org.concordiainternational.competition.data.PlatformLookup;
 import org.concordiainternational.competition.data.RuleViolationException;
 import org.concordiainternational.competition.decision.Speakers;
 import org.concordiainternational.competition.i18n.Messages;
@@ -171,6 +172,32 @@ public class PlatformList extends GenericHbnList<Platform> implements Applicatio
                 });
     }
 
+    /*
+     * Platforms are looked up in memory elsewhere; reload them once the edits are done. (non-Javadoc)
+     * 
+     * @see org.concordiainternational.competition.ui.list.GenericHbnList#toggleEditable()
+     */
+    @Override
+    public void toggleEditable() {
+        super.toggleEditable();
+        if (!table.isEditable()) {
+            PlatformLookup.getSharedInstance().reload();
+        }
+    }
+
+    @Override
+    public Object newItem() {
+        final Object newItemId = super.newItem();
+        PlatformLookup.getSharedInstance().reload();
+        return newItemId;
+    }
+
+    @Override
+    public void deleteItem(Object targetId) {
+        super.deleteItem(targetId);
+        PlatformLookup.getSharedInstance().reload();
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.ui;
+
+import java.io.Serializable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.concordiainternational.competition.utils.LoggerUtils;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collapses the pushes requested for an application into at most one per frame.
+ * <p>
+ * A single event (a timer tick, a lifter update, a decision) changes several components, and each change used to push to the browser.
+ * The first request of a frame schedules a push at the end of the frame; the requests that arrive before then are satisfied by that same
+ * push. Decision lights and the down signal must be seen at once, so they use {@link #flush()} instead.
+ * </p>
+ * <p>
+ * The frame length is read from the owlcms.pushFrameMillis system property or the OWLCMS_PUSH_FRAME_MILLIS environment variable; 0
+ * pushes every request immediately, as before.
+ * </p>
+ * <p>
+ * A push waits for the application lock, which a long render or a blocked request can hold for a while. All the applications share one
+ * timer thread, which only posts the push to the {@link ViewUpdateExecutor} mailbox of the application; the push itself runs there, so
+ * a busy application only delays its own pushes. The timer thread goes away when no application is pushing.
+ * </p>
+ *
+ * @author jflamy
+ */
+public class PushCoalescer implements Serializable {
+
+    private static final long serialVersionUID = -3871190218871744512L;
+
+    private static final Logger logger = LoggerFactory.getLogger(PushCoalescer.class);
+
+    private static final long DEFAULT_FRAME_MILLIS = 50;
+    private static final long FRAME_MILLIS = getFrameMillisFromEnvironment();
+
+    /** an idle timer thread ends after this long. */
+    private static final long IDLE_SECONDS = 30;
+    /** shared by all the applications; guarded by the class. */
+    private static ScheduledThreadPoolExecutor scheduler;
+
+    private final CompetitionApplication app;
+    private ViewUpdateExecutor.Mailbox mailbox;
+    private long frameMillis = FRAME_MILLIS;
+
+    private transient ScheduledFuture<?> pending;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong avoided = new AtomicLong();
+
+    PushCoalescer(CompetitionApplication app) {
+        this.app = app;
+    }
+
+    private static long getFrameMillisFromEnvironment() {
+        String frameMillis = System.getProperty("owlcms.pushFrameMillis"); //$NON-NLS-1$
+        if (frameMillis == null) {
+            frameMillis = System.getenv("OWLCMS_PUSH_FRAME_MILLIS"); //$NON-NLS-1$
+        }
+        if (frameMillis == null) {
+            return DEFAULT_FRAME_MILLIS;
+        }
+        try {
+            return Math.max(0, Long.parseLong(frameMillis.trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("ignoring push frame length {}, using {} ms", frameMillis, DEFAULT_FRAME_MILLIS); //$NON-NLS-1$
+            return DEFAULT_FRAME_MILLIS;
+        }
+    }
+
+    private static synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "push"); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            scheduler.setKeepAliveTime(IDLE_SECONDS, TimeUnit.SECONDS);
+            scheduler.allowCoreThreadTimeOut(true);
+        }
+        return scheduler;
+    }
+
+    /**
+     * Stop the timer thread, when the web application is stopped.
+     */
+    public static synchronized void shutdownAll() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Called with the lock of this coalescer held.
+     */
+    private ViewUpdateExecutor.Mailbox getMailbox() {
+        if (mailbox == null) {
+            mailbox = ViewUpdateExecutor.newMailbox(PushCoalescer.class);
+        }
+        return mailbox;
+    }
+
+    /**
+     * Push at the end of the current frame, unless a push is already scheduled.
+     */
+    public void request() {
+        requested.incrementAndGet();
+        if (frameMillis <= 0) {
+            flush();
+            return;
+        }
+        synchronized (this) {
+            if (pending != null) {
+                avoided.incrementAndGet();
+                return;
+            }
+            try {
+                final ViewUpdateExecutor.Mailbox target = getMailbox();
+                pending = getScheduler().schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        // never wait for the application lock on the timer thread.
+                        target.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                scheduledFlush();
+                            }
+                        });
+                    }
+                }, frameMillis, TimeUnit.MILLISECONDS);
+                return;
+            } catch (RejectedExecutionException e) {
+                // shutting down
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Push now. A push scheduled for the current frame becomes unnecessary and is cancelled.
+     */
+    public void flush() {
+        synchronized (this) {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+        doPush();
+    }
+
+    private void scheduledFlush() {
+        synchronized (this) {
+            pending = null;
+        }
+        final CompetitionApplication previousApp = CompetitionApplication.getCurrent();
+        CompetitionApplication.setCurrent(app);
+        try {
+            doPush();
+        } catch (RuntimeException e) {
+            LoggerUtils.errorException(logger, e);
+        } finally {
+            CompetitionApplication.setCurrent(previousApp);
+        }
+    }
+
+    private void doPush() {
+        sent.incrementAndGet();
+        app.pushImmediately();
+    }
+
+    /**
+     * @param frameMillis
+     *            the length of a frame for this application; 0 to push every request immediately.
+     */
+    public void setFrameMillis(long frameMillis) {
+        this.frameMillis = Math.max(0, frameMillis);
+    }
+
+    public long getFrameMillis() {
+        return frameMillis;
+    }
+
+    /**
+     * @return the number of pushes requested by the views.
+     */
+    public long getRequested() {
+        return requested.get();
+    }
+
+    /**
+     * @return the number of pushes actually sent to the browser.
+     */
+    public long getSent() {
+        return sent.get();
+    }
+
+    /**
+     * @return the number of requests satisfied by a push already scheduled.
+     */
+    public long getAvoided() {
+        return avoided.get();
+    }
+
+    @Override
+    public String toString() {
+        return "PushCoalescer frame=" + frameMillis + "ms requested=" + getRequested() + " sent=" + getSent() + " avoided=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+                + getAvoided();
+    }
+
+}
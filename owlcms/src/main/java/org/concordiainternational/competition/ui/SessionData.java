@@ -15,6 +15,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import javax.servlet.ServletContext;
 
@@ -22,9 +24,13 @@ import org.concordiainternational.competition.data.Competition;
 import org.concordiainternational.competition.data.CompetitionSession;
 import org.concordiainternational.competition.data.Lifter;
 import org.concordiainternational.competition.data.LifterContainer;
+import org.concordiainternational.competition.data.LifterWriteBehind;
 import org.concordiainternational.competition.data.Platform;
+import org.concordiainternational.competition.data.lifterSort.ChangeImpact;
+import org.concordiainternational.competition.data.lifterSort.IncrementalLifterSorter;
 import org.concordiainternational.competition.data.lifterSort.LifterSorter;
 import org.concordiainternational.competition.data.lifterSort.LifterSorter.Ranking;
+import org.concordiainternational.competition.data.lifterSort.RankingResult;
 import org.concordiainternational.competition.decision.Decision;
 import org.concordiainternational.competition.decision.IDecisionController;
 import org.concordiainternational.competition.decision.JuryDecisionController;
@@ -36,6 +42,7 @@ import org.concordiainternational.competition.publicAddress.IntermissionTimerEve
 import org.concordiainternational.competition.publicAddress.PublicAddressMessageEvent;
 import org.concordiainternational.competition.publicAddress.PublicAddressMessageEvent.MessageDisplayListener;
 import org.concordiainternational.competition.timer.CountdownTimer;
+import org.concordiainternational.competition.timer.StateChangeCountdownListener;
 import org.concordiainternational.competition.ui.PlatesInfoEvent.PlatesInfoListener;
 import org.concordiainternational.competition.ui.components.DecisionLightsWindow;
 import org.concordiainternational.competition.utils.EventHelper;
@@ -95,6 +102,29 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
     private int timeAllowed;
     private int liftsDone;
 
+    /**
+     * total ranks of the session, replaced as a whole every time the lists are sorted.
+     */
+    private transient volatile RankingResult totalRanking;
+
+    /**
+     * copy of the lists for readers on other threads, replaced as a whole at the end of every sort.
+     */
+    private transient volatile SessionSnapshot snapshot = SessionSnapshot.EMPTY;
+
+    /**
+     * what the attempt boards show, computed from the snapshot by the first board that needs it.
+     */
+    private transient volatile AttemptBoardModel attemptBoardModel;
+    private static final AtomicReferenceFieldUpdater<SessionData, AttemptBoardModel> attemptBoardModelUpdater = AtomicReferenceFieldUpdater
+            .newUpdater(SessionData.class, AttemptBoardModel.class, "attemptBoardModel"); //$NON-NLS-1$
+
+    /**
+     * lifter changes that did not require sorting the lists (see {@link ChangeImpact}).
+     */
+    private final AtomicLong rankingOnlyUpdates = new AtomicLong();
+    private final AtomicLong displayOnlyUpdates = new AtomicLong();
+
     private RefereeDecisionController refereeDecisionController = null;
     private JuryDecisionController juryDecisionController = null;
 
@@ -105,16 +135,57 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
     private Lifter priorLifter;
     private Integer priorRequest;
     private Integer priorRequestNum;
+    /**
+     * true if the lists cannot be updated incrementally, for example because a lifter that was forced as current has been reset and must
+     * be moved back to its proper place.
+     */
+    private boolean fullSortNeeded = true;
     Blackboard blackBoardEventRouter = new Blackboard();
 
     public int getLiftsDone() {
         return liftsDone;
     }
 
+    /**
+     * @return the total ranks computed by the last sort; safe to read from any thread, unlike the ranks stored in the lifters.
+     */
+    public RankingResult getTotalRanking() {
+        return totalRanking;
+    }
+
+    /**
+     * @return the lists as of the last sort; never null, never modified, and safe to read from any thread without locking.
+     */
+    public SessionSnapshot getSnapshot() {
+        final SessionSnapshot snapshot1 = snapshot;
+        return (snapshot1 != null ? snapshot1 : SessionSnapshot.EMPTY);
+    }
+
+    /**
+     * @return the attempt board contents for the current snapshot and plate inventory; computed once and shared by all the boards.
+     */
+    public AttemptBoardModel getAttemptBoardModel() {
+        final SessionSnapshot snapshot1 = getSnapshot();
+        final Platform platform1 = getPlatform();
+        final AttemptBoardModel model = attemptBoardModel;
+        if (model != null && model.isCurrent(snapshot1, platform1)) {
+            return model;
+        }
+        // no lock: boards asking at the same time may both compute the model (plates are memoized), one of them publishes it.
+        final AttemptBoardModel computed = AttemptBoardModel.compute(snapshot1, platform1);
+        if (attemptBoardModelUpdater.compareAndSet(this, model, computed)) {
+            // the board that published the model prepares the next loads.
+            PlateSolver.solveUpcoming(snapshot1, platform1);
+            return computed;
+        }
+        final AttemptBoardModel published = attemptBoardModel;
+        return (published != null && published.isCurrent(snapshot1, platform1)) ? published : computed;
+    }
+
     private SessionData(String platformName) {
         app = CompetitionApplication.getCurrent();
         lifters = new ArrayList<Lifter>();
-        platform = Platform.getByName(platformName);
+        setPlatform(Platform.getByName(platformName));
 
         notificationManager = new NotificationManager<SessionData, Lifter, Component>(this);
         refereeDecisionController = new RefereeDecisionController(this);
@@ -187,6 +258,7 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
             // hbnCont will filter automatically to application.getCurrentGroup
             lifters = hbnCont.getAllPojos();
         }
+        fullSortNeeded = true;
     }
 
     /**
@@ -223,9 +295,14 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
      * If one wanted to make sure that this operation will be successful a (Hibernate) transaction commit and error checking ought to be
      * done.
      * 
+     * Lifters already in the database are handed to the {@link LifterWriteBehind} when it runs, and written in the background.
+     * 
      * @param object
      */
     public void persistPojo(Object object) {
+        if (object instanceof Lifter && writeBehind((Lifter) object)) {
+            return;
+        }
         try {
             ((HbnSessionManager) app).getHbnSession().merge(object);
         } catch (StaleObjectStateException e) {
@@ -263,24 +340,38 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
             }
         }
 
-        sortLists();
+        sortLists(updatedLifter);
         publishLists();
         notifyListeners();
     }
 
     /**
-     * 
+     * Sort all the lists from scratch.
      */
     private void sortLists() {
-        logger.debug("sortLists"); //$NON-NLS-1$
+        sortLists(null);
+    }
+
+    /**
+     * Sort the lists. If only one lifter has changed, the lists are updated by moving that lifter only.
+     * 
+     * @param updatedLifter
+     *            the lifter that has changed, null if all lists must be sorted from scratch.
+     */
+    private void sortLists(Lifter updatedLifter) {
+        logger.debug("sortLists {}", updatedLifter); //$NON-NLS-1$
 
-        displayOrder = LifterSorter.displayOrderCopy(lifters);
-        setLiftTimeOrder(LifterSorter.LiftTimeOrderCopy(lifters));
-        setResultOrder(LifterSorter.resultsOrderCopy(lifters, Ranking.TOTAL));
-        LifterSorter.assignCategoryRanks(getResultOrder(), Ranking.TOTAL);
+        if (!incrementalSort(updatedLifter)) {
+            displayOrder = LifterSorter.displayOrderCopy(lifters);
+            setLiftTimeOrder(LifterSorter.LiftTimeOrderCopy(lifters));
+            setResultOrder(LifterSorter.resultsOrderCopy(lifters, Ranking.TOTAL));
+            LifterSorter.liftingOrder(lifters);
+        }
+        totalRanking = LifterSorter.assignCategoryRanks(getResultOrder(), Ranking.TOTAL);
         this.liftsDone = LifterSorter.countLiftsDone(lifters);
 
-        LifterSorter.liftingOrder(lifters);
+        // markCurrentLifter resets the forcedAsCurrent flag, the lifter will no longer be in its proper place.
+        fullSortNeeded = !lifters.isEmpty() && lifters.get(0).getForcedAsCurrent();
         currentLifter = LifterSorter.markCurrentLifter(lifters);
 
         Integer currentRequest = (currentLifter != null ? currentLifter.getNextAttemptRequestedWeight() : null);
@@ -316,6 +407,46 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
             priorRequest = null;
             priorRequestNum = null;
         }
+        publishSnapshot();
+    }
+
+    /**
+     * Replace the snapshot read by the JSPs and displays. Synchronized so that versions are published in increasing order.
+     */
+    private synchronized void publishSnapshot() {
+        snapshot = new SessionSnapshot(getSnapshot().getVersion() + 1, currentSession, lifters, displayOrder, getLiftTimeOrder(),
+                getResultOrder(), currentLifter, liftsDone, timeAllowed, totalRanking);
+    }
+
+    /**
+     * Move the updated lifter to its new place in the lists, leaving the other lifters where they are.
+     * 
+     * @param updatedLifter
+     * @return false if a full sort is required.
+     */
+    private boolean incrementalSort(Lifter updatedLifter) {
+        if (updatedLifter == null || fullSortNeeded || displayOrder == null || getLiftTimeOrder() == null
+                || getResultOrder() == null) {
+            return false;
+        }
+        final int size = lifters.size();
+        if (displayOrder.size() != size || getLiftTimeOrder().size() != size || getResultOrder().size() != size) {
+            return false;
+        }
+
+        final List<Lifter> newDisplayOrder = IncrementalLifterSorter.displayOrderCopy(displayOrder, updatedLifter);
+        final List<Lifter> newLiftTimeOrder = IncrementalLifterSorter.liftTimeOrderCopy(getLiftTimeOrder(), updatedLifter);
+        final List<Lifter> newResultOrder = IncrementalLifterSorter.resultsOrderCopy(getResultOrder(), updatedLifter,
+                Ranking.TOTAL);
+        if (newDisplayOrder == null || newLiftTimeOrder == null || newResultOrder == null
+                || !IncrementalLifterSorter.liftingOrder(lifters, updatedLifter)) {
+            logger.debug("lifter {} not found, full sort required", updatedLifter); //$NON-NLS-1$
+            return false;
+        }
+        displayOrder = newDisplayOrder;
+        setLiftTimeOrder(newLiftTimeOrder);
+        setResultOrder(newResultOrder);
+        return true;
     }
 
     /**
@@ -524,6 +655,9 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
 
     CountdownTimer timer;
 
+    /** what happened on the platform, null if not kept (tests, independent instances, copies in serialized sessions). */
+    private transient PlatformJournal journal;
+
     public CountdownTimer getTimer() {
         if (timer == null) {
             timer = new CountdownTimer();
@@ -609,6 +743,10 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
         publishLists();
         setTimeKeepingInUse(false); // will switch to true if Start/stop is used.
         getTimer().forceTimeRemaining(getDisplayTime());
+        if (journal != null) {
+            journal.recoverClock(newCurrentSession, getTimer(), getCurrentLifter());
+            journal.sessionLoaded(newCurrentSession);
+        }
         // tell listeners to refresh.
         fireEvent(new UpdateEvent(this, true));
     }
@@ -633,12 +771,19 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
         return masterApplication;
     }
 
+    /**
+     * The platforms are replaced when the {@link PlatformList} reloads them, so the platform is looked up by name on each use.
+     *
+     * @return the current instance of the platform, or the last one set if it has been renamed or deleted since.
+     */
     public Platform getPlatform() {
-        return platform;
+        final Platform current = (platformName != null ? Platform.getByName(platformName) : null);
+        return (current != null ? current : platform);
     }
 
     public void setPlatform(Platform platform) {
         this.platform = platform;
+        this.platformName = (platform != null ? platform.getName() : null);
     }
 
     /* *********************************************************************************
@@ -653,6 +798,7 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
     public Item publicAddressItem;
     private IntermissionTimer publicAddressTimer = new IntermissionTimer(this);
     private Platform platform;
+    private String platformName;
     private boolean timerStarted;
 
     public boolean getAnnouncerEnabled() {
@@ -883,6 +1029,80 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
             servletContext.setAttribute(SessionData.MASTER_KEY + platformName, this);
             logger.info("Master data registered for platform {}={}", platformName, this); //$NON-NLS-1$ //$NON-NLS-2$
         }
+        journal = PlatformJournal.open(platformName, this);
+        if (journal != null) {
+            getTimer().addListener(new JournalClockListener(this));
+        }
+    }
+
+    /**
+     * Relays the clock changes to the journal. The timer keeps its listeners when serialized, so it listens to this rather than to the
+     * journal, which stays with the master data (transient).
+     */
+    private static class JournalClockListener implements StateChangeCountdownListener, Serializable {
+        private static final long serialVersionUID = -2317765419260361829L;
+
+        private final SessionData masterData;
+
+        JournalClockListener(SessionData masterData) {
+            this.masterData = masterData;
+        }
+
+        @Override
+        public void start(int timeRemaining) {
+            final PlatformJournal journal = masterData.journal;
+            if (journal != null) {
+                journal.clockStarted(timeRemaining);
+            }
+        }
+
+        @Override
+        public void pause(int timeRemaining, CompetitionApplication originatingApp, InteractionNotificationReason reason) {
+            final PlatformJournal journal = masterData.journal;
+            if (journal != null) {
+                journal.clockPaused(timeRemaining);
+            }
+        }
+
+        @Override
+        public void stop(int timeRemaining, CompetitionApplication originatingApp, InteractionNotificationReason reason) {
+            final PlatformJournal journal = masterData.journal;
+            if (journal != null) {
+                journal.clockStopped(timeRemaining);
+            }
+        }
+
+        @Override
+        public void forceTimeRemaining(int startTime, CompetitionApplication originatingApp, InteractionNotificationReason reason) {
+            final PlatformJournal journal = masterData.journal;
+            if (journal != null) {
+                journal.clockForced(startTime);
+            }
+        }
+
+        @Override
+        public void noTimeLeft(int timeRemaining) {
+            final PlatformJournal journal = masterData.journal;
+            if (journal != null) {
+                journal.clockExpired(timeRemaining);
+            }
+        }
+
+        @Override
+        public void finalWarning(int timeRemaining) {
+        }
+
+        @Override
+        public void initialWarning(int timeRemaining) {
+        }
+
+        @Override
+        public void normalTick(int timeRemaining) {
+        }
+
+        @Override
+        public void showInteractionNotification(CompetitionApplication originatingApp, InteractionNotificationReason reason) {
+        }
     }
 
     /**
@@ -897,10 +1117,73 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
         boolean automaticProgression = false;
         if (propertyIds != null) automaticProgression = propertyIds.contains("automatic");
         
-        updateListsForLiftingOrderChange((Lifter) updateEvent.getSource(), automaticProgression);
+        final Lifter updatedLifter = (Lifter) updateEvent.getSource();
+        ChangeImpact impact = ChangeImpact.of(propertyIds);
+        if (impact != ChangeImpact.ORDERING && (fullSortNeeded || getResultOrder() == null)) {
+            // lists are not up to date, sort anyway.
+            impact = ChangeImpact.ORDERING;
+        }
+        switch (impact) {
+        case DISPLAY:
+            displayOnlyUpdates.incrementAndGet();
+            updateListsForDisplayChange(updatedLifter);
+            break;
+        case RANKING:
+            rankingOnlyUpdates.incrementAndGet();
+            updateListsForRankingChange(updatedLifter);
+            break;
+        default:
+            updateListsForLiftingOrderChange(updatedLifter, automaticProgression);
+            break;
+        }
+        if (journal != null) {
+            journal.lifterUpdated(updatedLifter, propertyIds);
+        }
         persistPojo(updateEvent.getSource());
     }
 
+    /**
+     * The lists are still in the right order and the ranks are unchanged, tell the displays to repaint.
+     */
+    private void updateListsForDisplayChange(Lifter updatedLifter) {
+        logger.debug("updateListsForDisplayChange {}", updatedLifter); //$NON-NLS-1$
+        publishSnapshot();
+        publishLists();
+        notifyListeners();
+    }
+
+    /**
+     * The lists are still in the right order, but the ranks must be assigned again (a lifter is now invited or no longer invited).
+     */
+    private void updateListsForRankingChange(Lifter updatedLifter) {
+        logger.debug("updateListsForRankingChange {}", updatedLifter); //$NON-NLS-1$
+        totalRanking = LifterSorter.assignCategoryRanks(getResultOrder(), Ranking.TOTAL);
+        publishSnapshot();
+        publishLists();
+        notifyListeners();
+    }
+
+    /**
+     * @return the number of lifter changes that only required the ranks to be assigned again, without sorting.
+     */
+    public long getRankingOnlyUpdates() {
+        return rankingOnlyUpdates.get();
+    }
+
+    /**
+     * @return the number of lifter changes that only required the displays to be repainted, without sorting.
+     */
+    public long getDisplayOnlyUpdates() {
+        return displayOnlyUpdates.get();
+    }
+
+    /**
+     * @return the number of sorts avoided because the changed properties could not affect the order of the lists.
+     */
+    public long getSortsAvoided() {
+        return rankingOnlyUpdates.get() + displayOnlyUpdates.get();
+    }
+
     public Lifter getCurrentLifter() {
         return currentLifter;
     }
@@ -995,6 +1278,9 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
                 pros++;
         }
         final boolean success = pros >= 2;
+        if (journal != null) {
+            journal.decision(currentLifter2, refereeDecisions, success);
+        }
         liftDone(currentLifter2, success);
         if (success) {
             logger.info("Referee decision: GOOD lift");
@@ -1018,6 +1304,9 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
      * @param currentLifter2
      */
     private void saveLifter(final Lifter currentLifter2) {
+        if (writeBehind(currentLifter2)) {
+            return;
+        }
         Session session = app.getHbnSession();
         session.merge(currentLifter2);
         session.flush();
@@ -1028,6 +1317,19 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
         }
     }
 
+    /**
+     * @param lifter
+     * @return true if the lifter will be written in the background.
+     */
+    private boolean writeBehind(Lifter lifter) {
+        final LifterWriteBehind writeBehind = LifterWriteBehind.getInstance();
+        if (writeBehind == null || lifter.getId() == null) {
+            return false;
+        }
+        writeBehind.save(lifter);
+        return true;
+    }
+
     public void downSignal() {
         final CountdownDisplay countDownDisplay = (CountdownDisplay) getTimer().getCountdownDisplay();
         if (countDownDisplay != null) {
@@ -1214,6 +1516,20 @@ public class SessionData implements Lifter.UpdateEventListener, Serializable {
         }
     }
 
+    /**
+     * Same as {@link #getDisplayTime()}, for the displays that read a snapshot instead of the lists.
+     *
+     * @param snapshot1
+     * @return the time left on the clock if it belongs to the current lifter of the snapshot, else the time allowed.
+     */
+    public int getDisplayTime(SessionSnapshot snapshot1) {
+        if (snapshot1.getCurrentLifter() != getTimer().getOwner()) {
+            return snapshot1.getTimeAllowed();
+        } else {
+            return getTimeRemaining();
+        }
+    }
+
     public void startUpdateModel() {
         final CountdownTimer timer1 = this.getTimer();
         final Lifter lifter = getCurrentLifter();
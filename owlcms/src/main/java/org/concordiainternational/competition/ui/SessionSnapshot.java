@@ -0,0 +1,127 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.concordiainternational.competition.data.CompetitionSession;
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.data.lifterSort.RankingResult;
+
+/**
+ * State of a {@link SessionData} as of the end of a sort.
+ * <p>
+ * The lists of {@link SessionData} are re-sorted (sometimes in place) and replaced by the announcer's thread. The JSPs and the read-only
+ * displays run on other threads, so they read this copy instead: it is never modified once built, and a new one is published (through a
+ * volatile reference) every time the lists are sorted. The lifters themselves are shared, not copied.
+ * </p>
+ *
+ * @author jflamy
+ */
+public final class SessionSnapshot {
+
+    /** snapshot used before the first sort. */
+    static final SessionSnapshot EMPTY = new SessionSnapshot(0L, null, null, null, null, null, null, 0, 0, null);
+
+    private final long version;
+    private final CompetitionSession session;
+    private final List<Lifter> liftingOrder;
+    private final List<Lifter> displayOrder;
+    private final List<Lifter> liftTimeOrder;
+    private final List<Lifter> resultOrder;
+    private final Lifter currentLifter;
+    private final int liftsDone;
+    private final int timeAllowed;
+    private final RankingResult totalRanking;
+
+    SessionSnapshot(long version, CompetitionSession session, List<Lifter> liftingOrder, List<Lifter> displayOrder,
+            List<Lifter> liftTimeOrder, List<Lifter> resultOrder, Lifter currentLifter, int liftsDone, int timeAllowed,
+            RankingResult totalRanking) {
+        this.version = version;
+        this.session = session;
+        this.liftingOrder = copyOf(liftingOrder);
+        this.displayOrder = copyOf(displayOrder);
+        this.liftTimeOrder = copyOf(liftTimeOrder);
+        this.resultOrder = copyOf(resultOrder);
+        this.currentLifter = currentLifter;
+        this.liftsDone = liftsDone;
+        this.timeAllowed = timeAllowed;
+        this.totalRanking = totalRanking;
+    }
+
+    private static List<Lifter> copyOf(List<Lifter> lifters) {
+        if (lifters == null || lifters.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(new ArrayList<Lifter>(lifters));
+    }
+
+    /**
+     * @return a number that increases every time a new snapshot is published for the same session data.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the session being lifted, null if none is selected.
+     */
+    public CompetitionSession getSession() {
+        return session;
+    }
+
+    /**
+     * @return the lifters in lifting order (read-only).
+     */
+    public List<Lifter> getLiftingOrder() {
+        return liftingOrder;
+    }
+
+    /**
+     * @return the lifters in display order (read-only).
+     */
+    public List<Lifter> getDisplayOrder() {
+        return displayOrder;
+    }
+
+    /**
+     * @return the lifters, most recent lift first (read-only).
+     */
+    public List<Lifter> getLiftTimeOrder() {
+        return liftTimeOrder;
+    }
+
+    /**
+     * @return the lifters in winning order for the total (read-only).
+     */
+    public List<Lifter> getResultOrder() {
+        return resultOrder;
+    }
+
+    public Lifter getCurrentLifter() {
+        return currentLifter;
+    }
+
+    public int getLiftsDone() {
+        return liftsDone;
+    }
+
+    public int getTimeAllowed() {
+        return timeAllowed;
+    }
+
+    /**
+     * @return the total ranks, null if the lists have not been sorted yet.
+     */
+    public RankingResult getTotalRanking() {
+        return totalRanking;
+    }
+
+}
@@ -105,6 +105,8 @@ public class WeighInList extends LifterHbnList implements ApplicationView, Bookm
     protected void loadData() {
         // load all lifters
         final LifterContainer cont = new LifterContainer((CompetitionApplication) app, false);
+        // the ids are kept until lifters change, instead of being queried again on every scroll.
+        cont.setKeysetPaging(true);
         // cont.sort(new String[]{"registrationCategory","lotNumber"}, new
         // boolean[]{true,true});
         table.setContainerDataSource(cont);
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.ui.components;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.vaadin.ui.Label;
+import com.vaadin.ui.Window;
+
+/**
+ * Counts down a time label in the browser.
+ * <p>
+ * When the timer only sends its state changes (start, pause, stop, warnings), the label is no longer updated from the server every
+ * second. Instead, on start, a script computes the end time in the browser and redraws the label every 100 ms in the same m:ss format
+ * as {@link org.concordiainternational.competition.ui.generators.TimeFormatter}; the server value replaces it at the next state change.
+ * </p>
+ * <p>
+ * The label is found by its debug id, which stays the same when a new label is attached, so a countdown in progress carries over to the
+ * replacement label.
+ * </p>
+ *
+ * @author jflamy
+ */
+public class BrowserCountdown implements Serializable {
+
+    private static final long serialVersionUID = -6016435291849731276L;
+
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    /** redraw interval in the browser. */
+    private static final int REFRESH_MILLIS = 100;
+
+    private final String elementId;
+
+    public BrowserCountdown() {
+        elementId = "owlcmsCountdown" + counter.incrementAndGet(); //$NON-NLS-1$
+    }
+
+    /**
+     * @param label
+     *            the label that shows the time.
+     */
+    public void attach(Label label) {
+        label.setDebugId(elementId);
+    }
+
+    /**
+     * Start counting down in the browser. Must be called with the application locked, and followed by a push.
+     *
+     * @param window
+     *            the window that contains the label
+     * @param timeRemaining
+     *            milliseconds left when the script runs
+     * @param suffix
+     *            text shown after the time, empty if none
+     */
+    public void start(Window window, int timeRemaining, String suffix) {
+        if (window == null)
+            return;
+        window.executeJavaScript("(function(){" //$NON-NLS-1$
+                + "var c=window.owlcmsCountdowns=window.owlcmsCountdowns||{};" //$NON-NLS-1$
+                + "var id='" + elementId + "';" //$NON-NLS-1$ //$NON-NLS-2$
+                + "if(c[id]){clearInterval(c[id]);}" //$NON-NLS-1$
+                + "var end=new Date().getTime()+" + Math.max(0, timeRemaining) + ";" //$NON-NLS-1$ //$NON-NLS-2$
+                + "var tick=function(){" //$NON-NLS-1$
+                + "var e=document.getElementById(id);" //$NON-NLS-1$
+                + "var r=Math.max(0,end-new Date().getTime());" //$NON-NLS-1$
+                + "if(r==0){clearInterval(c[id]);delete c[id];}" //$NON-NLS-1$
+                + "if(!e){return;}" //$NON-NLS-1$
+                + "var s=Math.ceil(r/1000-0.001);" //$NON-NLS-1$
+                + "e.innerHTML=Math.floor(s/60)+':'+(s%60<10?'0':'')+(s%60)+'" + escape(suffix) + "';" //$NON-NLS-1$ //$NON-NLS-2$
+                + "};" //$NON-NLS-1$
+                + "c[id]=setInterval(tick," + REFRESH_MILLIS + ");tick();" //$NON-NLS-1$ //$NON-NLS-2$
+                + "})();"); //$NON-NLS-1$
+    }
+
+    /**
+     * Stop counting down in the browser; the label keeps the last time drawn until the server sets it. Must be called with the
+     * application locked, and followed by a push.
+     *
+     * @param window
+     *            the window that contains the label
+     */
+    public void stop(Window window) {
+        if (window == null)
+            return;
+        window.executeJavaScript("(function(){" //$NON-NLS-1$
+                + "var c=window.owlcmsCountdowns;var id='" + elementId + "';" //$NON-NLS-1$ //$NON-NLS-2$
+                + "if(c&&c[id]){clearInterval(c[id]);delete c[id];}" //$NON-NLS-1$
+                + "})();"); //$NON-NLS-1$
+    }
+
+    /**
+     * @param text
+     * @return the text, escaped for use as HTML inside a single-quoted javascript string.
+     */
+    private static String escape(String text) {
+        if (text == null)
+            return ""; //$NON-NLS-1$
+        StringBuilder sb = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            switch (c) {
+            case '&':
+                sb.append("&amp;"); //$NON-NLS-1$
+                break;
+            case '<':
+                sb.append("&lt;"); //$NON-NLS-1$
+                break;
+            case '>':
+                sb.append("&gt;"); //$NON-NLS-1$
+                break;
+            case '\'':
+                sb.append("\\'"); //$NON-NLS-1$
+                break;
+            case '\\':
+                sb.append("\\\\"); //$NON-NLS-1$
+                break;
+            default:
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+}
@@ -12,6 +12,7 @@ import org.concordiainternational.competition.decision.DecisionEvent;
 import org.concordiainternational.competition.decision.DecisionEventListener;
 import org.concordiainternational.competition.i18n.Messages;
 import org.concordiainternational.competition.ui.CompetitionApplication;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +28,7 @@ public class DecisionLightsWindow extends HorizontalLayout implements DecisionEv
     CompetitionApplication app = CompetitionApplication.getCurrent();
 
     private Logger logger = LoggerFactory.getLogger(DecisionLightsWindow.class);
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(DecisionLightsWindow.class);
 
     private boolean immediateMode = false;
 
@@ -76,7 +78,7 @@ public class DecisionLightsWindow extends HorizontalLayout implements DecisionEv
 
     @Override
     public void updateEvent(final DecisionEvent updateEvent) {
-        new Thread(new Runnable() {
+        updates.execute(new Runnable() {
             @Override
             public void run() {
                 synchronized (app) {
@@ -84,7 +86,7 @@ public class DecisionLightsWindow extends HorizontalLayout implements DecisionEv
                     switch (updateEvent.getType()) {
                     case DOWN:
                         logger.debug("received DOWN event");
-                        doDown();
+                        showDown();
                         if (immediateMode) {
                             showLights(decisions);
                             // decisionLights[1].addStyleName("down");
@@ -137,16 +139,28 @@ public class DecisionLightsWindow extends HorizontalLayout implements DecisionEv
                         break;
                     }
                 }
-                app.push();
+                app.pushNow();
             }
 
-        }).start();
+        });
     }
 
     /**
      * show down signal in window.
      */
     public void doDown() {
+        updates.execute(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (app) {
+                    showDown();
+                }
+                app.pushNow();
+            }
+        });
+    }
+
+    private void showDown() {
         this.addStyleName("down");
         // decisionLights[1].addStyleName("down");
     }
@@ -184,7 +198,7 @@ public class DecisionLightsWindow extends HorizontalLayout implements DecisionEv
             }
         }
         shown = false;
-        app.push();
+        app.pushNow();
     }
 
     public void refresh() {
@@ -34,9 +34,11 @@ import org.concordiainternational.competition.ui.InteractionNotificationReason;
 import org.concordiainternational.competition.ui.SessionData;
 import org.concordiainternational.competition.ui.SessionData.UpdateEvent;
 import org.concordiainternational.competition.ui.SessionData.UpdateEventListener;
+import org.concordiainternational.competition.ui.SessionSnapshot;
 import org.concordiainternational.competition.ui.UserActions;
 import org.concordiainternational.competition.ui.generators.TimeFormatter;
 import org.concordiainternational.competition.utils.LoggerUtils;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,8 +68,20 @@ public class ResultFrame extends VerticalLayout implements
 {
 
     private static final String ATTEMPT_WIDTH = "6em";
+
+    /**
+     * Ask the page in the iframe to fetch the cells that changed (see jsp/scoreboard.js); reload it if it cannot.
+     */
+    private static final String UPDATE_SCOREBOARD_SCRIPT = "(function(){" //$NON-NLS-1$
+            + "var frames=document.getElementsByTagName('iframe');" //$NON-NLS-1$
+            + "for(var i=0;i<frames.length;i++){" //$NON-NLS-1$
+            + "var w=frames[i].contentWindow;" //$NON-NLS-1$
+            + "try{if(w.owlcmsScoreboard){w.owlcmsScoreboard.update();}else{w.location.reload();}}catch(e){}" //$NON-NLS-1$
+            + "}})();"; //$NON-NLS-1$
+
     public final static Logger logger = LoggerFactory.getLogger(ResultFrame.class);
     private static Logger listenerLogger = LoggerFactory.getLogger("listeners." + ResultFrame.class.getSimpleName()); //$NON-NLS-1$
+    private final ViewUpdateExecutor.Mailbox updates = ViewUpdateExecutor.newMailbox(ResultFrame.class);
 
     private static final long serialVersionUID = 1437157542240297372L;
     private Embedded iframe;
@@ -81,6 +95,7 @@ public class ResultFrame extends VerticalLayout implements
     private Label timeDisplay = new Label();
     private Label weight = new Label();
     private String appUrlString;
+    private String shownUrlSpec;
     private UpdateEventListener updateListener;
     private DecisionLightsWindow decisionLights;
     protected boolean waitingForDecisionLightsReset;
@@ -160,7 +175,7 @@ public class ResultFrame extends VerticalLayout implements
 
                 @Override
                 public void updateEvent(UpdateEvent updateEvent) {
-                    new Thread(new Runnable() {
+                    updates.execute(new Runnable() {
 
                         @Override
                         public void run() {
@@ -174,7 +189,7 @@ public class ResultFrame extends VerticalLayout implements
                                 // trigger the update once the decision lights go off
                             }
                         }
-                    }).start();
+                    });
                 }
             };
             return listener;
@@ -214,15 +229,24 @@ public class ResultFrame extends VerticalLayout implements
      */
     private void display(final String platformName1, final SessionData masterData1) throws RuntimeException {
         synchronized (app) {
-            URL url = computeUrl(platformName1);
-            logger.debug("display {}", url, getStylesheetName());
-            // LoggerUtils.traceBack(logger,"display()");
-            iframe.setSource(new ExternalResource(url));
-            final Lifter currentLifter = masterData1.getCurrentLifter();
+            final String urlSpec = computeUrlSpec(platformName1);
+            if (urlSpec.equals(shownUrlSpec)) {
+                // same page, only the data has changed.
+                logger.debug("update {}", urlSpec);
+                app.getMainWindow().executeJavaScript(UPDATE_SCOREBOARD_SCRIPT);
+            } else {
+                URL url = computeUrl(urlSpec);
+                logger.debug("display {}", url, getStylesheetName());
+                // LoggerUtils.traceBack(logger,"display()");
+                iframe.setSource(new ExternalResource(url));
+                shownUrlSpec = urlSpec;
+            }
+            final SessionSnapshot snapshot = masterData1.getSnapshot();
+            final Lifter currentLifter = snapshot.getCurrentLifter();
             if (currentLifter != null) {
                 boolean done = fillLifterInfo(currentLifter);
                 if (showTimer) {
-                    updateTime(masterData1);
+                    updateTime(masterData1, snapshot);
                     top.addComponent(timeDisplay, "timeDisplay"); //$NON-NLS-1$
                     timeDisplay.setVisible(!done);
                 }
@@ -251,11 +275,10 @@ public class ResultFrame extends VerticalLayout implements
 
     /**
      * @param platformName1
-     * @return
+     * @return the address of the page, without the time stamp that forces the browser to reload it.
      * @throws RuntimeException
      */
-    private URL computeUrl(final String platformName1) throws RuntimeException {
-        URL url;
+    private String computeUrlSpec(final String platformName1) throws RuntimeException {
         String encodedPlatformName;
         try {
             encodedPlatformName = URLEncoder.encode(platformName1, "UTF-8");
@@ -269,7 +292,17 @@ public class ResultFrame extends VerticalLayout implements
         } else {
             styleSheet = "&style=" + getStylesheetName() + ".css";
         }
-        final String spec = appUrlString + urlString + encodedPlatformName + styleSheet + "&time=" + System.currentTimeMillis(); //$NON-NLS-1$
+        return appUrlString + urlString + encodedPlatformName + styleSheet;
+    }
+
+    /**
+     * @param urlSpec
+     * @return
+     * @throws RuntimeException
+     */
+    private URL computeUrl(final String urlSpec) throws RuntimeException {
+        URL url;
+        final String spec = urlSpec + "&time=" + System.currentTimeMillis(); //$NON-NLS-1$
         try {
             url = new URL(spec);
             // logger.debug("url={} {}", url.toExternalForm(), this);
@@ -387,11 +420,12 @@ public class ResultFrame extends VerticalLayout implements
 
     /**
      * @param groupData
+     * @param snapshot
      */
-    private void updateTime(final SessionData groupData) {
+    private void updateTime(final SessionData groupData, final SessionSnapshot snapshot) {
         // we set the value to the time remaining for the current lifter as
         // computed by groupData
-        int timeRemaining = groupData.getDisplayTime();
+        int timeRemaining = groupData.getDisplayTime(snapshot);
         timeDisplay.setValue(TimeFormatter.formatAsSeconds(timeRemaining));
     }
 
@@ -594,7 +628,7 @@ public class ResultFrame extends VerticalLayout implements
      */
     @Override
     public void updateEvent(final DecisionEvent updateEvent) {
-        new Thread(new Runnable() {
+        updates.execute(new Runnable() {
             @Override
             public void run() {
                 if (showDecisions) {
@@ -637,7 +671,7 @@ public class ResultFrame extends VerticalLayout implements
                     }
                 }
             }
-        }).start();
+        });
     }
 
     /*
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.utils;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.concordiainternational.competition.ui.CompetitionApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Runs the screen updates triggered by session, decision and timer events.
+ * <p>
+ * Every connected display reacts to the same events, so each event used to start one thread per display, all of them then waiting on
+ * their application lock. Instead, each view submits its work to its own {@link Mailbox}, and the mailboxes of a platform share a small
+ * pool of threads. The tasks of one view run one at a time, in submission order, so a view never updates itself concurrently; different
+ * views are updated in parallel.
+ * </p>
+ * <p>
+ * The application and the logging context of the submitting thread are made current while the task runs, as they were when a new thread
+ * was started for each event.
+ * </p>
+ * <p>
+ * A task never runs on the submitting thread, which may hold the lock of another application. If the pool is saturated, the tasks of the
+ * view stay in its mailbox, which waits in line for the next pool thread that frees up; no update is lost or left waiting for another
+ * event.
+ * </p>
+ *
+ * @author jflamy
+ */
+public class ViewUpdateExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewUpdateExecutor.class);
+
+    /** upper bound on the threads of a platform, whatever the number of processors. */
+    private static final int MAX_THREADS = 8;
+    /** each mailbox has at most one task in the pool queue, so this is only reached with that many views busy at once. */
+    private static final int MAX_QUEUED = 1000;
+    /** tasks that waited longer than this are logged. */
+    private static final long SLOW_LATENCY_MILLIS = 1000;
+
+    private static final Map<String, ViewUpdateExecutor> platformToExecutor = new HashMap<String, ViewUpdateExecutor>();
+
+    private final String platformName;
+    private final ThreadPoolExecutor pool;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicLong deferredSchedules = new AtomicLong();
+    /** mailboxes refused by the saturated pool, in the order they were refused; guarded by itself. */
+    private final Deque<Mailbox> deferred = new ArrayDeque<Mailbox>();
+
+    private ViewUpdateExecutor(final String platformName) {
+        this.platformName = platformName;
+        final int nbThreads = Math.max(2, Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS));
+        pool = new ThreadPoolExecutor(nbThreads, nbThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(MAX_QUEUED),
+                new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        final String name = (platformName.isEmpty() ? "updates-" : "updates-" + platformName + "-") //$NON-NLS-1$ //$NON-NLS-2$
+                                + count.incrementAndGet();
+                        Thread thread = new Thread(r, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                },
+                // rejected mailboxes are rescheduled when a thread frees up, see drainDeferred
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @param platformName
+     *            the platform whose displays are updated, null or empty for views not attached to a platform.
+     * @return the executor shared by the views of the platform.
+     */
+    public static ViewUpdateExecutor getInstance(String platformName) {
+        final String key = (platformName != null ? platformName : ""); //$NON-NLS-1$
+        synchronized (platformToExecutor) {
+            ViewUpdateExecutor executor = platformToExecutor.get(key);
+            if (executor == null) {
+                executor = new ViewUpdateExecutor(key);
+                platformToExecutor.put(key, executor);
+            }
+            return executor;
+        }
+    }
+
+    /**
+     * Stop the threads of all the platforms, when the web application is stopped.
+     */
+    public static void shutdownAll() {
+        synchronized (platformToExecutor) {
+            for (ViewUpdateExecutor executor : platformToExecutor.values()) {
+                executor.pool.shutdownNow();
+            }
+            platformToExecutor.clear();
+        }
+    }
+
+    /**
+     * Create the mailbox of a view. The platform is that of the current application.
+     *
+     * @param viewClass
+     *            used to name the mailbox in the logs
+     */
+    public static Mailbox newMailbox(Class<?> viewClass) {
+        final CompetitionApplication app = CompetitionApplication.getCurrent();
+        return new Mailbox(app != null ? app.getPlatformName() : null, viewClass.getSimpleName());
+    }
+
+    /**
+     * @return the number of tasks submitted and not yet started.
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return the number of tasks run so far.
+     */
+    public long getCompletedTasks() {
+        return completedTasks.get();
+    }
+
+    /**
+     * @return the average time between the submission and the start of a task.
+     */
+    public double getAverageLatencyMillis() {
+        final long count = completedTasks.get();
+        return (count == 0 ? 0 : totalLatencyNanos.get() / 1000000.0 / count);
+    }
+
+    /**
+     * @return the longest time between the submission and the start of a task.
+     */
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos.get() / 1000000.0;
+    }
+
+    @Override
+    public String toString() {
+        return "ViewUpdateExecutor[" + platformName + "] queueDepth=" + getQueueDepth() + " completed=" + getCompletedTasks() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + " averageLatency=" + getAverageLatencyMillis() + "ms maxLatency=" + getMaxLatencyMillis() + "ms deferred=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + deferredSchedules.get();
+    }
+
+    /**
+     * Put a mailbox refused by the pool in line; it stays scheduled, so its new tasks are not submitted separately.
+     */
+    private void defer(Mailbox mailbox) {
+        synchronized (deferred) {
+            deferred.addLast(mailbox);
+        }
+        deferredSchedules.incrementAndGet();
+        logger.warn("{} deferred, {}", mailbox, this); //$NON-NLS-1$
+        // the pool may have emptied in the meantime, in which case no thread would drain it.
+        drainDeferred();
+    }
+
+    /**
+     * Submit the deferred mailboxes again, oldest first, until the pool refuses one. Called whenever a pool thread finishes a task.
+     */
+    private void drainDeferred() {
+        while (!pool.isShutdown()) {
+            final Mailbox mailbox;
+            synchronized (deferred) {
+                mailbox = deferred.pollFirst();
+            }
+            if (mailbox == null) {
+                return;
+            }
+            if (!mailbox.submit(this)) {
+                synchronized (deferred) {
+                    deferred.addFirst(mailbox);
+                }
+                return;
+            }
+        }
+    }
+
+    private void recordLatency(String mailboxName, long latencyNanos) {
+        queueDepth.decrementAndGet();
+        completedTasks.incrementAndGet();
+        totalLatencyNanos.addAndGet(latencyNanos);
+        long max = maxLatencyNanos.get();
+        while (latencyNanos > max && !maxLatencyNanos.compareAndSet(max, latencyNanos)) {
+            max = maxLatencyNanos.get();
+        }
+        if (latencyNanos > TimeUnit.MILLISECONDS.toNanos(SLOW_LATENCY_MILLIS)) {
+            logger.info("{} task waited {} ms, {}", new Object[] { mailboxName, TimeUnit.NANOSECONDS.toMillis(latencyNanos), this }); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Task as submitted, with the context of the submitting thread.
+     */
+    private static class PendingTask {
+        private final Runnable task;
+        private final long submitted = System.nanoTime();
+        private final CompetitionApplication app = CompetitionApplication.getCurrent();
+        @SuppressWarnings("unchecked")
+        private final Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        PendingTask(Runnable task) {
+            this.task = task;
+        }
+
+        @SuppressWarnings("unchecked")
+        void run() {
+            // pool threads are reused, so the context is restored afterwards.
+            final CompetitionApplication previousApp = CompetitionApplication.getCurrent();
+            final Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            CompetitionApplication.setCurrent(app);
+            setMdc(mdc);
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LoggerUtils.errorException(logger, e);
+            } finally {
+                CompetitionApplication.setCurrent(previousApp);
+                setMdc(previousMdc);
+            }
+        }
+
+        private static void setMdc(Map<String, String> contextMap) {
+            if (contextMap != null) {
+                MDC.setContextMap(contextMap);
+            } else {
+                MDC.clear();
+            }
+        }
+    }
+
+    /**
+     * Serial queue of the tasks of one view.
+     */
+    public static class Mailbox implements Executor, Serializable {
+        private static final long serialVersionUID = 2187614720593157403L;
+
+        private final String platformName;
+        private final String name;
+        private transient ArrayDeque<PendingTask> tasks;
+        private transient boolean scheduled;
+
+        private Mailbox(String platformName, String name) {
+            this.platformName = platformName;
+            this.name = name;
+        }
+
+        /**
+         * Queue the task; it will run after all the tasks previously submitted to this mailbox.
+         *
+         * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
+         */
+        @Override
+        public void execute(Runnable task) {
+            final ViewUpdateExecutor executor = getInstance(platformName);
+            executor.queueDepth.incrementAndGet();
+            synchronized (this) {
+                if (tasks == null) {
+                    tasks = new ArrayDeque<PendingTask>();
+                }
+                tasks.add(new PendingTask(task));
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            schedule(executor);
+        }
+
+        private void schedule(final ViewUpdateExecutor executor) {
+            if (!submit(executor)) {
+                if (executor.pool.isShutdown()) {
+                    logger.debug("{} dropped, executor stopped", this); //$NON-NLS-1$
+                    return;
+                }
+                // pool saturated: keep the tasks and wait in line for a free thread.
+                executor.defer(this);
+            }
+        }
+
+        /**
+         * @return false if the pool refused the mailbox.
+         */
+        private boolean submit(final ViewUpdateExecutor executor) {
+            try {
+                executor.pool.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        runNext(executor);
+                    }
+                });
+                return true;
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Run one task, then give the thread back to the pool so that the other views get their turn.
+         */
+        private void runNext(ViewUpdateExecutor executor) {
+            final PendingTask next;
+            synchronized (this) {
+                next = tasks.poll();
+            }
+            if (next != null) {
+                executor.recordLatency(name, System.nanoTime() - next.submitted);
+                next.run();
+            }
+            // this thread is about to be free, give the mailboxes waiting for one their turn.
+            executor.drainDeferred();
+            synchronized (this) {
+                if (tasks.isEmpty()) {
+                    scheduled = false;
+                    return;
+                }
+            }
+            schedule(executor);
+        }
+
+        @Override
+        public String toString() {
+            return name + "@" + platformName; //$NON-NLS-1$
+        }
+    }
+
+}
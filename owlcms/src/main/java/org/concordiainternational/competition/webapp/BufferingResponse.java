@@ -0,0 +1,127 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.webapp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Keeps what a JSP writes instead of sending it, so that the page can be cached or compared with a previous rendering.
+ *
+ * @author jflamy
+ */
+class BufferingResponse extends HttpServletResponseWrapper {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean committedElsewhere = false;
+    private String contentType;
+
+    BufferingResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    bytes.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    bytes.write(b, off, len);
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentType(String type) {
+        this.contentType = type;
+        super.setContentType(type);
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        committedElsewhere = true;
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        committedElsewhere = true;
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        committedElsewhere = true;
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        if (sc != SC_OK) {
+            committedElsewhere = true;
+        }
+        super.setStatus(sc);
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        // the page is sent once complete.
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        bytes.reset();
+    }
+
+    @Override
+    public void reset() {
+        bytes.reset();
+        super.reset();
+    }
+
+    boolean isCommittedElsewhere() {
+        return committedElsewhere;
+    }
+
+    byte[] getBytes() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.webapp;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams the events of a platform to a read-only display as Server-Sent Events (text/event-stream).
+ * <p>
+ * Called as events?platformName=X, typically with <code>new EventSource(...)</code> from a static page. No Vaadin application is created;
+ * see {@link DisplayEvents} for the events sent. The servlet API in use has no asynchronous requests, so each open stream holds a
+ * request thread, which is still much lighter than an application per screen. The browser reconnects by itself when the stream ends.
+ * </p>
+ *
+ * @author jflamy
+ */
+public class DisplayEventServlet extends HttpServlet {
+
+    private static final long serialVersionUID = -3920181747520263961L;
+
+    private static final Logger logger = LoggerFactory.getLogger(DisplayEventServlet.class);
+
+    /** a comment is sent when nothing happened for this long, so proxies and the browser keep the connection. */
+    private static final long KEEP_ALIVE_SECONDS = 15;
+
+    /** milliseconds the browser waits before reconnecting. */
+    private static final int RETRY_MILLIS = 2000;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        final String platform = request.getParameter("platformName"); //$NON-NLS-1$
+        if (platform == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        response.setContentType("text/event-stream; charset=UTF-8"); //$NON-NLS-1$
+        response.setHeader("Cache-Control", "no-cache"); //$NON-NLS-1$ //$NON-NLS-2$
+        final PrintWriter writer = response.getWriter();
+        writer.write("retry: " + RETRY_MILLIS + "\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        final DisplayEvents.Subscriber subscriber = DisplayEvents.subscribe(getServletContext(), platform);
+        if (subscriber == null) {
+            // platform not started yet; the browser will try again.
+            writer.write(": no announcer for platform\n\n"); //$NON-NLS-1$
+            writer.flush();
+            return;
+        }
+
+        logger.debug("subscribed {} {}", request.getRemoteAddr(), subscriber.getEvents()); //$NON-NLS-1$
+        try {
+            while (!subscriber.isOverrun()) {
+                final String frame = subscriber.getFrames().poll(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+                writer.write(frame != null ? frame : ":\n\n"); //$NON-NLS-1$
+                writer.flush();
+                if (writer.checkError()) {
+                    // browser went away.
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            DisplayEvents.unsubscribe(getServletContext(), subscriber);
+            logger.debug("unsubscribed {} {}", request.getRemoteAddr(), subscriber.getEvents()); //$NON-NLS-1$
+        }
+    }
+
+}
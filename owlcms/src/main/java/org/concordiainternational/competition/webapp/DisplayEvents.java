@@ -0,0 +1,308 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.webapp;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.servlet.ServletContext;
+
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.decision.Decision;
+import org.concordiainternational.competition.decision.DecisionEvent;
+import org.concordiainternational.competition.decision.DecisionEventListener;
+import org.concordiainternational.competition.timer.StateChangeCountdownListener;
+import org.concordiainternational.competition.ui.CompetitionApplication;
+import org.concordiainternational.competition.ui.InteractionNotificationReason;
+import org.concordiainternational.competition.ui.SessionData;
+import org.concordiainternational.competition.ui.SessionData.UpdateEvent;
+import org.concordiainternational.competition.ui.SessionSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The events a public display needs for one platform, formatted once as Server-Sent Events frames and handed to every subscriber.
+ * <p>
+ * There is one instance per platform, listening to the master {@link SessionData}, its timer and its referee decisions, in place of one
+ * Vaadin application per screen. Four kinds of events are sent: <code>attempt</code> (the lifter on the attempt board),
+ * <code>clock</code> (state changes only; the browser counts down), <code>decision</code> and <code>result</code> (the version of the
+ * session data, for pages that fetch the changed cells from {@link ScoreboardDeltaServlet}). The last event of each kind is kept so that a
+ * new subscriber shows the current state right away.
+ * </p>
+ * <p>
+ * The instance stops listening when its last stream closes, and when the platform gets new master data; the streams still attached to
+ * replaced master data are ended, and the browsers reconnect to the new one.
+ * </p>
+ *
+ * @author jflamy
+ */
+public class DisplayEvents implements SessionData.UpdateEventListener, StateChangeCountdownListener, DecisionEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DisplayEvents.class);
+
+    static final String CONTEXT_KEY = "DisplayEvents_"; //$NON-NLS-1$
+
+    /** frames waiting for a subscriber; a screen that falls this far behind is disconnected and reconnects. */
+    private static final int QUEUE_SIZE = 64;
+
+    static final String ATTEMPT = "attempt"; //$NON-NLS-1$
+    static final String CLOCK = "clock"; //$NON-NLS-1$
+    static final String DECISION = "decision"; //$NON-NLS-1$
+    static final String RESULT = "result"; //$NON-NLS-1$
+
+    private final SessionData masterData;
+    private final String platformName;
+    /** guarded by the servlet context, like the subscriptions. */
+    private boolean attached = true;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<Subscriber>();
+    private final Map<String, String> lastFrames = new ConcurrentHashMap<String, String>();
+
+    /**
+     * The frames not yet sent to one screen.
+     */
+    static class Subscriber {
+        private final DisplayEvents events;
+        private final BlockingQueue<String> frames = new LinkedBlockingQueue<String>(QUEUE_SIZE);
+        private volatile boolean overrun = false;
+
+        private Subscriber(DisplayEvents events) {
+            this.events = events;
+        }
+
+        DisplayEvents getEvents() {
+            return events;
+        }
+
+        BlockingQueue<String> getFrames() {
+            return frames;
+        }
+
+        boolean isOverrun() {
+            return overrun;
+        }
+    }
+
+    private DisplayEvents(SessionData masterData, String platformName) {
+        this.masterData = masterData;
+        this.platformName = platformName;
+        masterData.addListener(this);
+        masterData.getTimer().addListener(this);
+        masterData.getRefereeDecisionController().addListener(this);
+
+        sendAttempt();
+        sendClock(masterData.getTimer().isRunning() ? "running" : "stopped", masterData.getDisplayTime()); //$NON-NLS-1$ //$NON-NLS-2$
+        sendResult();
+    }
+
+    /**
+     * Subscribe to the events of the platform, listening to its master data if no other stream does.
+     *
+     * @param servletContext
+     * @param platformName
+     * @return a new subscriber, already holding the current state; null if no announcer has opened the platform yet.
+     */
+    static Subscriber subscribe(ServletContext servletContext, String platformName) {
+        final SessionData masterData = (SessionData) servletContext.getAttribute(SessionData.MASTER_KEY + platformName);
+        if (masterData == null) {
+            return null;
+        }
+        synchronized (servletContext) {
+            DisplayEvents events = (DisplayEvents) servletContext.getAttribute(CONTEXT_KEY + platformName);
+            if (events == null || events.masterData != masterData) {
+                if (events != null) {
+                    // the platform has new master data; end the streams of the old one.
+                    events.detach();
+                }
+                events = new DisplayEvents(masterData, platformName);
+                servletContext.setAttribute(CONTEXT_KEY + platformName, events);
+                logger.info("display events for platform {}", platformName); //$NON-NLS-1$
+            }
+            final Subscriber subscriber = new Subscriber(events);
+            for (String kind : new String[] { ATTEMPT, CLOCK, DECISION, RESULT }) {
+                final String frame = events.lastFrames.get(kind);
+                if (frame != null) {
+                    subscriber.frames.offer(frame);
+                }
+            }
+            events.subscribers.add(subscriber);
+            return subscriber;
+        }
+    }
+
+    /**
+     * End a subscription; when it is the last one, stop listening to the platform.
+     *
+     * @param servletContext
+     * @param subscriber
+     */
+    static void unsubscribe(ServletContext servletContext, Subscriber subscriber) {
+        final DisplayEvents events = subscriber.events;
+        synchronized (servletContext) {
+            events.subscribers.remove(subscriber);
+            if (events.subscribers.isEmpty() && events.attached) {
+                events.detach();
+                if (servletContext.getAttribute(CONTEXT_KEY + events.platformName) == events) {
+                    servletContext.removeAttribute(CONTEXT_KEY + events.platformName);
+                }
+                logger.info("no more displays for platform {}", events.platformName); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /**
+     * Stop listening to the master data, and end the streams still open. Called with the servlet context locked.
+     */
+    private void detach() {
+        if (!attached) {
+            return;
+        }
+        attached = false;
+        masterData.removeListener(this);
+        masterData.getTimer().removeListener(this);
+        masterData.getRefereeDecisionController().removeListener(this);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.overrun = true;
+            // wake the stream up if it is waiting.
+            subscriber.frames.offer(":\n\n"); //$NON-NLS-1$
+        }
+        subscribers.clear();
+    }
+
+    int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void send(String kind, String data) {
+        final String frame = "event: " + kind + "\ndata: " + data + "\n\n"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        lastFrames.put(kind, frame);
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.frames.offer(frame)) {
+                // the screen is not reading; let it reconnect and start from the current state.
+                subscriber.overrun = true;
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private void sendAttempt() {
+        final SessionSnapshot snapshot = masterData.getSnapshot();
+        final Lifter lifter = snapshot.getCurrentLifter();
+        final StringBuilder sb = new StringBuilder(200);
+        if (lifter == null) {
+            sb.append("{\"lifter\":null}"); //$NON-NLS-1$
+        } else {
+            final boolean cleanJerk = lifter.getAttemptsDone() >= 3;
+            final int currentTry = 1 + (cleanJerk ? lifter.getCleanJerkAttemptsDone() : lifter.getSnatchAttemptsDone());
+            sb.append("{\"lifter\":").append(lifter.getId()); //$NON-NLS-1$
+            sb.append(",\"lastName\":"); //$NON-NLS-1$
+            Json.appendQuoted(sb, lifter.getLastName());
+            sb.append(",\"firstName\":"); //$NON-NLS-1$
+            Json.appendQuoted(sb, lifter.getFirstName());
+            sb.append(",\"club\":"); //$NON-NLS-1$
+            Json.appendQuoted(sb, lifter.getClub());
+            sb.append(",\"startNumber\":").append(lifter.getStartNumber()); //$NON-NLS-1$
+            sb.append(",\"lift\":\"").append(cleanJerk ? "cleanJerk" : "snatch").append('"'); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            sb.append(",\"attempt\":").append(currentTry); //$NON-NLS-1$
+            sb.append(",\"weight\":").append(lifter.getNextAttemptRequestedWeight()); //$NON-NLS-1$
+            sb.append(",\"done\":").append(currentTry > 3); //$NON-NLS-1$
+            sb.append(",\"timeAllowed\":").append(masterData.getDisplayTime(snapshot)); //$NON-NLS-1$
+            sb.append('}');
+        }
+        send(ATTEMPT, sb.toString());
+    }
+
+    private void sendClock(String state, int timeRemaining) {
+        send(CLOCK, "{\"state\":\"" + state + "\",\"timeRemaining\":" + timeRemaining + "}"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private void sendResult() {
+        send(RESULT, "{\"version\":" + masterData.getSnapshot().getVersion() + "}"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /*
+     * SessionData.UpdateEventListener
+     */
+    @Override
+    public void updateEvent(UpdateEvent updateEvent) {
+        sendAttempt();
+        sendResult();
+    }
+
+    /*
+     * DecisionEventListener
+     */
+    @Override
+    public void updateEvent(DecisionEvent updateEvent) {
+        final StringBuilder sb = new StringBuilder(100);
+        sb.append("{\"type\":\"").append(updateEvent.getType()).append("\",\"decisions\":["); //$NON-NLS-1$ //$NON-NLS-2$
+        final Decision[] decisions = updateEvent.getDecisions();
+        for (int i = 0; decisions != null && i < decisions.length; i++) {
+            if (i > 0)
+                sb.append(',');
+            // a referee who has not decided yet is neither good nor bad.
+            final Boolean accepted = decisions[i].accepted;
+            sb.append(accepted == null ? "\"pending\"" : (accepted ? "\"good\"" : "\"bad\"")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        sb.append("],\"accepted\":").append(updateEvent.isAccepted()).append('}'); //$NON-NLS-1$
+        send(DECISION, sb.toString());
+    }
+
+    /*
+     * CountdownTimerListener: only the state changes are sent, the browser counts down.
+     */
+    @Override
+    public void start(int timeRemaining) {
+        sendClock("running", timeRemaining); //$NON-NLS-1$
+    }
+
+    @Override
+    public void pause(int timeRemaining, CompetitionApplication originatingApp, InteractionNotificationReason reason) {
+        sendClock("paused", timeRemaining); //$NON-NLS-1$
+    }
+
+    @Override
+    public void stop(int timeRemaining, CompetitionApplication originatingApp, InteractionNotificationReason reason) {
+        sendClock("stopped", timeRemaining); //$NON-NLS-1$
+    }
+
+    @Override
+    public void forceTimeRemaining(int startTime, CompetitionApplication originatingApp, InteractionNotificationReason reason) {
+        sendClock("stopped", startTime); //$NON-NLS-1$
+    }
+
+    @Override
+    public void noTimeLeft(int timeRemaining) {
+        sendClock("expired", 0); //$NON-NLS-1$
+    }
+
+    @Override
+    public void finalWarning(int timeRemaining) {
+    }
+
+    @Override
+    public void initialWarning(int timeRemaining) {
+    }
+
+    @Override
+    public void normalTick(int timeRemaining) {
+    }
+
+    @Override
+    public void showInteractionNotification(CompetitionApplication originatingApp, InteractionNotificationReason reason) {
+    }
+
+    @Override
+    public String toString() {
+        return "DisplayEvents " + masterData + " subscribers=" + subscribers.size(); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.webapp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.concordiainternational.competition.ui.SessionData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves the scoreboard JSPs (result board, warm-up room, lifting order) from a cache.
+ * <p>
+ * Every TV showing a board reloads the same page after each lift. The page is rendered once per platform, style, page and language for
+ * each version of the {@link org.concordiainternational.competition.ui.SessionSnapshot}; the version changes every time the lists are
+ * sorted, which invalidates the cached copy. The bytes are kept both plain and gzipped, and an ETag lets a browser that already has the
+ * current version get a 304 response.
+ * </p>
+ * <p>
+ * The style and the language come from the browser, so only styles that exist in the application are cached, and at most
+ * {@link #MAX_ENTRIES} pages are kept, least recently used first out.
+ * </p>
+ *
+ * @author jflamy
+ */
+public class DisplayRenderCache implements Filter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DisplayRenderCache.class);
+
+    private static final Pattern STYLE_NAME = Pattern.compile("[A-Za-z0-9_-]+\\.css"); //$NON-NLS-1$
+
+    /** pages kept; a platform with all its boards in two languages and a few styles needs a dozen. */
+    static final int MAX_ENTRIES = 64;
+
+    private ServletContext servletContext;
+
+    /** guarded by itself. */
+    private final Map<String, Slot> slots = new LruMap<String, Slot>(MAX_ENTRIES);
+
+    private final AtomicLong renders = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    /**
+     * The rendering of one page, locked while the page is rendered.
+     */
+    private static class Slot {
+        private volatile Rendering rendering;
+    }
+
+    /**
+     * A page as rendered for one version of the session data.
+     */
+    private static class Rendering {
+        private final long version;
+        private final String contentType;
+        private final String etag;
+        private final byte[] body;
+        private byte[] gzippedBody;
+
+        Rendering(long version, String contentType, byte[] body) {
+            this.version = version;
+            this.contentType = contentType;
+            this.body = body;
+            this.etag = "\"" + version + "-" + Integer.toHexString(Arrays.hashCode(body)) + "\""; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+
+        synchronized byte[] getGzippedBody() throws IOException {
+            if (gzippedBody == null) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4 + 64);
+                GZIPOutputStream gzip = new GZIPOutputStream(bytes);
+                gzip.write(body);
+                gzip.close();
+                gzippedBody = bytes.toByteArray();
+            }
+            return gzippedBody;
+        }
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        servletContext = filterConfig.getServletContext();
+    }
+
+    @Override
+    public void destroy() {
+        logger.info("{}", this); //$NON-NLS-1$
+        synchronized (slots) {
+            slots.clear();
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse resp, FilterChain chain) throws IOException, ServletException {
+        if (!(req instanceof HttpServletRequest) || !(resp instanceof HttpServletResponse)) {
+            chain.doFilter(req, resp);
+            return;
+        }
+        final HttpServletRequest request = (HttpServletRequest) req;
+        final HttpServletResponse response = (HttpServletResponse) resp;
+
+        final String platform = request.getParameter("platformName"); //$NON-NLS-1$
+        final SessionData masterData = (platform != null && request.getRequestURI().endsWith(".jsp") //$NON-NLS-1$
+                ? (SessionData) servletContext.getAttribute(SessionData.MASTER_KEY + platform)
+                : null);
+        final String style = request.getParameter("style"); //$NON-NLS-1$
+        if (masterData == null || !isKnownStyle(servletContext, style)) {
+            // nothing to cache: error message, empty page or made-up style.
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final String key = request.getRequestURI() + "|" + platform + "|" + style + "|" + request.getLocale(); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        final long version = masterData.getSnapshot().getVersion();
+
+        final Slot slot = getSlot(key);
+        Rendering rendering = slot.rendering;
+        if (rendering == null || rendering.version != version) {
+            // the TVs reload at the same time; only one of them renders the page.
+            synchronized (slot) {
+                rendering = slot.rendering;
+                if (rendering == null || rendering.version != version) {
+                    rendering = render(request, response, chain, version);
+                    if (rendering == null) {
+                        // response was an error or a redirect, already sent.
+                        return;
+                    }
+                    slot.rendering = rendering;
+                } else {
+                    hits.incrementAndGet();
+                }
+            }
+        } else {
+            hits.incrementAndGet();
+        }
+        send(request, response, rendering);
+    }
+
+    private Slot getSlot(String key) {
+        synchronized (slots) {
+            Slot slot = slots.get(key);
+            if (slot == null) {
+                slot = new Slot();
+                slots.put(key, slot);
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * @param servletContext
+     * @param style
+     *            the style sheet requested by a board
+     * @return true if the style sheet is part of the application.
+     */
+    static boolean isKnownStyle(ServletContext servletContext, String style) {
+        if (style == null || !STYLE_NAME.matcher(style).matches()) {
+            return false;
+        }
+        try {
+            return servletContext.getResource("/jsp/" + style) != null; //$NON-NLS-1$
+        } catch (MalformedURLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Run the JSP into a buffer.
+     *
+     * @return the rendering, null if the JSP did not produce a normal page.
+     */
+    private Rendering render(HttpServletRequest request, HttpServletResponse response, FilterChain chain, long version)
+            throws IOException, ServletException {
+        renders.incrementAndGet();
+        final BufferingResponse buffer = new BufferingResponse(response);
+        chain.doFilter(request, buffer);
+        if (buffer.isCommittedElsewhere()) {
+            // not a normal page: send it as is, uncached.
+            if (!response.isCommitted()) {
+                final ServletOutputStream out = response.getOutputStream();
+                out.write(buffer.getBytes());
+                out.flush();
+            }
+            return null;
+        }
+        logger.trace("rendered {} version {}", request.getRequestURI(), version); //$NON-NLS-1$
+        return new Rendering(version, buffer.getContentType(), buffer.getBytes());
+    }
+
+    private void send(HttpServletRequest request, HttpServletResponse response, Rendering rendering) throws IOException {
+        response.setHeader("ETag", rendering.etag); //$NON-NLS-1$
+        response.setHeader("Cache-Control", "no-cache"); //$NON-NLS-1$ //$NON-NLS-2$
+        response.setHeader("Vary", "Accept-Encoding"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        final String ifNoneMatch = request.getHeader("If-None-Match"); //$NON-NLS-1$
+        if (ifNoneMatch != null && ifNoneMatch.contains(rendering.etag)) {
+            notModified.incrementAndGet();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        if (rendering.contentType != null) {
+            response.setContentType(rendering.contentType);
+        }
+        final String acceptEncoding = request.getHeader("Accept-Encoding"); //$NON-NLS-1$
+        final byte[] bytes;
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) { //$NON-NLS-1$
+            response.setHeader("Content-Encoding", "gzip"); //$NON-NLS-1$ //$NON-NLS-2$
+            bytes = rendering.getGzippedBody();
+        } else {
+            bytes = rendering.body;
+        }
+        response.setContentLength(bytes.length);
+        final ServletOutputStream out = response.getOutputStream();
+        out.write(bytes);
+        out.flush();
+    }
+
+    @Override
+    public String toString() {
+        return "DisplayRenderCache renders=" + renders.get() + " hits=" + hits.get() + " notModified=" + notModified.get(); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+}
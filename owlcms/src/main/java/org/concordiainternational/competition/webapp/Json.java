@@ -0,0 +1,65 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.webapp;
+
+/**
+ * The little JSON needed by the display endpoints.
+ *
+ * @author jflamy
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Append the value as a JSON string, null as null.
+     *
+     * @param sb
+     * @param value
+     * @return sb
+     */
+    static StringBuilder appendQuoted(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb.append("null"); //$NON-NLS-1$
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                sb.append("\\\""); //$NON-NLS-1$
+                break;
+            case '\\':
+                sb.append("\\\\"); //$NON-NLS-1$
+                break;
+            case '\n':
+                sb.append("\\n"); //$NON-NLS-1$
+                break;
+            case '\r':
+                sb.append("\\r"); //$NON-NLS-1$
+                break;
+            case '\t':
+                sb.append("\\t"); //$NON-NLS-1$
+                break;
+            case '<':
+                // keeps "</script>" out of the output.
+                sb.append("\\u003c"); //$NON-NLS-1$
+                break;
+            default:
+                if (c < 0x20) {
+                    sb.append(String.format("\\u%04x", (int) c)); //$NON-NLS-1$
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb.append('"');
+    }
+
+}
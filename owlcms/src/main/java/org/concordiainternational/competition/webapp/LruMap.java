@@ -0,0 +1,33 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.webapp;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Map that forgets the least recently used entry beyond a maximum size. Used for caches keyed on request parameters, which a browser
+ * can vary at will. Not synchronized.
+ *
+ * @author jflamy
+ */
+@SuppressWarnings("serial")
+class LruMap<K, V> extends LinkedHashMap<K, V> {
+    private final int maxEntries;
+
+    LruMap(int maxEntries) {
+        super(16, 0.75f, true);
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > maxEntries;
+    }
+
+}
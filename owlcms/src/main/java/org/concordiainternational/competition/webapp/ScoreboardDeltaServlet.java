@@ -0,0 +1,136 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.webapp;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.concordiainternational.competition.ui.SessionData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tells a scoreboard page which cells changed since the version it shows.
+ * <p>
+ * Called by jsp/scoreboard.js as delta?page=resultBoard.jsp&amp;platformName=X&amp;style=Y&amp;since=N. The page is rendered once per
+ * version of the session data and cut into cells (see {@link ScoreboardPage}); the last versions are kept so that each browser gets the
+ * cells that differ from what it shows. When the browser's version is no longer known, or the rows themselves changed, the answer asks
+ * for a reload.
+ * </p>
+ * <p>
+ * Only style sheets that exist in the application are accepted, and at most {@link #MAX_HISTORIES} histories are kept, least recently
+ * used first out, since the parameters come from the browser.
+ * </p>
+ *
+ * @author jflamy
+ */
+public class ScoreboardDeltaServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 4412037283470189917L;
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreboardDeltaServlet.class);
+
+    private static final Charset UTF8 = Charset.forName("UTF-8"); //$NON-NLS-1$
+    private static final Pattern PAGE_NAME = Pattern.compile("[A-Za-z]+(-[a-z]+)?\\.jsp"); //$NON-NLS-1$
+
+    /** versions kept per page; a browser further behind reloads. */
+    private static final int HISTORY_SIZE = 16;
+
+    /** page, platform and style combinations kept. */
+    private static final int MAX_HISTORIES = 64;
+
+    /** guarded by itself. */
+    private final Map<String, History> histories = new LruMap<String, History>(MAX_HISTORIES);
+
+    /**
+     * The last renderings of one page for one platform and style.
+     */
+    @SuppressWarnings("serial")
+    private static class History extends LinkedHashMap<Long, ScoreboardPage> {
+        private ScoreboardPage latest;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ScoreboardPage> eldest) {
+            return size() > HISTORY_SIZE;
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        final String page = request.getParameter("page"); //$NON-NLS-1$
+        final String platform = request.getParameter("platformName"); //$NON-NLS-1$
+        if (page == null || !PAGE_NAME.matcher(page).matches() || platform == null
+                || !DisplayRenderCache.isKnownStyle(getServletContext(), request.getParameter("style"))) { //$NON-NLS-1$
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        long since;
+        try {
+            since = Long.parseLong(request.getParameter("since")); //$NON-NLS-1$
+        } catch (NumberFormatException e) {
+            since = -1;
+        }
+
+        response.setContentType("application/json; charset=UTF-8"); //$NON-NLS-1$
+        response.setHeader("Cache-Control", "no-cache"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        final SessionData masterData = (SessionData) getServletContext().getAttribute(SessionData.MASTER_KEY + platform);
+        final String delta;
+        if (masterData == null) {
+            delta = "{\"version\":0,\"reload\":true}"; //$NON-NLS-1$
+        } else {
+            delta = computeDelta(request, response, page, platform, masterData, since);
+        }
+        final PrintWriter writer = response.getWriter();
+        writer.write(delta);
+        writer.flush();
+    }
+
+    private String computeDelta(HttpServletRequest request, HttpServletResponse response, String page, String platform,
+            SessionData masterData, long since) throws ServletException, IOException {
+        final String key = page + "|" + platform + "|" + request.getParameter("style"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        History history;
+        synchronized (histories) {
+            history = histories.get(key);
+            if (history == null) {
+                history = new History();
+                histories.put(key, history);
+            }
+        }
+
+        final long version = masterData.getSnapshot().getVersion();
+        synchronized (history) {
+            if (history.latest == null || history.latest.getVersion() < version) {
+                final ScoreboardPage rendered = render(request, response, page);
+                history.latest = rendered;
+                if (rendered.getVersion() > 0) {
+                    history.put(rendered.getVersion(), rendered);
+                }
+                logger.trace("rendered {} version {}", key, rendered.getVersion()); //$NON-NLS-1$
+            }
+            return history.latest.deltaFrom(history.get(since));
+        }
+    }
+
+    private ScoreboardPage render(HttpServletRequest request, HttpServletResponse response, String page) throws ServletException,
+            IOException {
+        final BufferingResponse buffer = new BufferingResponse(response);
+        request.getRequestDispatcher("/jsp/" + page).include(request, buffer); //$NON-NLS-1$
+        return ScoreboardPage.parse(new String(buffer.getBytes(), UTF8));
+    }
+
+}
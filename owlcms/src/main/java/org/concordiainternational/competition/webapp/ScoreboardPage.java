@@ -0,0 +1,143 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.webapp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A scoreboard page as rendered by one of the JSPs, cut into the parts that can be patched in the browser.
+ * <p>
+ * The parts are the cells of the lifter rows (a &lt;tr&gt; with an id) and the &lt;span&gt; elements with an id. Everything else is the
+ * skeleton of the page: if the skeleton changes (different lifters or order, new session, different columns) the page must be reloaded.
+ * </p>
+ *
+ * @author jflamy
+ */
+final class ScoreboardPage {
+
+    private static final Pattern VERSION = Pattern.compile("<body[^>]*\\bdata-version=\"(\\d+)\""); //$NON-NLS-1$
+    private static final Pattern ROW = Pattern.compile("(<tr id=\"([^\"]+)\"[^>]*>)(.*?)(</tr>)", Pattern.DOTALL); //$NON-NLS-1$
+    private static final Pattern CELL = Pattern.compile("<td\\b.*?</td>", Pattern.DOTALL); //$NON-NLS-1$
+    private static final Pattern FRAGMENT = Pattern.compile("(<span[^>]*\\bid=\"([^\"]+)\"[^>]*>)(.*?)(</span>)", Pattern.DOTALL); //$NON-NLS-1$
+
+    private final long version;
+    private final String skeleton;
+    private final Map<String, List<String>> rowCells;
+    private final Map<String, String> fragments;
+
+    private ScoreboardPage(long version, String skeleton, Map<String, List<String>> rowCells, Map<String, String> fragments) {
+        this.version = version;
+        this.skeleton = skeleton;
+        this.rowCells = rowCells;
+        this.fragments = fragments;
+    }
+
+    /**
+     * @param html
+     *            the page as rendered
+     * @return the parsed page; its version is 0 if the page is not a scoreboard (no session data).
+     */
+    static ScoreboardPage parse(String html) {
+        final Matcher versionMatcher = VERSION.matcher(html);
+        final long version = versionMatcher.find() ? Long.parseLong(versionMatcher.group(1)) : 0L;
+
+        final Map<String, List<String>> rowCells = new HashMap<String, List<String>>();
+        final StringBuffer withoutRows = new StringBuffer(html.length());
+        final Matcher rowMatcher = ROW.matcher(html);
+        while (rowMatcher.find()) {
+            final List<String> cells = new ArrayList<String>();
+            final Matcher cellMatcher = CELL.matcher(rowMatcher.group(3));
+            while (cellMatcher.find()) {
+                cells.add(cellMatcher.group());
+            }
+            // the number of cells is part of the skeleton.
+            rowCells.put(rowMatcher.group(2), cells);
+            rowMatcher.appendReplacement(withoutRows, Matcher.quoteReplacement(rowMatcher.group(1) + cells.size() + rowMatcher.group(4)));
+        }
+        rowMatcher.appendTail(withoutRows);
+
+        final Map<String, String> fragments = new HashMap<String, String>();
+        final StringBuffer skeleton = new StringBuffer(withoutRows.length());
+        final Matcher fragmentMatcher = FRAGMENT.matcher(withoutRows);
+        while (fragmentMatcher.find()) {
+            fragments.put(fragmentMatcher.group(2), fragmentMatcher.group(3));
+            fragmentMatcher.appendReplacement(skeleton, Matcher.quoteReplacement(fragmentMatcher.group(1) + fragmentMatcher.group(4)));
+        }
+        fragmentMatcher.appendTail(skeleton);
+
+        final String skeletonString = VERSION.matcher(skeleton).replaceFirst("<body"); //$NON-NLS-1$
+        return new ScoreboardPage(version, skeletonString, rowCells, fragments);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * @param previous
+     *            the page as shown by the browser
+     * @return the changes as JSON: the new version, whether the page must be reloaded, and the cells and fragments that changed, by
+     *         id.
+     */
+    String deltaFrom(ScoreboardPage previous) {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("{\"version\":").append(version); //$NON-NLS-1$
+        if (previous == null || version == 0 || !skeleton.equals(previous.skeleton)) {
+            sb.append(",\"reload\":true}"); //$NON-NLS-1$
+            return sb.toString();
+        }
+        sb.append(",\"reload\":false,\"rows\":{"); //$NON-NLS-1$
+        boolean firstRow = true;
+        for (Map.Entry<String, List<String>> row : rowCells.entrySet()) {
+            final List<String> previousCells = previous.rowCells.get(row.getKey());
+            final List<String> cells = row.getValue();
+            final Map<Integer, String> changed = new LinkedHashMap<Integer, String>();
+            for (int i = 0; i < cells.size(); i++) {
+                // same skeleton, so same rows with the same number of cells.
+                if (!cells.get(i).equals(previousCells.get(i))) {
+                    changed.put(i, cells.get(i));
+                }
+            }
+            if (changed.isEmpty())
+                continue;
+            if (!firstRow)
+                sb.append(',');
+            firstRow = false;
+            Json.appendQuoted(sb, row.getKey()).append(":{"); //$NON-NLS-1$
+            boolean firstCell = true;
+            for (Map.Entry<Integer, String> cell : changed.entrySet()) {
+                if (!firstCell)
+                    sb.append(',');
+                firstCell = false;
+                sb.append('"').append(cell.getKey()).append("\":"); //$NON-NLS-1$
+                Json.appendQuoted(sb, cell.getValue());
+            }
+            sb.append('}');
+        }
+        sb.append("},\"fragments\":{"); //$NON-NLS-1$
+        boolean firstFragment = true;
+        for (Map.Entry<String, String> fragment : fragments.entrySet()) {
+            if (fragment.getValue().equals(previous.fragments.get(fragment.getKey())))
+                continue;
+            if (!firstFragment)
+                sb.append(',');
+            firstFragment = false;
+            Json.appendQuoted(sb, fragment.getKey()).append(':');
+            Json.appendQuoted(sb, fragment.getValue());
+        }
+        sb.append("}}"); //$NON-NLS-1$
+        return sb.toString();
+    }
+
+}
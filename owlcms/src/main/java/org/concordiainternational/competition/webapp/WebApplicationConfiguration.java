@@ -25,12 +25,19 @@ import javax.servlet.ServletContextListener;
 import org.concordiainternational.competition.data.Category;
 import org.concordiainternational.competition.data.Competition;
 import org.concordiainternational.competition.data.CompetitionSession;
+import org.concordiainternational.competition.data.CompetitionSettings;
 import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.data.LifterWriteBehind;
 import org.concordiainternational.competition.data.Platform;
 import org.concordiainternational.competition.data.lifterSort.WinningOrderComparator;
 import org.concordiainternational.competition.decision.Speakers;
 import org.concordiainternational.competition.i18n.Messages;
+import org.concordiainternational.competition.spreadsheet.JXLSCompetitionBook;
+import org.concordiainternational.competition.timer.ClockScheduler;
+import org.concordiainternational.competition.ui.PlatformJournal;
+import org.concordiainternational.competition.ui.PushCoalescer;
 import org.concordiainternational.competition.utils.LoggerUtils;
+import org.concordiainternational.competition.utils.ViewUpdateExecutor;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
@@ -38,10 +45,15 @@ import org.hibernate.cfg.AnnotationConfiguration;
 import org.hibernate.cfg.Environment;
 import org.hibernate.dialect.DerbyDialect;
 import org.hibernate.dialect.H2Dialect;
+import org.hibernate.event.EventListeners;
+import org.hibernate.event.PostDeleteEventListener;
+import org.hibernate.event.PostInsertEventListener;
+import org.hibernate.event.PostUpdateEventListener;
 import org.hibernate.event.def.OverrideMergeEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.vaadin.data.hbnutil.EntityVersions;
 import com.vaadin.data.hbnutil.HbnContainer.HbnSessionManager;
 
 /**
@@ -107,6 +119,9 @@ public class WebApplicationConfiguration implements HbnSessionManager, ServletCo
                 cnf.setProperty("hibernate.cache.region.factory_class", "net.sf.ehcache.hibernate.SingletonEhCacheRegionFactory"); //$NON-NLS-1$ //$NON-NLS-2$
                 cnf.setProperty("hibernate.cache.use_second_level_cache", "true"); //$NON-NLS-1$ //$NON-NLS-2$
                 cnf.setProperty("hibernate.cache.use_query_cache", "true"); //$NON-NLS-1$ //$NON-NLS-2$
+                // lifters written in the background are sent in batches.
+                cnf.setProperty(Environment.STATEMENT_BATCH_SIZE, "30"); //$NON-NLS-1$
+                cnf.setProperty(Environment.ORDER_UPDATES, "true"); //$NON-NLS-1$
                 // cnf.setProperty(Environment.CACHE_PROVIDER,"org.hibernate.cache.HashtableCacheProvider");
 
                 // the following line is necessary because the Lifter class uses
@@ -117,6 +132,12 @@ public class WebApplicationConfiguration implements HbnSessionManager, ServletCo
 
                 // listeners
                 cnf.setListener("merge", new OverrideMergeEventListener()); //$NON-NLS-1$
+                // containers in keyset mode keep their ids until the data actually changes.
+                final EntityVersions entityVersions = new EntityVersions();
+                final EventListeners eventListeners = cnf.getEventListeners();
+                eventListeners.setPostCommitInsertEventListeners(new PostInsertEventListener[] { entityVersions });
+                eventListeners.setPostCommitUpdateEventListeners(new PostUpdateEventListener[] { entityVersions });
+                eventListeners.setPostCommitDeleteEventListeners(new PostDeleteEventListener[] { entityVersions });
 
                 sessionFactory = cnf.buildSessionFactory();
                 // create the standard categories, etc.
@@ -127,6 +148,11 @@ public class WebApplicationConfiguration implements HbnSessionManager, ServletCo
                 insertInitialData(5, sess, testMode);
                 sess.flush();
                 sess.close();
+                if (!testMode) {
+                    // tests expect lifters to be written right away.
+                    LifterWriteBehind.start(sessionFactory, new File(dbPath + ".journal")); //$NON-NLS-1$
+                    PlatformJournal.setLocation(dbPath);
+                }
             } catch (Throwable ex) {
                 // Make sure you log the exception, as it might be swallowed
                 ex.printStackTrace(System.err);
@@ -249,6 +275,7 @@ public class WebApplicationConfiguration implements HbnSessionManager, ServletCo
             }
 
             sess.save(competition);
+            CompetitionSettings.refresh(competition);
         } else {
             // database contains data, leave it alone.
         }
@@ -407,6 +434,12 @@ public class WebApplicationConfiguration implements HbnSessionManager, ServletCo
 
     @Override
     public void contextDestroyed(ServletContextEvent arg0) {
+        LifterWriteBehind.stop();
+        JXLSCompetitionBook.shutdownRankingExecutor();
+        ViewUpdateExecutor.shutdownAll();
+        PushCoalescer.shutdownAll();
+        ClockScheduler.shutdown();
+        PlatformJournal.closeAll();
         WebApplicationConfiguration.getSessionFactory().close();
         h2Shutdown();
         logger.debug("contextDestroyed() done"); //$NON-NLS-1$
@@ -19,6 +19,7 @@ package org.hibernate.event.def;
 import java.io.Serializable;
 import java.util.Map;
 
+import org.concordiainternational.competition.data.Lifter;
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
 import org.hibernate.StaleObjectStateException;
@@ -106,6 +107,10 @@ public class OverrideMergeEventListener extends DefaultMergeEventListener {
             // copy created before we actually copy
             cascadeOnMerge(source, persister, entity, copyCache);
             copyValues(persister, entity, target, source, copyCache);
+            if (target instanceof Lifter) {
+                // values were copied by reflection, bypassing the setters.
+                ((Lifter) target).markModified();
+            }
 
             // copyValues works by reflection, so explicitly mark the entity
             // instance dirty
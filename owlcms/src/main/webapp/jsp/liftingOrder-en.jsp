@@ -26,7 +26,8 @@
 	SessionData groupData = (SessionData)sCtx.getAttribute(SessionData.MASTER_KEY+platform);
 	if (groupData == null) return;
 
-	java.util.List<Lifter> lifters = groupData.getCurrentLiftingOrder();
+	SessionSnapshot snapshot = groupData.getSnapshot();
+	java.util.List<Lifter> lifters = snapshot.getLiftingOrder();
 	if (lifters == null || lifters.size() == 0) {
 		out.println("</head><body></body></html>");
 		out.flush();
@@ -35,7 +36,7 @@
 	pageContext.setAttribute("lifters", lifters);
 	pageContext.setAttribute("isMasters", Competition.isMasters());
 	
-	CompetitionSession group = groupData.getCurrentSession();
+	CompetitionSession group = snapshot.getSession();
 	if (group == null) {
 		pageContext.removeAttribute("groupName");
 		pageContext.setAttribute("useGroupName", false);
@@ -44,7 +45,7 @@
 		pageContext.setAttribute("groupName", groupName);
 		pageContext.setAttribute("useGroupName", true);
 		pageContext.setAttribute("liftsDone", 
-				TryFormatter.htmlFormatLiftsDone(groupData.getLiftsDone(),PAGE_LOCALE)
+				TryFormatter.htmlFormatLiftsDone(snapshot.getLiftsDone(),PAGE_LOCALE)
 				);
 	}
 %>
@@ -60,17 +61,18 @@
 	width: 7%;
 }
 </style>
+<script type="text/javascript" src="scoreboard.js"></script>
 </head>
-<body>
+<body data-version="<%= snapshot.getVersion() %>">
 <div class="title">
 <c:choose>
 	<c:when test='${useGroupName}'>
 		<span class="title">Group ${groupName} Attempt Board</span>
-		<span class="liftsDone">${liftsDone}</span>
+		<span class="liftsDone" id="liftsDone">${liftsDone}</span>
 	</c:when>
 	<c:otherwise>
 		<span class="title">Attempt Board</span>
-		<span class="liftsDone">${liftsDone}</span>
+		<span class="liftsDone" id="liftsDone">${liftsDone}</span>
 	</c:otherwise>
 </c:choose>
 </div>
@@ -89,7 +91,7 @@
 	<tbody>
 		<c:forEach var="lifter" items="${lifters}">
 			<jsp:useBean id="lifter" type="org.concordiainternational.competition.data.Lifter" />
-			<tr>
+			<tr<c:if test="${not empty lifter.id}"> id="lifter${lifter.id}"</c:if>>
 				<c:choose>
 					<c:when test="${lifter.currentLifter}">
 						<td class='name current'><nobr><%= lifter.getLastName().toUpperCase() %>, ${lifter.firstName}</nobr></td>
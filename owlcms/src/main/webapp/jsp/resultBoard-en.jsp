@@ -31,7 +31,8 @@
 	SessionData groupData = (SessionData)sCtx.getAttribute(SessionData.MASTER_KEY+platform);
 	if (groupData == null) return;
 
-	java.util.List<Lifter> lifters = groupData.getCurrentDisplayOrder();
+	SessionSnapshot snapshot = groupData.getSnapshot();
+	java.util.List<Lifter> lifters = snapshot.getDisplayOrder();
 	if (lifters == null || lifters.size() == 0) {
 		out.println("</head><body></body></html>");
 		out.flush();
@@ -40,7 +41,7 @@
 	pageContext.setAttribute("lifters", lifters);
 	pageContext.setAttribute("isMasters", Competition.isMasters());
 	
-	CompetitionSession group = groupData.getCurrentSession();
+	CompetitionSession group = snapshot.getSession();
 	if (group == null) {
 		pageContext.removeAttribute("groupName");
 		pageContext.setAttribute("useGroupName", false);
@@ -49,7 +50,7 @@
 		pageContext.setAttribute("groupName", groupName);
 		pageContext.setAttribute("useGroupName", true);
 		pageContext.setAttribute("liftsDone", 
-				TryFormatter.htmlFormatLiftsDone(groupData.getLiftsDone(),java.util.Locale.ENGLISH)
+				TryFormatter.htmlFormatLiftsDone(snapshot.getLiftsDone(),java.util.Locale.ENGLISH)
 				);
 	}
 %>
@@ -65,17 +66,18 @@
 	width: 7%;
 }
 </style  -->
+<script type="text/javascript" src="scoreboard.js"></script>
 </head>
-<body>
+<body data-version="<%= snapshot.getVersion() %>">
 <div class="title">
 <c:choose>
 	<c:when test='${useGroupName}'>
 		<span class="title">Group ${groupName} Results</span>
-		<span class="liftsDone">${liftsDone}</span>
+		<span class="liftsDone" id="liftsDone">${liftsDone}</span>
 	</c:when>
 	<c:otherwise>
 		<span class="title">Results</span>
-		<span class="liftsDone">${liftsDone}</span>
+		<span class="liftsDone" id="liftsDone">${liftsDone}</span>
 	</c:otherwise>
 </c:choose>
 </div>
@@ -102,7 +104,7 @@
 	<tbody>
 		<c:forEach var="lifter" items="${lifters}">
 			<jsp:useBean id="lifter" type="org.concordiainternational.competition.data.Lifter" />
-			<tr>
+			<tr<c:if test="${not empty lifter.id}"> id="lifter${lifter.id}"</c:if>>
 				<td class='narrow' style='text-align: right'>${lifter.startNumber}&nbsp;</td>
 				<c:choose>
 					<c:when test="${lifter.currentLifter}">
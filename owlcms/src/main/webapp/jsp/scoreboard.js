@@ -0,0 +1,106 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file, You can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+
+/*
+ * Patches a scoreboard page (result board, warm-up room, lifting order) in place.
+ * The embedding view calls owlcmsScoreboard.update() when the session data changes;
+ * the changed cells are fetched from the delta servlet and replaced, and the page is
+ * reloaded only when the server says the rows themselves have changed.
+ */
+var owlcmsScoreboard = (function() {
+	var busy = false;
+	var pending = false;
+
+	function version() {
+		var v = document.body ? document.body.getAttribute("data-version") : null;
+		return v ? v : "-1";
+	}
+
+	function deltaUrl() {
+		var path = window.location.pathname;
+		var page = path.substring(path.lastIndexOf("/") + 1);
+		var search = window.location.search.replace(/^\?/, "").replace(/(^|&)time=[^&]*/, "");
+		return "../delta?page=" + encodeURIComponent(page) + "&since=" + version()
+				+ (search.length > 0 ? "&" + search.replace(/^&/, "") : "");
+	}
+
+	function replaceCell(row, index, html) {
+		var cells = row.getElementsByTagName("td");
+		if (index >= cells.length) {
+			return false;
+		}
+		var table = document.createElement("table");
+		table.innerHTML = "<tbody><tr>" + html + "</tr></tbody>";
+		var newCell = table.getElementsByTagName("td")[0];
+		if (!newCell) {
+			return false;
+		}
+		row.replaceChild(newCell, cells[index]);
+		return true;
+	}
+
+	function apply(delta) {
+		if (delta.reload) {
+			window.location.reload();
+			return;
+		}
+		var id, index, element;
+		for (id in delta.rows) {
+			element = document.getElementById(id);
+			if (!element) {
+				window.location.reload();
+				return;
+			}
+			for (index in delta.rows[id]) {
+				if (!replaceCell(element, parseInt(index, 10), delta.rows[id][index])) {
+					window.location.reload();
+					return;
+				}
+			}
+		}
+		for (id in delta.fragments) {
+			element = document.getElementById(id);
+			if (element) {
+				element.innerHTML = delta.fragments[id];
+			}
+		}
+		document.body.setAttribute("data-version", delta.version);
+	}
+
+	function update() {
+		if (busy) {
+			// ask again once the current request is done.
+			pending = true;
+			return;
+		}
+		busy = true;
+		var request = new XMLHttpRequest();
+		request.open("GET", deltaUrl(), true);
+		request.onreadystatechange = function() {
+			if (request.readyState != 4) {
+				return;
+			}
+			busy = false;
+			if (request.status == 200) {
+				apply(JSON.parse(request.responseText));
+			} else {
+				window.location.reload();
+				return;
+			}
+			if (pending) {
+				pending = false;
+				update();
+			}
+		};
+		request.send(null);
+	}
+
+	return {
+		update : update
+	};
+})();
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.concordiainternational.competition.webapp.WebApplicationConfiguration;
+import org.hibernate.EntityMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.metadata.ClassMetadata;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Write-behind of lifters, and replay of the lifter journal.
+ *
+ * @author jflamy
+ *
+ */
+public class LifterWriteBehindTest {
+
+    private SessionFactory sessionFactory;
+    private ClassMetadata metadata;
+    private File journalFile;
+    private List<Lifter> lifters;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() throws IOException {
+        sessionFactory = WebApplicationConfiguration.getSessionFactory(true, "tests"); //$NON-NLS-1$
+        metadata = sessionFactory.getClassMetadata(Lifter.class);
+        journalFile = File.createTempFile("lifters", ".journal"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // detached lifters, as held by the session data.
+        final Session session = sessionFactory.openSession();
+        try {
+            lifters = session.createCriteria(Lifter.class).list();
+        } finally {
+            session.close();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        LifterWriteBehind.stop();
+        journalFile.delete();
+        LifterJournal.previousFile(journalFile).delete();
+    }
+
+    @Test
+    public void writesStateCopiedWhenQueued() {
+        LifterWriteBehind.start(sessionFactory, journalFile);
+        final LifterWriteBehind writeBehind = LifterWriteBehind.getInstance();
+        assertNotNull(writeBehind);
+
+        final Lifter lifter = lifters.get(0);
+        lifter.setLastName("Queued"); //$NON-NLS-1$
+        writeBehind.save(lifter);
+        // not queued: must not reach the database.
+        lifter.setLastName("Changed"); //$NON-NLS-1$
+        assertEquals(1, writeBehind.getPendingCount());
+
+        writeBehind.flush();
+        assertEquals(0, writeBehind.getPendingCount());
+        assertEquals("Queued", storedLastName(lifter.getId())); //$NON-NLS-1$
+
+        // the database has caught up, nothing is left to replay.
+        assertEquals(0, journalFile.length());
+        assertFalse(LifterJournal.previousFile(journalFile).exists());
+    }
+
+    @Test
+    public void lastStateOfEachLifterWins() {
+        LifterWriteBehind.start(sessionFactory, journalFile);
+        final LifterWriteBehind writeBehind = LifterWriteBehind.getInstance();
+
+        final Lifter first = lifters.get(0);
+        final Lifter second = lifters.get(1);
+        first.setLastName("One"); //$NON-NLS-1$
+        writeBehind.save(first);
+        second.setLastName("Two"); //$NON-NLS-1$
+        writeBehind.save(second);
+        first.setLastName("Three"); //$NON-NLS-1$
+        writeBehind.save(first);
+        assertEquals(2, writeBehind.getPendingCount());
+
+        writeBehind.flush();
+        assertEquals("Three", storedLastName(first.getId())); //$NON-NLS-1$
+        assertEquals("Two", storedLastName(second.getId())); //$NON-NLS-1$
+    }
+
+    @Test
+    public void replayAppliesLastRecord() throws IOException {
+        final Lifter lifter = lifters.get(0);
+        final LifterJournal journal = new LifterJournal(journalFile, sessionFactory);
+        journal.append(lifter.getId(), stateWithLastName(lifter, "Before")); //$NON-NLS-1$
+        journal.append(lifter.getId(), stateWithLastName(lifter, "Crash")); //$NON-NLS-1$
+        journal.close();
+
+        assertEquals(1, LifterJournal.replay(journalFile, sessionFactory));
+        assertEquals("Crash", storedLastName(lifter.getId())); //$NON-NLS-1$
+        assertEquals(0, journalFile.length());
+    }
+
+    @Test
+    public void replayIncludesRecordsSetAside() throws IOException {
+        final Lifter first = lifters.get(0);
+        final Lifter second = lifters.get(1);
+        final LifterJournal journal = new LifterJournal(journalFile, sessionFactory);
+        journal.append(first.getId(), stateWithLastName(first, "Aside")); //$NON-NLS-1$
+        journal.append(second.getId(), stateWithLastName(second, "Aside")); //$NON-NLS-1$
+        // the batch was being written when the server went down.
+        journal.rotate();
+        journal.append(second.getId(), stateWithLastName(second, "Current")); //$NON-NLS-1$
+        journal.close();
+
+        assertEquals(2, LifterJournal.replay(journalFile, sessionFactory));
+        assertEquals("Aside", storedLastName(first.getId())); //$NON-NLS-1$
+        assertEquals("Current", storedLastName(second.getId())); //$NON-NLS-1$
+        assertFalse(LifterJournal.previousFile(journalFile).exists());
+    }
+
+    @Test
+    public void readStopsAtBadLength() throws IOException {
+        final Lifter lifter = lifters.get(0);
+        for (int badLength : new int[] { -1, 0, Integer.MAX_VALUE }) {
+            journalFile.delete();
+            final LifterJournal journal = new LifterJournal(journalFile, sessionFactory);
+            journal.append(lifter.getId(), stateWithLastName(lifter, "Good")); //$NON-NLS-1$
+            journal.close();
+            final long goodLength = journalFile.length();
+
+            // a length that cannot be right, followed by a record that must not be read.
+            final RandomAccessFile raw = new RandomAccessFile(journalFile, "rw"); //$NON-NLS-1$
+            try {
+                raw.seek(goodLength);
+                raw.writeInt(badLength);
+                raw.write(new byte[64]);
+            } finally {
+                raw.close();
+            }
+
+            final Map<Long, Map<String, Object>> records = new LinkedHashMap<Long, Map<String, Object>>();
+            assertEquals("length " + badLength, 1, LifterJournal.read(journalFile, records)); //$NON-NLS-1$
+            assertEquals("Good", records.get(lifter.getId()).get("lastName")); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    @Test
+    public void readStopsAtRecordCutShort() throws IOException {
+        final Lifter lifter = lifters.get(0);
+        final LifterJournal journal = new LifterJournal(journalFile, sessionFactory);
+        journal.append(lifter.getId(), stateWithLastName(lifter, "Complete")); //$NON-NLS-1$
+        journal.append(lifter.getId(), stateWithLastName(lifter, "Torn")); //$NON-NLS-1$
+        journal.close();
+
+        final RandomAccessFile raw = new RandomAccessFile(journalFile, "rw"); //$NON-NLS-1$
+        try {
+            raw.setLength(raw.length() - 3);
+        } finally {
+            raw.close();
+        }
+
+        assertEquals(1, LifterJournal.replay(journalFile, sessionFactory));
+        assertEquals("Complete", storedLastName(lifter.getId())); //$NON-NLS-1$
+    }
+
+    private Object[] stateWithLastName(Lifter lifter, String lastName) {
+        lifter.setLastName(lastName);
+        return metadata.getPropertyValues(lifter, EntityMode.POJO);
+    }
+
+    private String storedLastName(Long id) {
+        final Session session = sessionFactory.openSession();
+        try {
+            final Transaction transaction = session.beginTransaction();
+            final Lifter stored = (Lifter) session.get(Lifter.class, id);
+            transaction.commit();
+            return stored.getLastName();
+        } finally {
+            session.close();
+        }
+    }
+
+}
@@ -26,7 +26,7 @@ import org.junit.runners.Suite;
 import com.vaadin.data.hbnutil.HbnContainer.HbnSessionManager;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses( { CategoryLookupTest.class, GroupLookupTest.class, LifterEditorTest.class, LifterSorterTest.class, LifterTest.class, SpreadsheetTest.class, TwoMinutesRuleTest.class })
+@Suite.SuiteClasses( { CategoryLookupTest.class, ClockSchedulerTest.class, GroupLookupTest.class, LifterEditorTest.class, LifterSorterTest.class, LifterTest.class, PlateSolverTest.class, SpreadsheetTest.class, TwoMinutesRuleTest.class })
 public class AllTests implements HbnSessionManager {
 
     final static String lineSeparator = System.getProperty("line.separator"); //$NON-NLS-1$
@@ -166,4 +166,19 @@ public class CategoryLookupTest {
         assertNotNull("category not found", found); //$NON-NLS-1$
         assertEquals("wrong category", "m56", found.getName()); //$NON-NLS-1$ //$NON-NLS-2$
     }
+
+    /**
+     * Test method for
+     * {@link org.concordiainternational.competition.data.CategoryLookup#lookup(org.concordiainternational.competition.data.Gender, java.lang.Double)}
+     * with weights just above a boundary, with and without a precomputed entry.
+     */
+    @Test
+    public void testWeightJustAboveCategoryBoundary() {
+        Category found = categoryLookup.lookup(Gender.F.toString(), 69.01);
+        assertNotNull("category not found", found); //$NON-NLS-1$
+        assertEquals("wrong category", "f75", found.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+        found = categoryLookup.lookup(Gender.F.toString(), 69.001);
+        assertNotNull("category not found", found); //$NON-NLS-1$
+        assertEquals("wrong category", "f75", found.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.concordiainternational.competition.timer.ClockScheduler;
+import org.concordiainternational.competition.timer.ClockTask;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @author jflamy
+ *
+ */
+public class ClockSchedulerTest {
+
+    private static final long PERIOD_MILLIS = 20;
+
+    /**
+     * Records the time of each tick, and counts down a latch.
+     */
+    private static class RecordingTask extends ClockTask {
+        final List<Long> ticks = new ArrayList<Long>();
+        final CountDownLatch latch;
+
+        RecordingTask(int nbTicks) {
+            latch = new CountDownLatch(nbTicks);
+        }
+
+        @Override
+        public void run() {
+            synchronized (ticks) {
+                ticks.add(System.nanoTime());
+            }
+            latch.countDown();
+        }
+
+        int getCount() {
+            synchronized (ticks) {
+                return ticks.size();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        ClockScheduler.shutdown();
+    }
+
+    @Test
+    public void ticksInOrderAtFixedRate() throws InterruptedException {
+        final RecordingTask task = new RecordingTask(10);
+        final long start = System.nanoTime();
+        final ClockScheduler.Clock clock = ClockScheduler.scheduleAtFixedRate(task, PERIOD_MILLIS);
+        assertTrue("ticks not run", task.latch.await(5, TimeUnit.SECONDS)); //$NON-NLS-1$
+        clock.cancel();
+
+        long previous = start;
+        for (int i = 0; i < 10; i++) {
+            final long tick = task.ticks.get(i);
+            assertTrue("tick " + i + " out of order", tick >= previous); //$NON-NLS-1$ //$NON-NLS-2$
+            // ticks are planned from the start, so they never run early.
+            assertTrue("tick " + i + " early", tick - start >= TimeUnit.MILLISECONDS.toNanos(i * PERIOD_MILLIS)); //$NON-NLS-1$ //$NON-NLS-2$
+            previous = tick;
+        }
+        long total = 0;
+        for (long count : clock.getJitterHistogram()) {
+            total += count;
+        }
+        assertTrue("jitter not recorded for every tick", total >= 10); //$NON-NLS-1$
+    }
+
+    @Test
+    public void noTickAfterCancel() throws InterruptedException {
+        final RecordingTask task = new RecordingTask(3);
+        ClockScheduler.scheduleAtFixedRate(task, PERIOD_MILLIS);
+        assertTrue("ticks not run", task.latch.await(5, TimeUnit.SECONDS)); //$NON-NLS-1$
+        assertTrue(task.cancel());
+        assertFalse("cancelled twice", task.cancel()); //$NON-NLS-1$
+
+        final int count = task.getCount();
+        Thread.sleep(5 * PERIOD_MILLIS);
+        assertEquals("ticked after cancel", count, task.getCount()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void clocksStopWithScheduler() throws InterruptedException {
+        final RecordingTask task = new RecordingTask(2);
+        final ClockScheduler.Clock clock = ClockScheduler.scheduleAtFixedRate(task, PERIOD_MILLIS);
+        assertTrue("ticks not run", task.latch.await(5, TimeUnit.SECONDS)); //$NON-NLS-1$
+        ClockScheduler.shutdown();
+
+        final int count = task.getCount();
+        Thread.sleep(5 * PERIOD_MILLIS);
+        assertEquals("ticked after shutdown", count, task.getCount()); //$NON-NLS-1$
+
+        // new clocks get new threads.
+        final RecordingTask again = new RecordingTask(2);
+        ClockScheduler.scheduleAtFixedRate(again, PERIOD_MILLIS);
+        assertTrue("ticks not run after restart", again.latch.await(5, TimeUnit.SECONDS)); //$NON-NLS-1$
+        again.cancel();
+        clock.cancel();
+    }
+
+}
@@ -12,14 +12,17 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
 import org.concordiainternational.competition.data.Lifter;
 import org.concordiainternational.competition.data.LifterContainer;
+import org.concordiainternational.competition.data.lifterSort.IncrementalLifterSorter;
 import org.concordiainternational.competition.data.lifterSort.LifterSorter;
 import org.concordiainternational.competition.data.lifterSort.LifterSorter.Ranking;
+import org.concordiainternational.competition.data.lifterSort.RankingResult;
 import org.concordiainternational.competition.data.lifterSort.WinningOrderComparator;
 import org.concordiainternational.competition.ui.CompetitionApplication;
 import org.junit.After;
@@ -35,6 +38,12 @@ public class LifterSorterTest {
     HbnContainer<Lifter> hbnLifters = null;
     List<Lifter> lifters = null;
 
+    /**
+     * when not null, kept up to date with {@link IncrementalLifterSorter} and compared with the full sort after every change.
+     */
+    List<Lifter> incrementalLiftingOrder = null;
+    List<Lifter> incrementalResultsOrder = null;
+
     @Before
     public void setupTest() {
         assertNotNull(hbnSessionManager);
@@ -72,6 +81,18 @@ public class LifterSorterTest {
 
     @Test
     public void liftSequence1() {
+        doLiftSequence1(false);
+    }
+
+    /**
+     * Same sequence as {@link #liftSequence1()}, checking that moving only the changed lifter gives the same result as a full sort.
+     */
+    @Test
+    public void incrementalLiftSequence1() {
+        doLiftSequence1(true);
+    }
+
+    private void doLiftSequence1(boolean checkIncremental) {
         LifterSorter.assignLotNumbers(lifters);
         LifterSorter.assignStartNumbers(lifters);
 
@@ -97,6 +118,10 @@ public class LifterSorterTest {
         final int size = lifters.size();
         for (int i = 4; i < size; i++)
             lifters.remove(4);
+        if (checkIncremental) {
+            incrementalLiftingOrder = new ArrayList<Lifter>(lifters);
+            incrementalResultsOrder = LifterSorter.resultsOrderCopy(lifters, Ranking.TOTAL);
+        }
 
         // competition start
         successfulLift(lifters);
@@ -203,6 +228,22 @@ public class LifterSorterTest {
         Collections.sort(lifters, new WinningOrderComparator(Ranking.TOTAL));
         LifterSorter.assignCategoryRanks(lifters, Ranking.TOTAL);
         assertEqualsToReferenceFile("/seq1_medals_bodyWeight.txt", AllTests.shortDump(lifters)); //$NON-NLS-1$
+
+        // computing the ranks separately gives the same values, without touching the lifters.
+        List<Integer> assignedRanks = new ArrayList<Integer>();
+        for (Lifter curLifter : lifters) {
+            assignedRanks.add(curLifter.getTotalRank());
+            LifterSorter.setRank(curLifter, 99, Ranking.TOTAL);
+        }
+        RankingResult ranking = LifterSorter.computeCategoryRanks(lifters, Ranking.TOTAL);
+        for (int i = 0; i < lifters.size(); i++) {
+            assertEquals(99, (int) lifters.get(i).getTotalRank());
+            assertEquals(assignedRanks.get(i), ranking.getRank(lifters.get(i)));
+        }
+        ranking.applyTo(lifters);
+        for (int i = 0; i < lifters.size(); i++) {
+            assertEquals(assignedRanks.get(i), lifters.get(i).getTotalRank());
+        }
     }
 
     @Test
@@ -243,6 +284,29 @@ public class LifterSorterTest {
      * Utility routines
      */
 
+    /**
+     * Sort the lifters after a change to lifter. If the incremental lists are in use, check that they give the same order.
+     * 
+     * @param lifter
+     * @param lifters1
+     */
+    private void reorder(final Lifter lifter, List<Lifter> lifters1) {
+        LifterSorter.liftingOrder(lifters1);
+        if (incrementalLiftingOrder != null) {
+            assertTrue(IncrementalLifterSorter.liftingOrder(incrementalLiftingOrder, lifter));
+            assertEquals("incremental lifting order", AllTests.shortDump(lifters1), //$NON-NLS-1$
+                    AllTests.shortDump(incrementalLiftingOrder));
+        }
+        if (incrementalResultsOrder != null) {
+            incrementalResultsOrder = IncrementalLifterSorter.resultsOrderCopy(incrementalResultsOrder, lifter,
+                    Ranking.TOTAL);
+            assertNotNull(incrementalResultsOrder);
+            assertEquals("incremental results order", //$NON-NLS-1$
+                    AllTests.shortDump(LifterSorter.resultsOrderCopy(lifters1, Ranking.TOTAL)),
+                    AllTests.shortDump(incrementalResultsOrder));
+        }
+    }
+
     /**
      * Current lifter has successul lift
      * 
@@ -303,7 +367,7 @@ public class LifterSorterTest {
             lifter.setCleanJerk3Declaration(weight);
             break;
         }
-        LifterSorter.liftingOrder(lifters1);
+        reorder(lifter, lifters1);
     }
 
     /**
@@ -339,7 +403,7 @@ public class LifterSorterTest {
             lifter.setCleanJerk3Change1(weight);
             break;
         }
-        LifterSorter.liftingOrder(lifters1);
+        reorder(lifter, lifters1);
     }
 
     /**
@@ -375,7 +439,7 @@ public class LifterSorterTest {
             lifter.setCleanJerk3Change2(weight);
             break;
         }
-        LifterSorter.liftingOrder(lifters1);
+        reorder(lifter, lifters1);
     }
 
     /**
@@ -411,7 +475,7 @@ public class LifterSorterTest {
             lifter.setCleanJerk3ActualLift(weight);
             break;
         }
-        LifterSorter.liftingOrder(lifters1);
+        reorder(lifter, lifters1);
     }
 
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.data.Platform;
+import org.concordiainternational.competition.ui.PlateSolver;
+import org.junit.Test;
+
+/**
+ * @author jflamy
+ *
+ */
+public class PlateSolverTest {
+
+    /**
+     * @return a platform with a competition set of plates and a collar.
+     */
+    private static Platform competitionPlatform() {
+        final Platform platform = new Platform();
+        platform.setNbC_2_5(1);
+        platform.setNbL_25(8);
+        platform.setNbL_20(1);
+        platform.setNbL_15(1);
+        platform.setNbL_10(1);
+        platform.setNbL_5(0);
+        platform.setNbL_2_5(0);
+        platform.setNbS_5(1);
+        platform.setNbS_2_5(1);
+        platform.setNbS_2(1);
+        platform.setNbS_1_5(1);
+        platform.setNbS_1(1);
+        platform.setNbS_0_5(1);
+        return platform;
+    }
+
+    /**
+     * @return the weight on the bar, counting both sides.
+     */
+    private static double loaded(List<String> plates, int barWeight) {
+        double total = 0;
+        for (String style : plates) {
+            if (style.equals("bar")) { //$NON-NLS-1$
+                total += barWeight;
+            } else if (style.startsWith("L_") || style.startsWith("S_") || style.startsWith("C_")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                total += 2 * Double.parseDouble(style.substring(2).replace('_', '.'));
+            }
+        }
+        return total;
+    }
+
+    @Test
+    public void nothingRequested() {
+        assertTrue(PlateSolver.solve(competitionPlatform(), 20, 0).isEmpty());
+    }
+
+    @Test
+    public void largePlatesFirstCollarBeforeSmallChange() {
+        final List<String> plates = PlateSolver.solve(competitionPlatform(), 20, 100);
+        assertEquals(Arrays.asList("bar", "barInner", "L_25", "L_10", "S_2_5", "C_2_5", "barOuter"), plates); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+    }
+
+    @Test
+    public void everyWeightLoadedExactly() {
+        final Platform platform = competitionPlatform();
+        for (int bar : new int[] { 15, 20 }) {
+            for (int weight = bar; weight <= 250; weight++) {
+                final List<String> plates = PlateSolver.solve(platform, bar, weight);
+                assertEquals("bar " + bar + " weight " + weight + " " + plates, weight, loaded(plates, bar), 0.001); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            }
+        }
+    }
+
+    @Test
+    public void withoutCollar() {
+        final Platform platform = competitionPlatform();
+        platform.setNbC_2_5(0);
+        final List<String> plates = PlateSolver.solve(platform, 20, 100);
+        assertFalse(plates.contains("C_2_5")); //$NON-NLS-1$
+        assertEquals(100, loaded(plates, 20), 0.001);
+    }
+
+    @Test
+    public void lightWeightsOnLargeChange() {
+        // a training bar with large 5 kg plates: below 25 kg, no collar.
+        final Platform platform = competitionPlatform();
+        platform.setNbL_5(1);
+        final List<String> plates = PlateSolver.solve(platform, 5, 15);
+        assertEquals(Arrays.asList("bar", "barInner", "L_5", "barOuter"), plates); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+    }
+
+    @Test
+    public void impossibleWeights() {
+        final Platform platform = competitionPlatform();
+        // lighter than the bar: the bar is not shown.
+        assertFalse(PlateSolver.solve(platform, 20, 10).contains("bar")); //$NON-NLS-1$
+
+        // beyond the inventory: everything is loaded, and the board shows less than requested.
+        final List<String> tooHeavy = PlateSolver.solve(platform, 20, 600);
+        assertTrue(loaded(tooHeavy, 20) < 600);
+
+        // no small change: the closest lighter load.
+        platform.setNbS_0_5(0);
+        platform.setNbS_1(0);
+        final List<String> odd = PlateSolver.solve(platform, 20, 101);
+        assertTrue(loaded(odd, 20) < 101);
+    }
+
+    @Test
+    public void solutionsSharedPerInventory() {
+        final Platform platform = competitionPlatform();
+        final List<String> first = PlateSolver.solve(platform, 20, 120);
+        assertSame(first, PlateSolver.solve(competitionPlatform(), 20, 120));
+
+        platform.setNbL_25(0);
+        final List<String> changed = PlateSolver.solve(platform, 20, 120);
+        assertNotSame(first, changed);
+        assertFalse(changed.contains("L_25")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void barWeight() {
+        final Platform platform = competitionPlatform();
+        final Lifter woman = new Lifter();
+        woman.setGender("F"); //$NON-NLS-1$
+        assertEquals(15, (int) PlateSolver.barWeight(platform, woman));
+        assertEquals(20, (int) PlateSolver.barWeight(platform, null));
+        platform.setLightBar(5);
+        assertEquals(5, (int) PlateSolver.barWeight(platform, woman));
+        assertEquals(0, (int) PlateSolver.barWeight(null, woman));
+    }
+
+}
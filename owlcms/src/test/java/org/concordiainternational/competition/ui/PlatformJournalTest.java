@@ -0,0 +1,146 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.concordiainternational.competition.data.CompetitionSession;
+import org.concordiainternational.competition.data.Lifter;
+import org.concordiainternational.competition.decision.Decision;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author jflamy
+ *
+ */
+public class PlatformJournalTest {
+
+    private File directory;
+    private SessionData masterData;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = File.createTempFile("journal", ""); //$NON-NLS-1$ //$NON-NLS-2$
+        directory.delete();
+        directory.mkdir();
+        PlatformJournal.setLocation(new File(directory, "competition").getPath()); //$NON-NLS-1$
+        masterData = new SessionData(new ArrayList<Lifter>());
+    }
+
+    @After
+    public void tearDown() {
+        PlatformJournal.closeAll();
+        PlatformJournal.setLocation(null);
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    private static Decision[] decisions() {
+        final Decision[] decisions = new Decision[] { new Decision(), new Decision(), new Decision() };
+        decisions[0].accepted = true;
+        decisions[1].accepted = true;
+        decisions[2].accepted = false;
+        return decisions;
+    }
+
+    /**
+     * @return the lines printed for the journal files, in name order.
+     */
+    private String[] print() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final PrintStream out = new PrintStream(bytes, true, "UTF-8"); //$NON-NLS-1$
+        final File[] files = directory.listFiles();
+        Arrays.sort(files);
+        for (File file : files) {
+            PlatformJournal.print(file, out);
+        }
+        return bytes.toString("UTF-8").split("\n"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    private static int count(String[] lines, String word) {
+        int count = 0;
+        for (String line : lines) {
+            if (line.contains(" " + word + " ")) { //$NON-NLS-1$ //$NON-NLS-2$
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void snapshotsBetweenEventsThenReplayFromLast() throws IOException {
+        final int afterLastSnapshot = PlatformJournal.SNAPSHOT_INTERVAL / 2;
+        final int nbEvents = 2 * PlatformJournal.SNAPSHOT_INTERVAL + afterLastSnapshot;
+        final PlatformJournal journal = PlatformJournal.open("A", masterData); //$NON-NLS-1$
+        assertNotNull(journal);
+        for (int i = 0; i < nbEvents; i++) {
+            journal.decision(null, decisions(), true);
+        }
+        journal.close();
+
+        // every record intact, one snapshot per interval.
+        final String[] lines = print();
+        assertEquals(nbEvents, count(lines, "decision")); //$NON-NLS-1$
+        assertEquals(2, count(lines, "snapshot")); //$NON-NLS-1$
+        assertEquals(nbEvents + 2, lines.length);
+
+        // reopening reads the last snapshot and the events after it.
+        final PlatformJournal reopened = PlatformJournal.open("A", masterData); //$NON-NLS-1$
+        assertEquals(1 + afterLastSnapshot, reopened.getReplayedRecords());
+        reopened.decision(null, decisions(), false);
+        reopened.close();
+        assertEquals(nbEvents + 1, count(print(), "decision")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void newFileForAnotherSession() throws IOException {
+        final PlatformJournal journal = PlatformJournal.open("A", masterData); //$NON-NLS-1$
+        journal.sessionLoaded(new CompetitionSession("M1")); //$NON-NLS-1$
+        journal.decision(null, decisions(), true);
+        // same session again: same file.
+        journal.sessionLoaded(new CompetitionSession("M1")); //$NON-NLS-1$
+        assertEquals(1, directory.listFiles().length);
+
+        journal.sessionLoaded(new CompetitionSession("M2")); //$NON-NLS-1$
+        journal.decision(null, decisions(), true);
+        journal.close();
+        assertEquals(2, directory.listFiles().length);
+
+        final PlatformJournal reopened = PlatformJournal.open("A", masterData); //$NON-NLS-1$
+        // session, snapshot, decision.
+        assertEquals(2, reopened.getReplayedRecords());
+        reopened.close();
+        final String[] lines = print();
+        assertEquals(2, count(lines, "decision")); //$NON-NLS-1$
+        assertEquals(3, count(lines, "snapshot")); //$NON-NLS-1$
+        // and as many session records.
+        assertEquals(2 + 3 + 3, lines.length);
+    }
+
+    @Test
+    public void nothingWrittenAfterClose() throws IOException {
+        final PlatformJournal journal = PlatformJournal.open("A", masterData); //$NON-NLS-1$
+        journal.decision(null, decisions(), true);
+        PlatformJournal.closeAll();
+        journal.decision(null, decisions(), true);
+        assertEquals(1, count(print(), "decision")); //$NON-NLS-1$
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2009-2012, Jean-François Lamy
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public License,
+ * v. 2.0. If a copy of the MPL was not distributed with this file,
+ * You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.concordiainternational.competition.webapp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * @author jflamy
+ *
+ */
+public class ScoreboardPageTest {
+
+    private static final String RELOAD_FALSE = "\"reload\":false"; //$NON-NLS-1$
+
+    private static String page(long version, String liftsDone, String... rows) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<html><head></head><body data-version=\"").append(version).append("\">\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        sb.append("<span class=\"liftsDone\" id=\"liftsDone\">").append(liftsDone).append("</span>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        sb.append("<table>\n"); //$NON-NLS-1$
+        for (String row : rows) {
+            sb.append(row).append('\n');
+        }
+        sb.append("</table></body></html>"); //$NON-NLS-1$
+        return sb.toString();
+    }
+
+    private static String row(long id, String... cells) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<tr id=\"lifter").append(id).append("\">"); //$NON-NLS-1$ //$NON-NLS-2$
+        for (String cell : cells) {
+            sb.append("<td class=\"weight\">").append(cell).append("</td>"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return sb.append("</tr>").toString(); //$NON-NLS-1$
+    }
+
+    @Test
+    public void parseVersion() {
+        assertEquals(12L, ScoreboardPage.parse(page(12, "")).getVersion()); //$NON-NLS-1$
+        assertEquals(0L, ScoreboardPage.parse("<html><body>no session</body></html>").getVersion()); //$NON-NLS-1$
+    }
+
+    @Test
+    public void identicalPages() {
+        final String html = page(3, "2 of 6", row(1, "Smith", "100", "105"), row(2, "Jones", "90", "-95")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+        final ScoreboardPage previous = ScoreboardPage.parse(html);
+        final ScoreboardPage current = ScoreboardPage.parse(html);
+        assertEquals("{\"version\":3,\"reload\":false,\"rows\":{},\"fragments\":{}}", current.deltaFrom(previous)); //$NON-NLS-1$
+    }
+
+    @Test
+    public void changedCellsAndFragments() {
+        final ScoreboardPage previous = ScoreboardPage.parse(page(3, "2 of 6", //$NON-NLS-1$
+                row(1, "Smith", "100", "105"), row(2, "Jones", "90", "-95"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+        final ScoreboardPage current = ScoreboardPage.parse(page(4, "3 of 6", //$NON-NLS-1$
+                row(1, "Smith", "100", "105"), row(2, "Jones", "90", "95"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+        final String delta = current.deltaFrom(previous);
+        assertTrue(delta, delta.startsWith("{\"version\":4," + RELOAD_FALSE)); //$NON-NLS-1$
+        // only the third cell of the second lifter, with its markup.
+        assertTrue(delta, delta.contains("\"rows\":{\"lifter2\":{\"2\":\"\\u003ctd class=\\\"weight\\\">95\\u003c/td>\"}}")); //$NON-NLS-1$
+        assertTrue(delta, delta.contains("\"fragments\":{\"liftsDone\":\"3 of 6\"}")); //$NON-NLS-1$
+    }
+
+    @Test
+    public void reloadWhenRowsChange() {
+        final ScoreboardPage previous = ScoreboardPage.parse(page(3, "", row(1, "Smith", "100"), row(2, "Jones", "90"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+        final ScoreboardPage added = ScoreboardPage.parse(page(4, "", row(1, "Smith", "100"), row(2, "Jones", "90"), row(3, "Brown", "80"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+        assertEquals("{\"version\":4,\"reload\":true}", added.deltaFrom(previous)); //$NON-NLS-1$
+
+        final ScoreboardPage removed = ScoreboardPage.parse(page(4, "", row(1, "Smith", "100"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertEquals("{\"version\":4,\"reload\":true}", removed.deltaFrom(previous)); //$NON-NLS-1$
+
+        final ScoreboardPage reordered = ScoreboardPage.parse(page(4, "", row(2, "Jones", "90"), row(1, "Smith", "100"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+        assertEquals("{\"version\":4,\"reload\":true}", reordered.deltaFrom(previous)); //$NON-NLS-1$
+
+        final ScoreboardPage moreColumns = ScoreboardPage.parse(page(4, "", row(1, "Smith", "100", "105"), row(2, "Jones", "90"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+        assertEquals("{\"version\":4,\"reload\":true}", moreColumns.deltaFrom(previous)); //$NON-NLS-1$
+    }
+
+    @Test
+    public void rowsWithoutIdArePartOfTheSkeleton() {
+        // lifters not yet saved have no id, their rows are rendered without one.
+        final String unsaved = "<tr><td class=\"weight\">Brown</td><td class=\"weight\">80</td></tr>"; //$NON-NLS-1$
+        final ScoreboardPage previous = ScoreboardPage.parse(page(3, "", row(1, "Smith", "100"), unsaved, unsaved)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        final ScoreboardPage same = ScoreboardPage.parse(page(4, "", row(1, "Smith", "105"), unsaved, unsaved)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        final String delta = same.deltaFrom(previous);
+        assertTrue(delta, delta.contains("\"rows\":{\"lifter1\":")); //$NON-NLS-1$
+
+        final ScoreboardPage changed = ScoreboardPage.parse(page(4, "", row(1, "Smith", "100"), unsaved, unsaved.replace("80", "85"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+        assertEquals("{\"version\":4,\"reload\":true}", changed.deltaFrom(previous)); //$NON-NLS-1$
+    }
+
+    @Test
+    public void reloadWhenVersionUnknown() {
+        final ScoreboardPage current = ScoreboardPage.parse(page(4, "", row(1, "Smith", "100"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        assertEquals("{\"version\":4,\"reload\":true}", current.deltaFrom(null)); //$NON-NLS-1$
+    }
+
+    @Test
+    public void jsonQuoting() {
+        assertEquals("null", Json.appendQuoted(new StringBuilder(), null).toString()); //$NON-NLS-1$
+        assertEquals("\"plain\"", Json.appendQuoted(new StringBuilder(), "plain").toString()); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("\"a\\\"b\\\\c\\nd\\re\\tf\"", Json.appendQuoted(new StringBuilder(), "a\"b\\c\nd\re\tf").toString()); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("\"\\u003c/script>\"", Json.appendQuoted(new StringBuilder(), "</script>").toString()); //$NON-NLS-1$ //$NON-NLS-2$
+        assertEquals("\"\\u0001\u00e9\"", Json.appendQuoted(new StringBuilder(), "\u0001\u00e9").toString()); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+}